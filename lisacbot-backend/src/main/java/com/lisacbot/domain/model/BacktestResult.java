@@ -16,10 +16,11 @@ public class BacktestResult {
     private final Map<String, String> strategyParameters;
     private final List<Trade> trades;
     private final List<Price> historicalPrices;
+    private final RiskReport riskReport;
 
     public BacktestResult(double initialBalance, double finalBalance, int buyTrades, int sellTrades, int days,
                           String strategyName, Map<String, String> strategyParameters, List<Trade> trades,
-                          List<Price> historicalPrices) {
+                          List<Price> historicalPrices, RiskReport riskReport) {
         this.initialBalance = initialBalance;
         this.finalBalance = finalBalance;
         this.buyTrades = buyTrades;
@@ -29,6 +30,7 @@ public class BacktestResult {
         this.strategyParameters = strategyParameters;
         this.trades = trades;
         this.historicalPrices = historicalPrices;
+        this.riskReport = riskReport;
     }
 
     public double getProfitLoss() {
@@ -78,4 +80,8 @@ public class BacktestResult {
     public List<Price> getHistoricalPrices() {
         return historicalPrices;
     }
+
+    public RiskReport getRiskReport() {
+        return riskReport;
+    }
 }
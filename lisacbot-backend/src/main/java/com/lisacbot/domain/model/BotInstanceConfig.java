@@ -0,0 +1,36 @@
+package com.lisacbot.domain.model;
+
+import java.util.Set;
+
+/**
+ * Configuration of an independent bot instance hosted by the bot manager.
+ * Each instance has its own strategy, portfolio and risk settings.
+ */
+public record BotInstanceConfig(
+        String name,
+        String strategyType,
+        double initialBalance,
+        boolean trailingStopLossEnabled,
+        double trailingStopLossPercentage,
+        boolean takeProfitEnabled,
+        double takeProfitPercentage,
+        Set<MarketCycle> allowedCycles,
+        boolean persistTrades
+) {
+    /**
+     * @throws IllegalArgumentException if the name is blank, the initial balance is not positive
+     *                                  or a risk percentage is negative
+     */
+    public BotInstanceConfig {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Bot name is required");
+        }
+        if (!(initialBalance > 0) || Double.isInfinite(initialBalance)) {
+            throw new IllegalArgumentException("Initial balance must be positive, got " + initialBalance);
+        }
+        if (trailingStopLossPercentage < 0 || takeProfitPercentage < 0) {
+            throw new IllegalArgumentException("Risk percentages must not be negative");
+        }
+        allowedCycles = Set.copyOf(allowedCycles);
+    }
+}
@@ -0,0 +1,21 @@
+package com.lisacbot.domain.model;
+
+/**
+ * Snapshot of a bot instance, refreshed after each of its trading cycles.
+ */
+public record BotInstanceStatus(
+        long id,
+        String name,
+        String strategyName,
+        boolean running,
+        double initialBalance,
+        double balance,
+        double holdings,
+        double lastPrice,
+        double totalValue,
+        double profitLossPercentage,
+        Signal lastSignal,
+        int buyTrades,
+        int sellTrades
+) {
+}
@@ -0,0 +1,7 @@
+package com.lisacbot.domain.model;
+
+/**
+ * A trade made by a bot instance hosted by the bot manager.
+ */
+public record BotTrade(long botId, Trade trade) {
+}
@@ -0,0 +1,46 @@
+package com.lisacbot.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Market cycle detected at every bar of the price history.
+ * The cycle at index i is what the bot would have detected at the close of bar i.
+ */
+public class MarketCycleTimeline {
+    private final LocalDateTime[] timestamps;
+    private final MarketCycle[] cycles;
+
+    public MarketCycleTimeline(LocalDateTime[] timestamps, MarketCycle[] cycles) {
+        if (timestamps.length != cycles.length) {
+            throw new IllegalArgumentException("Timestamps and cycles must have the same length");
+        }
+        this.timestamps = timestamps;
+        this.cycles = cycles;
+    }
+
+    /**
+     * Returns the cycle at the given bar index, or UNKNOWN outside the timeline.
+     */
+    public MarketCycle cycleAt(int index) {
+        if (index < 0 || index >= cycles.length) {
+            return MarketCycle.UNKNOWN;
+        }
+        return cycles[index];
+    }
+
+    /**
+     * Finds the index of the last bar at or before the given timestamp.
+     *
+     * @param timestamp the timestamp to look up
+     * @return the bar index, or -1 if the timestamp is before the first bar
+     */
+    public int indexOf(LocalDateTime timestamp) {
+        int index = Arrays.binarySearch(timestamps, timestamp);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int size() {
+        return cycles.length;
+    }
+}
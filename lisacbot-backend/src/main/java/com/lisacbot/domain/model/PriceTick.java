@@ -0,0 +1,14 @@
+package com.lisacbot.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Snapshot pushed to dashboards on every price tick: the bot status and the strategy's indicator values.
+ */
+public record PriceTick(
+        LocalDateTime timestamp,
+        BotStatus status,
+        Map<String, Double> indicators
+) {
+}
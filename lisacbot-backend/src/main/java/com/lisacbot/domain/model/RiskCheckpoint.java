@@ -0,0 +1,7 @@
+package com.lisacbot.domain.model;
+
+/**
+ * Persisted snapshot of the live risk analytics, covering every trade up to {@code lastTradeId}.
+ */
+public record RiskCheckpoint(long lastTradeId, RiskState state) {
+}
@@ -0,0 +1,23 @@
+package com.lisacbot.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Risk-adjusted performance of an equity curve.
+ * Ratios use a zero risk-free rate and are annualized from the observed sampling frequency;
+ * they are zero when the curve is too short to compute them.
+ */
+public record RiskMetrics(
+        long observations,
+        LocalDateTime from,
+        LocalDateTime to,
+        double totalReturnPercentage,
+        double annualizedReturnPercentage,
+        double volatilityPercentage,
+        double sharpeRatio,
+        double sortinoRatio,
+        double maxDrawdownPercentage,
+        long maxDrawdownDurationMinutes,
+        double calmarRatio
+) {
+}
@@ -0,0 +1,9 @@
+package com.lisacbot.domain.model;
+
+import java.util.List;
+
+/**
+ * Risk metrics over a whole equity curve and over each configured window.
+ */
+public record RiskReport(RiskMetrics overall, List<RiskWindow> windows) {
+}
@@ -0,0 +1,37 @@
+package com.lisacbot.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of the streaming risk analytics: the trade equity index, the whole-curve accumulators
+ * and the state of each rolling window.
+ */
+public record RiskState(double tradeEquity, Curve overall, List<Window> windows) {
+
+    /**
+     * Running accumulators of one equity curve.
+     */
+    public record Curve(
+            long observations,
+            LocalDateTime firstTime,
+            LocalDateTime lastTime,
+            double firstEquity,
+            double lastEquity,
+            long returns,
+            double meanReturn,
+            double squaredDeviations,
+            double downsideSquares,
+            double peak,
+            LocalDateTime peakTime,
+            double maxDrawdown,
+            long maxDrawdownMinutes
+    ) {
+    }
+
+    /**
+     * A window in progress ({@code start} is {@code null} before its first point) and the last completed one.
+     */
+    public record Window(int days, Curve current, LocalDateTime start, RiskMetrics previous) {
+    }
+}
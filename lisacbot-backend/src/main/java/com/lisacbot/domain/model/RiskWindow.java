@@ -0,0 +1,8 @@
+package com.lisacbot.domain.model;
+
+/**
+ * Risk metrics over a fixed-length window: the window in progress and the last completed one
+ * ({@code null} until a full window has elapsed).
+ */
+public record RiskWindow(int days, RiskMetrics current, RiskMetrics previous) {
+}
@@ -0,0 +1,20 @@
+package com.lisacbot.domain.model;
+
+/**
+ * Running trade statistics of one strategy.
+ * Sell statistics only cover SELL trades with a profit/loss percentage;
+ * best and worst trade are meaningless while {@code sellTrades} is zero.
+ */
+public record StrategyTradeStats(
+        String strategy,
+        long totalTrades,
+        long buyTrades,
+        long sellTrades,
+        long profitableTrades,
+        long losingTrades,
+        double totalProfitLoss,
+        double bestTrade,
+        double worstTrade,
+        double totalVolume
+) {
+}
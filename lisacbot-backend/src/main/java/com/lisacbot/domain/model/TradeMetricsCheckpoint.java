@@ -0,0 +1,12 @@
+package com.lisacbot.domain.model;
+
+import java.util.List;
+
+/**
+ * Persisted snapshot of the per-strategy trade statistics, covering every trade up to {@code lastTradeId}.
+ */
+public record TradeMetricsCheckpoint(
+        long lastTradeId,
+        List<StrategyTradeStats> strategies
+) {
+}
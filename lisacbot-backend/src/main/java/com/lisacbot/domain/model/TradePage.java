@@ -0,0 +1,13 @@
+package com.lisacbot.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of trade history, most recent first.
+ * {@code nextCursor} is null on the last page.
+ */
+public record TradePage(
+        List<Trade> trades,
+        String nextCursor
+) {
+}
@@ -0,0 +1,34 @@
+package com.lisacbot.domain.port;
+
+import com.lisacbot.domain.model.BotTrade;
+import com.lisacbot.domain.model.Trade;
+
+import java.util.List;
+
+/**
+ * Port interface for the trades of hosted bot instances, stored apart from the main bot's trades.
+ */
+public interface BotTradeRepository {
+    /**
+     * Saves several bot trades as one batch.
+     *
+     * @param trades the trades to save
+     */
+    void saveAll(List<BotTrade> trades);
+
+    /**
+     * Finds the most recent trades of one bot, ordered by timestamp descending.
+     *
+     * @param botId the bot id
+     * @param limit maximum number of trades
+     * @return the trades
+     */
+    List<Trade> findRecentByBotId(long botId, int limit);
+
+    /**
+     * Highest bot id with stored trades, so ids of new bots never reuse those of earlier runs.
+     *
+     * @return the highest bot id, or 0 if there are none
+     */
+    long findMaxBotId();
+}
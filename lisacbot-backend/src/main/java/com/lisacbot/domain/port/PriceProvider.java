@@ -10,4 +10,37 @@ import java.util.List;
 public interface PriceProvider {
     Price getCurrentPrice();
     List<Price> getHistoricalPrices(int days);
+
+    /**
+     * Returns the complete locally available price history, oldest first.
+     *
+     * @return all historical prices
+     */
+    List<Price> getAllHistoricalPrices();
+
+    /**
+     * Returns the locally available price history from a given bar on, oldest first.
+     * Lets callers that already hold the older bars fetch only the new ones.
+     *
+     * @param fromIndex index of the first bar in the complete history
+     * @return the prices from that bar on, empty if the index is past the end
+     */
+    List<Price> getHistoricalPricesFrom(int fromIndex);
+
+    /**
+     * Returns a version number that changes whenever a bar is added to the historical data.
+     * Updates to the still-open last bar do not change it.
+     * Used as a cache key for data derived from the history.
+     *
+     * @return the current history version
+     */
+    long getHistoryVersion();
+
+    /**
+     * Returns the live ticks recorded shortly before startup, oldest first, at the live polling resolution
+     * (unlike the historical prices, which are hourly bars).
+     *
+     * @return the recent ticks, empty if none were recorded
+     */
+    List<Price> getRecentTicks();
 }
@@ -0,0 +1,39 @@
+package com.lisacbot.domain.port;
+
+import com.lisacbot.domain.model.RiskCheckpoint;
+import com.lisacbot.domain.model.TradeMetricsCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * Port interface for the trade metrics checkpoint (summary table).
+ */
+public interface TradeMetricsCheckpointRepository {
+    /**
+     * Loads the last checkpoint.
+     *
+     * @return the checkpoint, or empty if none was saved yet
+     */
+    Optional<TradeMetricsCheckpoint> load();
+
+    /**
+     * Replaces the stored checkpoint.
+     *
+     * @param checkpoint the new checkpoint
+     */
+    void save(TradeMetricsCheckpoint checkpoint);
+
+    /**
+     * Loads the last risk analytics checkpoint.
+     *
+     * @return the checkpoint, or empty if none was saved yet
+     */
+    Optional<RiskCheckpoint> loadRisk();
+
+    /**
+     * Replaces the stored risk analytics checkpoint.
+     *
+     * @param checkpoint the new checkpoint
+     */
+    void saveRisk(RiskCheckpoint checkpoint);
+}
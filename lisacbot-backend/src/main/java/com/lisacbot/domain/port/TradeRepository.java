@@ -1,9 +1,12 @@
 package com.lisacbot.domain.port;
 
+import com.lisacbot.domain.model.StrategyTradeStats;
 import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Port interface for trade persistence.
@@ -13,10 +16,19 @@ public interface TradeRepository {
      * Saves a trade to the repository.
      *
      * @param trade the trade to save
-     * @return the saved trade with generated ID
+     * @return the saved trade, with its generated ID unless persistence is deferred (write-behind), in which case
+     *         the ID is assigned later and the returned trade has none
      */
     Trade save(Trade trade);
 
+    /**
+     * Saves several trades as one batch.
+     *
+     * @param trades the trades to save
+     * @return the saved trades, without IDs if persistence is deferred
+     */
+    List<Trade> saveAll(List<Trade> trades);
+
     /**
      * Finds all trades ordered by timestamp descending.
      *
@@ -32,4 +44,35 @@ public interface TradeRepository {
      * @return list of trades in the range
      */
     List<Trade> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Finds one page of trades ordered by timestamp then id, descending, using keyset pagination.
+     *
+     * @param after position of the last trade of the previous page, or null for the first page
+     * @param limit maximum number of trades
+     * @return the trades following the cursor
+     */
+    List<Trade> findPage(TradeCursor after, int limit);
+
+    /**
+     * Visits every trade, ordered by timestamp then id, descending, without loading them all in memory.
+     *
+     * @param action called once per trade
+     */
+    void forEachTrade(Consumer<Trade> action);
+
+    /**
+     * Visits every trade with an ID greater than the given one, in ID order, without loading them all in memory.
+     *
+     * @param id the ID to start after (0 for all trades)
+     * @param action called once per trade
+     */
+    void forEachTradeAfter(long id, Consumer<Trade> action);
+
+    /**
+     * Computes trade statistics per strategy in the database.
+     *
+     * @return one entry per strategy
+     */
+    List<StrategyTradeStats> aggregateByStrategy();
 }
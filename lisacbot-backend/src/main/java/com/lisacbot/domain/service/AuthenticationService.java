@@ -2,10 +2,15 @@ package com.lisacbot.domain.service;
 
 import com.lisacbot.infrastructure.persistence.JpaUserRepository;
 import com.lisacbot.infrastructure.persistence.UserEntity;
+import com.lisacbot.infrastructure.security.CustomUserDetailsService;
 import com.lisacbot.infrastructure.security.JwtTokenProvider;
+import com.lisacbot.infrastructure.security.TokenVersionRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -13,8 +18,18 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Service for handling user authentication.
+ *
+ * Login password checks (BCrypt) run on a small dedicated pool with a bounded queue rather than on the request
+ * thread, so a burst of logins is capped in CPU and rejected early instead of occupying the whole Tomcat pool.
  */
 @Service
 public class AuthenticationService {
@@ -33,6 +48,51 @@ public class AuthenticationService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Value("${security.login.hashing.threads:2}")
+    private int hashingThreads;
+
+    @Value("${security.login.hashing.queue.size:32}")
+    private int hashingQueueSize;
+
+    private ThreadPoolExecutor hashingExecutor;
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(
+                hashingThreads, hashingThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * Authenticate user and generate JWT token on the password hashing pool.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the JWT token, or a future failed with {@link AuthenticationException} if authentication fails
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<String> authenticateAndGenerateTokenAsync(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> authenticateAndGenerateToken(username, password), hashingExecutor);
+    }
+
     /**
      * Authenticate user and generate JWT token.
      *
@@ -48,26 +108,27 @@ public class AuthenticationService {
                 new UsernamePasswordAuthenticationToken(username, password)
         );
 
-        String token = jwtTokenProvider.generateToken(authentication);
+        String token = jwtTokenProvider.generateToken(authentication, tokenVersions.current(username));
         log.info("Authentication successful for user: {}", username);
 
         return token;
     }
 
     /**
-     * Change user password.
+     * Change user password, revoking every token issued so far for the user.
      *
      * @param username the username
      * @param currentPassword the current password
      * @param newPassword the new password
+     * @return a new JWT token replacing the revoked ones
      * @throws AuthenticationException if current password is incorrect
      * @throws IllegalArgumentException if user not found
      */
-    public void changePassword(String username, String currentPassword, String newPassword) {
+    public String changePassword(String username, String currentPassword, String newPassword) {
         log.info("Password change request for user: {}", username);
 
         // Verify current password
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(username, currentPassword)
         );
 
@@ -77,7 +138,11 @@ public class AuthenticationService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsService.evict(username);
 
+        int tokenVersion = tokenVersions.revoke(username);
         log.info("Password changed successfully for user: {}", username);
+
+        return jwtTokenProvider.generateToken(authentication, tokenVersion);
     }
 }
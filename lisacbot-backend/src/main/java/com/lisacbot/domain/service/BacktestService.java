@@ -3,6 +3,7 @@ package com.lisacbot.domain.service;
 import com.lisacbot.domain.port.PriceProvider;
 import com.lisacbot.domain.model.BacktestResult;
 import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.MarketCycleTimeline;
 import com.lisacbot.domain.model.Portfolio;
 import com.lisacbot.domain.model.Price;
 import com.lisacbot.domain.model.Signal;
@@ -12,7 +13,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +27,10 @@ public class BacktestService {
     private final PriceProvider priceProvider;
     private final TradingService tradingService;
     private final MarketCycleDetector cycleDetector;
+    private final MarketCycleTimelineService cycleTimelineService;
+
+    @Value("${bot.backtest.cycle.gating.enabled:true}")
+    private boolean cycleGatingEnabled;
 
     @Value("${bot.backtest.days}")
     private int defaultDays;
@@ -34,14 +38,19 @@ public class BacktestService {
     @Value("${bot.backtest.initial.balance}")
     private double defaultInitialBalance;
 
+    @Value("${bot.metrics.risk.windows.days:7,30,90}")
+    private List<Integer> riskWindowDays;
+
     public BacktestService(
             PriceProvider priceProvider,
             TradingService tradingService,
-            MarketCycleDetector cycleDetector
+            MarketCycleDetector cycleDetector,
+            MarketCycleTimelineService cycleTimelineService
     ) {
         this.priceProvider = priceProvider;
         this.tradingService = tradingService;
         this.cycleDetector = cycleDetector;
+        this.cycleTimelineService = cycleTimelineService;
     }
 
     public BacktestResult runBacktest() {
@@ -61,41 +70,46 @@ public class BacktestService {
 
         Portfolio backtestPortfolio = new Portfolio(initialBalance);
 
-        // Detect the market cycle at the start of the backtest period
-        // This is for informational purposes only - backtest runs independently of current market conditions
+        // Detect the market cycle over the whole backtest period (informational)
         MarketCycle backtestCycle = cycleDetector.detectCycle(historicalPrices);
         log.info("Backtest period market cycle detected: {}", backtestCycle);
 
+        // Per-bar cycles from the precomputed timeline, so cycle protection is applied bar by bar as in live trading
+        MarketCycleTimeline cycleTimeline = null;
+        int timelineOffset = 0;
+        if (cycleGatingEnabled) {
+            cycleTimeline = cycleTimelineService.getTimeline();
+            timelineOffset = cycleTimeline.indexOf(historicalPrices.get(0).timestamp());
+            log.info("Backtest applies per-bar market cycle protection");
+        } else {
+            log.info("Backtest will test strategy independently of market cycles");
+        }
+
         int buyTrades = 0;
         int sellTrades = 0;
         List<Trade> trades = new ArrayList<>();
+        RiskAnalyzer riskAnalyzer = new RiskAnalyzer(riskWindowDays);
         String strategyName = tradingService.getStrategyName();
 
-        log.info("Backtest will test strategy independently of current market cycle");
-        log.info("Historical backtest period cycle: {}", backtestCycle);
-
-        // Calculate the time interval between price points for realistic timestamps
-        LocalDateTime startTime = LocalDateTime.now().minusDays(days);
-        long intervalMinutes = (days * 24 * 60) / Math.max(1, historicalPrices.size());
-
         // Execute trading cycle for each historical price point
-        // Uses backtest-specific method that skips current market cycle check
+        // Uses backtest-specific method that checks the bar's own market cycle instead of the current one
         // Still performs trailing stop-loss and take-profit checks
         for (int i = 0; i < historicalPrices.size(); i++) {
             Price price = historicalPrices.get(i);
             double balanceBefore = backtestPortfolio.getBalance();
             double holdingsBefore = backtestPortfolio.getHoldings();
+            MarketCycle barCycle = cycleTimeline != null ? cycleTimeline.cycleAt(timelineOffset + i) : backtestCycle;
 
-            Signal executedSignal = tradingService.executeTradingCycleForBacktest(price.value(), backtestPortfolio);
+            Signal executedSignal = tradingService.executeTradingCycleForBacktest(
+                    price.value(), backtestPortfolio, cycleTimeline != null ? barCycle : null);
 
             // Track trades and create trade records
             // Only record a trade if the holdings actually changed (trade was executed)
             if (executedSignal == Signal.BUY && holdingsBefore == 0 && backtestPortfolio.hasHoldings()) {
                 buyTrades++;
-                LocalDateTime tradeTime = startTime.plusMinutes(i * intervalMinutes);
                 Trade trade = new Trade(
                         null,
-                        tradeTime,
+                        price.timestamp(),
                         Signal.BUY,
                         price.value(),
                         backtestPortfolio.getHoldings(),
@@ -103,7 +117,7 @@ public class BacktestService {
                         backtestPortfolio.getBalance(),
                         null, // No P&L on buy
                         strategyName,
-                        backtestCycle,
+                        barCycle,
                         "Backtest signal"
                 );
                 trades.add(trade);
@@ -124,10 +138,9 @@ public class BacktestService {
                     }
                 }
 
-                LocalDateTime tradeTime = startTime.plusMinutes(i * intervalMinutes);
                 Trade trade = new Trade(
                         null,
-                        tradeTime,
+                        price.timestamp(),
                         Signal.SELL,
                         price.value(),
                         holdingsBefore,
@@ -135,11 +148,15 @@ public class BacktestService {
                         backtestPortfolio.getBalance(),
                         profitLoss,
                         strategyName,
-                        backtestCycle,
+                        barCycle,
                         "Backtest signal"
                 );
                 trades.add(trade);
             }
+
+            // Mark-to-market equity after the bar, at the bar's own time, streamed into the risk analytics
+            riskAnalyzer.add(price.timestamp(),
+                    backtestPortfolio.getBalance() + backtestPortfolio.getHoldings() * price.value());
         }
 
         log.info("Backtest loop completed: {} BUY signals, {} SELL signals, {} total trades recorded",
@@ -163,7 +180,8 @@ public class BacktestService {
                 strategyName,
                 strategyParameters,
                 trades,
-                historicalPrices
+                historicalPrices,
+                riskAnalyzer.report()
         );
 
         log.info("Backtest completed: Strategy={}, P&L = ${} ({}%), Trades executed: {}",
@@ -0,0 +1,181 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.BotInstanceConfig;
+import com.lisacbot.domain.model.BotInstanceStatus;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Portfolio;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.strategy.TradingStrategy;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single bot hosted by the {@link BotManager}: its own strategy instance, portfolio and risk settings.
+ *
+ * Trading state is only touched by one cycle at a time: the partition worker, or in virtual-thread mode the
+ * virtual thread that acquired the cycle guard. Other threads read the {@link BotInstanceStatus} snapshot
+ * published after each cycle.
+ */
+class BotInstance {
+    private static final int MAX_REASON_LENGTH = 100;
+
+    private final long id;
+    private final BotInstanceConfig config;
+    private final TradingStrategy strategy;
+    private final Portfolio portfolio;
+
+    private final AtomicBoolean cycleInProgress = new AtomicBoolean();
+    private volatile boolean running;
+    private volatile BotInstanceStatus status;
+
+    // Owned by the thread running the current cycle
+    private double lastPrice;
+    private Signal lastSignal = Signal.HOLD;
+    private int buyTrades;
+    private int sellTrades;
+
+    BotInstance(long id, BotInstanceConfig config, TradingStrategy strategy) {
+        this.id = id;
+        this.config = config;
+        this.strategy = strategy;
+        this.portfolio = new Portfolio(config.initialBalance());
+        publishStatus();
+    }
+
+    /**
+     * Runs one trading cycle with the same rule order as the main bot:
+     * trailing stop-loss, take-profit, market cycle protection, then the strategy.
+     *
+     * @param price the current price
+     * @param cycle the current market cycle
+     * @return the executed trade, or null if nothing was bought or sold
+     */
+    Trade executeTradingCycle(double price, MarketCycle cycle) {
+        lastPrice = price;
+        portfolio.updateHighestPrice(price);
+
+        Trade trade;
+        if (config.trailingStopLossEnabled()
+                && portfolio.shouldTriggerTrailingStopLoss(price, config.trailingStopLossPercentage())) {
+            trade = executeSignal(Signal.SELL, price, cycle, "Trailing stop-loss");
+        } else if (config.takeProfitEnabled()
+                && portfolio.shouldTriggerTakeProfit(price, config.takeProfitPercentage())) {
+            trade = executeSignal(Signal.SELL, price, cycle, "Take profit");
+        } else if (!config.allowedCycles().contains(cycle)) {
+            trade = executeSignal(portfolio.hasHoldings() ? Signal.SELL : Signal.HOLD, price, cycle, "Cycle protection");
+        } else {
+            trade = executeSignal(strategy.analyze(price), price, cycle, "Strategy signal");
+        }
+
+        publishStatus();
+        return trade;
+    }
+
+    private Trade executeSignal(Signal signal, double price, MarketCycle cycle, String reason) {
+        lastSignal = signal;
+        double balanceBefore = portfolio.getBalance();
+        double holdingsBefore = portfolio.getHoldings();
+
+        switch (signal) {
+            case BUY -> {
+                if (portfolio.hasBalance()) {
+                    portfolio.buy(price);
+                    buyTrades++;
+                    return createTrade(Signal.BUY, price, portfolio.getHoldings(), balanceBefore, null, cycle, reason);
+                }
+            }
+            case SELL -> {
+                if (portfolio.hasHoldings()) {
+                    double profitLoss = portfolio.getCurrentProfitLossPercentage(price);
+                    portfolio.sell(price);
+                    sellTrades++;
+                    return createTrade(Signal.SELL, price, holdingsBefore, balanceBefore, profitLoss, cycle, reason);
+                }
+            }
+            case HOLD -> {
+            }
+        }
+        return null;
+    }
+
+    private Trade createTrade(Signal type, double price, double quantity, double balanceBefore,
+                              Double profitLoss, MarketCycle cycle, String reason) {
+        String botReason = "[" + config.name() + "] " + reason;
+        return new Trade(
+                null,
+                LocalDateTime.now(),
+                type,
+                price,
+                quantity,
+                balanceBefore,
+                portfolio.getBalance(),
+                profitLoss,
+                getStrategyName(),
+                cycle,
+                botReason.length() > MAX_REASON_LENGTH ? botReason.substring(0, MAX_REASON_LENGTH) : botReason
+        );
+    }
+
+    private void publishStatus() {
+        double totalValue = portfolio.getTotalValue(lastPrice);
+        status = new BotInstanceStatus(
+                id,
+                config.name(),
+                getStrategyName(),
+                running,
+                config.initialBalance(),
+                portfolio.getBalance(),
+                portfolio.getHoldings(),
+                lastPrice,
+                totalValue,
+                ((totalValue - config.initialBalance()) / config.initialBalance()) * 100.0,
+                lastSignal,
+                buyTrades,
+                sellTrades
+        );
+    }
+
+    /**
+     * Claims the instance for one cycle, so a slow cycle is never overlapped by the next tick.
+     *
+     * @return false if the previous cycle is still running
+     */
+    boolean tryBeginCycle() {
+        return cycleInProgress.compareAndSet(false, true);
+    }
+
+    void endCycle() {
+        cycleInProgress.set(false);
+    }
+
+    long getId() {
+        return id;
+    }
+
+    BotInstanceConfig getConfig() {
+        return config;
+    }
+
+    String getStrategyName() {
+        return config.strategyType().toUpperCase();
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    void setRunning(boolean running) {
+        this.running = running;
+        BotInstanceStatus current = status;
+        status = new BotInstanceStatus(current.id(), current.name(), current.strategyName(), running,
+                current.initialBalance(), current.balance(), current.holdings(), current.lastPrice(),
+                current.totalValue(), current.profitLossPercentage(), current.lastSignal(),
+                current.buyTrades(), current.sellTrades());
+    }
+
+    BotInstanceStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,347 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.BotInstanceConfig;
+import com.lisacbot.domain.model.BotInstanceStatus;
+import com.lisacbot.domain.model.BotTrade;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.port.BotTradeRepository;
+import com.lisacbot.domain.strategy.TradingStrategy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many independent bot instances in one JVM, each with its own strategy, portfolio and risk settings.
+ *
+ * Instances are partitioned across single-threaded workers. A partition's instance list and the trading state
+ * of its instances are only ever touched by that partition's worker, so there are no shared locks:
+ * adding or removing a bot is a task submitted to the owning worker, and a price tick is one task per partition.
+ * Readers use the immutable snapshot each partition publishes.
+ *
+ * In virtual-thread mode, ticks bypass the partition workers: {@link #forkTradingCycles} runs every running bot
+ * on its own virtual thread inside the caller's {@link TradingCycleScope}.
+ *
+ * Hosted bots persist their trades to their own store, so they never mix with the main bot's trade history or metrics.
+ */
+@Service
+public class BotManager {
+    private static final Logger log = LoggerFactory.getLogger(BotManager.class);
+
+    private final BotTradeRepository botTradeRepository;
+    private final Partition[] partitions;
+    private final int maxBots;
+    private final AtomicLong idSequence = new AtomicLong();
+    private final Object createLock = new Object();
+
+    public BotManager(
+            BotTradeRepository botTradeRepository,
+            @Value("${bot.manager.workers:0}") int workers,
+            @Value("${bot.manager.max.bots:500}") int maxBots
+    ) {
+        this.botTradeRepository = botTradeRepository;
+        this.maxBots = maxBots;
+
+        int partitionCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i);
+        }
+        log.info("Bot manager initialized with {} worker partitions (max {} bots)", partitionCount, maxBots);
+    }
+
+    /**
+     * Starts bot ids after those with stored trades, so a new bot never inherits the trades of an earlier run.
+     */
+    @PostConstruct
+    public void alignIdSequence() {
+        try {
+            idSequence.set(botTradeRepository.findMaxBotId());
+        } catch (Exception e) {
+            log.warn("Could not read the highest stored bot id: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Partition partition : partitions) {
+            partition.executor.shutdown();
+        }
+    }
+
+    /**
+     * Creates a new bot instance. It starts stopped unless {@code start} is true.
+     *
+     * @param config the bot configuration
+     * @param strategy a strategy instance dedicated to this bot
+     * @param start whether to start trading right away
+     * @return the status of the new bot
+     * @throws IllegalStateException if the maximum number of bots is reached
+     */
+    public BotInstanceStatus createBot(BotInstanceConfig config, TradingStrategy strategy, boolean start) {
+        BotInstance bot;
+        // Creations are serialized so concurrent requests cannot all pass the limit check
+        synchronized (createLock) {
+            if (getBotCount() >= maxBots) {
+                throw new IllegalStateException("Maximum number of bots reached (" + maxBots + ")");
+            }
+
+            bot = new BotInstance(idSequence.incrementAndGet(), config, strategy);
+            bot.setRunning(start);
+            Partition partition = partitionOf(bot.getId());
+            CompletableFuture.runAsync(() -> partition.add(bot), partition.executor).join();
+        }
+
+        log.info("Bot {} '{}' created ({}, balance: ${})", bot.getId(), config.name(),
+                bot.getStrategyName(), config.initialBalance());
+        return bot.getStatus();
+    }
+
+    /**
+     * Removes a bot instance.
+     *
+     * @param id the bot id
+     * @return true if the bot existed
+     */
+    public boolean removeBot(long id) {
+        Partition partition = partitionOf(id);
+        boolean removed = CompletableFuture.supplyAsync(() -> partition.remove(id), partition.executor).join();
+        if (removed) {
+            log.info("Bot {} removed", id);
+        }
+        return removed;
+    }
+
+    /**
+     * Starts or stops a bot instance.
+     *
+     * @param id the bot id
+     * @param running true to start trading, false to stop
+     * @return the updated status, if the bot exists
+     */
+    public Optional<BotInstanceStatus> setRunning(long id, boolean running) {
+        return findBot(id).map(bot -> {
+            bot.setRunning(running);
+            log.info("Bot {} {}", id, running ? "STARTED" : "STOPPED");
+            return bot.getStatus();
+        });
+    }
+
+    public Optional<BotInstanceStatus> getBot(long id) {
+        return findBot(id).map(BotInstance::getStatus);
+    }
+
+    /**
+     * Returns the most recent persisted trades of a bot, most recent first.
+     *
+     * @param id the bot id
+     * @param limit maximum number of trades
+     * @return the trades
+     */
+    public List<Trade> getRecentTrades(long id, int limit) {
+        return botTradeRepository.findRecentByBotId(id, limit);
+    }
+
+    public List<BotInstanceStatus> getBots() {
+        List<BotInstanceStatus> statuses = new ArrayList<>();
+        for (Partition partition : partitions) {
+            for (BotInstance bot : partition.snapshot) {
+                statuses.add(bot.getStatus());
+            }
+        }
+        statuses.sort(Comparator.comparingLong(BotInstanceStatus::id));
+        return statuses;
+    }
+
+    public int getBotCount() {
+        int count = 0;
+        for (Partition partition : partitions) {
+            count += partition.snapshot.size();
+        }
+        return count;
+    }
+
+    public boolean hasRunningBots() {
+        for (Partition partition : partitions) {
+            for (BotInstance bot : partition.snapshot) {
+                if (bot.isRunning()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates every running bot against a new price tick.
+     * Each partition runs on its own worker; the call returns once all partitions are done.
+     *
+     * @param price the current price
+     * @param cycle the current market cycle
+     */
+    public void executeTradingCycle(Price price, MarketCycle cycle) {
+        long start = System.nanoTime();
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            Partition partition = partitions[i];
+            tasks[i] = CompletableFuture.runAsync(() -> partition.executeTradingCycle(price.value(), cycle),
+                    partition.executor);
+        }
+        CompletableFuture.allOf(tasks).join();
+
+        log.debug("Bot manager cycle for {} bots completed in {} ms",
+                getBotCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Forks one virtual-thread task per running bot into the given scope.
+     * Bots whose previous cycle is still in progress are skipped for this tick, and so are bots whose task
+     * had not started when the scope's deadline passed. A cycle that has started always persists its trade.
+     *
+     * @param scope the scope of the current tick
+     * @param price the current price
+     * @param cycle the current market cycle
+     * @return the number of bots skipped because they were still busy
+     */
+    public int forkTradingCycles(TradingCycleScope scope, Price price, MarketCycle cycle) {
+        int skipped = 0;
+        for (Partition partition : partitions) {
+            for (BotInstance bot : partition.snapshot) {
+                if (!bot.isRunning()) {
+                    continue;
+                }
+                if (!bot.tryBeginCycle()) {
+                    skipped++;
+                    continue;
+                }
+                scope.fork(() -> {
+                    try {
+                        if (scope.isCancelled()) {
+                            return;
+                        }
+                        BotTrade trade = executeBotCycle(bot, price.value(), cycle);
+                        if (trade != null) {
+                            persistTrades(List.of(trade));
+                        }
+                    } finally {
+                        bot.endCycle();
+                    }
+                });
+            }
+        }
+        if (skipped > 0) {
+            log.warn("{} bots skipped this tick - previous cycle still running", skipped);
+        }
+        return skipped;
+    }
+
+    private Optional<BotInstance> findBot(long id) {
+        for (BotInstance bot : partitionOf(id).snapshot) {
+            if (bot.getId() == id) {
+                return Optional.of(bot);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Partition partitionOf(long id) {
+        return partitions[(int) Math.floorMod(id, (long) partitions.length)];
+    }
+
+    /**
+     * Runs one bot cycle.
+     *
+     * @return the trade to persist, or null
+     */
+    private BotTrade executeBotCycle(BotInstance bot, double price, MarketCycle cycle) {
+        try {
+            Trade trade = bot.executeTradingCycle(price, cycle);
+            if (trade != null) {
+                log.info("Bot {} '{}': {} at ${}", bot.getId(), bot.getConfig().name(), trade.getType(),
+                        String.format("%.2f", trade.getPrice()));
+                if (bot.getConfig().persistTrades()) {
+                    return new BotTrade(bot.getId(), trade);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error during trading cycle of bot {}: {}", bot.getId(), e.getMessage());
+        }
+        return null;
+    }
+
+    private void persistTrades(List<BotTrade> trades) {
+        if (trades.isEmpty()) {
+            return;
+        }
+        try {
+            botTradeRepository.saveAll(trades);
+        } catch (Exception e) {
+            log.error("Failed to persist {} bot trades: {}", trades.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * A group of bots owned by one single-threaded worker.
+     */
+    private final class Partition {
+        private final ExecutorService executor;
+        private final List<BotInstance> bots = new ArrayList<>(); // Worker-confined
+        private volatile List<BotInstance> snapshot = List.of();
+
+        private Partition(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bot-worker-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void add(BotInstance bot) {
+            bots.add(bot);
+            snapshot = List.copyOf(bots);
+        }
+
+        private boolean remove(long id) {
+            boolean removed = bots.removeIf(bot -> bot.getId() == id);
+            if (removed) {
+                snapshot = List.copyOf(bots);
+            }
+            return removed;
+        }
+
+        /**
+         * Evaluates the partition's running bots; their trades are persisted as one batch.
+         */
+        private void executeTradingCycle(double price, MarketCycle cycle) {
+            List<BotTrade> trades = new ArrayList<>();
+            for (BotInstance bot : bots) {
+                if (!bot.isRunning() || !bot.tryBeginCycle()) {
+                    continue;
+                }
+                try {
+                    BotTrade trade = executeBotCycle(bot, price, cycle);
+                    if (trade != null) {
+                        trades.add(trade);
+                    }
+                } finally {
+                    bot.endCycle();
+                }
+            }
+            persistTrades(trades);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.RiskMetrics;
+import com.lisacbot.domain.model.RiskState;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Single-pass statistics of an equity curve, in constant memory.
+ *
+ * Period returns are accumulated with Welford's algorithm (mean and variance) plus the sum of squared
+ * negative returns for the downside deviation. Drawdown is tracked against the running peak; its duration
+ * runs from the peak until the curve recovers to it (or until the last point, if it has not).
+ * Not thread-safe.
+ */
+final class EquityCurveStats {
+    private static final double MINUTES_PER_YEAR = 365.0 * 24 * 60;
+
+    private long observations;
+    private LocalDateTime firstTime;
+    private LocalDateTime lastTime;
+    private double firstEquity;
+    private double lastEquity;
+
+    private long returns;
+    private double meanReturn;
+    private double squaredDeviations;
+    private double downsideSquares;
+
+    private double peak;
+    private LocalDateTime peakTime;
+    private double maxDrawdown;
+    private long maxDrawdownMinutes;
+
+    void add(LocalDateTime time, double equity) {
+        if (observations == 0) {
+            firstTime = time;
+            firstEquity = equity;
+            peak = equity;
+            peakTime = time;
+        } else if (lastEquity > 0) {
+            double periodReturn = equity / lastEquity - 1;
+            returns++;
+            double delta = periodReturn - meanReturn;
+            meanReturn += delta / returns;
+            squaredDeviations += delta * (periodReturn - meanReturn);
+            if (periodReturn < 0) {
+                downsideSquares += periodReturn * periodReturn;
+            }
+        }
+
+        boolean underwater = equity < peak;
+        if (underwater || lastEquity < peak) {
+            // Still in (or just recovering from) a drawdown that started at peakTime
+            maxDrawdownMinutes = Math.max(maxDrawdownMinutes, Duration.between(peakTime, time).toMinutes());
+        }
+        if (underwater) {
+            maxDrawdown = Math.max(maxDrawdown, (peak - equity) / peak);
+        } else {
+            peak = equity;
+            peakTime = time;
+        }
+
+        observations++;
+        lastTime = time;
+        lastEquity = equity;
+    }
+
+    long getObservations() {
+        return observations;
+    }
+
+    LocalDateTime getLastTime() {
+        return lastTime;
+    }
+
+    double getLastEquity() {
+        return lastEquity;
+    }
+
+    RiskState.Curve snapshot() {
+        return new RiskState.Curve(observations, firstTime, lastTime, firstEquity, lastEquity, returns, meanReturn,
+                squaredDeviations, downsideSquares, peak, peakTime, maxDrawdown, maxDrawdownMinutes);
+    }
+
+    static EquityCurveStats restore(RiskState.Curve curve) {
+        EquityCurveStats stats = new EquityCurveStats();
+        stats.observations = curve.observations();
+        stats.firstTime = curve.firstTime();
+        stats.lastTime = curve.lastTime();
+        stats.firstEquity = curve.firstEquity();
+        stats.lastEquity = curve.lastEquity();
+        stats.returns = curve.returns();
+        stats.meanReturn = curve.meanReturn();
+        stats.squaredDeviations = curve.squaredDeviations();
+        stats.downsideSquares = curve.downsideSquares();
+        stats.peak = curve.peak();
+        stats.peakTime = curve.peakTime();
+        stats.maxDrawdown = curve.maxDrawdown();
+        stats.maxDrawdownMinutes = curve.maxDrawdownMinutes();
+        return stats;
+    }
+
+    RiskMetrics toMetrics() {
+        double years = observations > 1 ? Duration.between(firstTime, lastTime).toMinutes() / MINUTES_PER_YEAR : 0;
+        double totalReturn = firstEquity > 0 ? lastEquity / firstEquity - 1 : 0;
+        double annualizedReturn = years > 0 && totalReturn > -1 ? Math.pow(1 + totalReturn, 1 / years) - 1 : 0;
+
+        double periodsPerYear = years > 0 ? returns / years : 0;
+        double stdDev = returns > 1 ? Math.sqrt(squaredDeviations / (returns - 1)) : 0;
+        double downsideDev = returns > 0 ? Math.sqrt(downsideSquares / returns) : 0;
+        double annualization = Math.sqrt(periodsPerYear);
+
+        return new RiskMetrics(
+                observations,
+                firstTime,
+                lastTime,
+                finite(totalReturn * 100),
+                finite(annualizedReturn * 100),
+                finite(stdDev * annualization * 100),
+                stdDev > 0 ? finite(meanReturn / stdDev * annualization) : 0,
+                downsideDev > 0 ? finite(meanReturn / downsideDev * annualization) : 0,
+                maxDrawdown * 100,
+                maxDrawdownMinutes,
+                maxDrawdown > 0 ? finite(annualizedReturn / maxDrawdown) : 0
+        );
+    }
+
+    // Annualizing very short spans overflows; report 0 rather than a non-JSON value
+    private static double finite(double value) {
+        return Double.isFinite(value) ? value : 0;
+    }
+}
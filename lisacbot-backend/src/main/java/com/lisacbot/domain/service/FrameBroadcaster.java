@@ -0,0 +1,223 @@
+package com.lisacbot.domain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link Flow.Publisher} of SSE frames with demand-driven backpressure and bounded per-subscriber buffers.
+ *
+ * Publishing only enqueues into each subscription's buffer, so it never blocks on a subscriber. Each subscription
+ * is drained by its own virtual thread, which delivers a frame only while the subscriber has outstanding demand
+ * ({@link Flow.Subscription#request}); a subscriber requests more as it finishes writing, so a slow connection
+ * fills its own buffer and the overflow policy decides what gives way.
+ * Locks are ReentrantLocks rather than synchronized/wait, which would pin idle virtual threads to their carriers.
+ */
+class FrameBroadcaster implements Flow.Publisher<SseFrame> {
+    private static final Logger log = LoggerFactory.getLogger(FrameBroadcaster.class);
+
+    /**
+     * What to do when a frame arrives and a subscriber's buffer is full.
+     */
+    enum OverflowPolicy {
+        /** Drop the oldest buffered frame to make room */
+        DROP_OLDEST,
+        /** Drop every buffered frame and keep only the newest (the client can reload history over REST) */
+        CONFLATE,
+        /** Fail the subscription; the client reconnects once it has caught up */
+        DISCONNECT
+    }
+
+    private final String name;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final List<BufferedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    FrameBroadcaster(String name, int capacity, OverflowPolicy overflowPolicy) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super SseFrame> subscriber) {
+        subscribe(subscriber, List.of());
+    }
+
+    /**
+     * Subscribes with frames to deliver before any published afterwards (a replay, or the current state).
+     * Callers that need the initial frames to line up exactly with published ones serialize this with
+     * {@link #publish}.
+     */
+    void subscribe(Flow.Subscriber<? super SseFrame> subscriber, List<SseFrame> initialFrames) {
+        BufferedSubscription subscription = new BufferedSubscription(subscriber);
+        initialFrames.forEach(subscription::offer);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        subscription.drainer.start();
+        log.info("New {} subscriber. Total subscribers: {}", name, subscriptions.size());
+    }
+
+    /**
+     * Buffers a frame for every subscriber without blocking.
+     */
+    void publish(SseFrame frame) {
+        for (BufferedSubscription subscription : subscriptions) {
+            subscription.offer(frame);
+        }
+    }
+
+    boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Completes every subscription.
+     */
+    void close() {
+        subscriptions.forEach(subscription -> subscription.terminate(null));
+    }
+
+    private final class BufferedSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super SseFrame> subscriber;
+        private final ArrayDeque<SseFrame> buffer = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition ready = lock.newCondition();
+        private final Thread drainer;
+
+        private long demand;
+        private long dropped;
+        private boolean done;
+        private boolean cancelled;
+        private Throwable failure;
+
+        private BufferedSubscription(Flow.Subscriber<? super SseFrame> subscriber) {
+            this.subscriber = subscriber;
+            this.drainer = Thread.ofVirtual().name(name + "-subscriber").unstarted(this::drain);
+        }
+
+        private void offer(SseFrame frame) {
+            lock.lock();
+            try {
+                if (done) {
+                    return;
+                }
+                if (buffer.size() >= capacity) {
+                    switch (overflowPolicy) {
+                        case DROP_OLDEST -> {
+                            buffer.pollFirst();
+                            dropped++;
+                        }
+                        case CONFLATE -> {
+                            dropped += buffer.size();
+                            buffer.clear();
+                        }
+                        case DISCONNECT -> {
+                            log.warn("{} subscriber buffer full ({} frames), disconnecting", name, capacity);
+                            failure = new IllegalStateException("Subscriber buffer overflow");
+                            done = true;
+                            ready.signal();
+                            return;
+                        }
+                    }
+                }
+                buffer.addLast(frame);
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Requested " + n + " frames");
+                    done = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // Saturate, as per the Flow spec
+                }
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                done = true;
+                cancelled = true;
+                buffer.clear();
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+            subscriptions.remove(this);
+        }
+
+        private void terminate(Throwable error) {
+            lock.lock();
+            try {
+                if (!done) {
+                    failure = error;
+                    done = true;
+                    ready.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void drain() {
+            boolean signalTermination;
+            Throwable error;
+            long droppedFrames;
+            while (true) {
+                SseFrame frame;
+                lock.lock();
+                try {
+                    while (!done && (buffer.isEmpty() || demand == 0)) {
+                        ready.awaitUninterruptibly();
+                    }
+                    if (done) {
+                        // No terminal signal after cancel
+                        signalTermination = !cancelled;
+                        error = failure;
+                        droppedFrames = dropped;
+                        break;
+                    }
+                    frame = buffer.pollFirst();
+                    demand--;
+                } finally {
+                    lock.unlock();
+                }
+                subscriber.onNext(frame);
+            }
+
+            subscriptions.remove(this);
+            if (droppedFrames > 0) {
+                log.info("{} subscriber closed, {} frames were dropped on buffer overflow", name, droppedFrames);
+            }
+            if (signalTermination) {
+                if (error != null) {
+                    subscriber.onError(error);
+                } else {
+                    subscriber.onComplete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.MarketCycle;
+
+/**
+ * Streaming version of {@link MarketCycleDetector#detectCycle}.
+ *
+ * Keeps the last {@code windowSize} prices in a primitive ring buffer and maintains every indicator
+ * incrementally, so each update and each evaluation is O(1):
+ * - volatility: rolling mean/variance of returns (Welford, with removal of the evicted return)
+ * - trend: running sums for the 7 and 30 point SMAs
+ * - momentum and recent change: direct ring buffer lookups
+ *
+ * Fed with the same prices, it detects the same cycle as the batch detector.
+ * Not thread-safe: one instance is meant to be fed by a single thread.
+ */
+public class IncrementalMarketCycleDetector {
+    private static final int SHORT_SMA_PERIOD = 7;
+    private static final int LONG_SMA_PERIOD = 30;
+    private static final int RECENT_CHANGE_PERIOD = 3;
+
+    private final MarketCycleDetector detector;
+    private final int analysisWindowDays;
+    private final double[] prices;
+    private int head; // index of the oldest price
+    private int count;
+
+    private double shortSum;
+    private double longSum;
+
+    // Welford accumulators over the returns currently in the window
+    private int returnCount;
+    private double returnMean;
+    private double returnM2;
+
+    IncrementalMarketCycleDetector(MarketCycleDetector detector, int analysisWindowDays, int windowSize) {
+        this.detector = detector;
+        this.analysisWindowDays = analysisWindowDays;
+        this.prices = new double[Math.max(1, windowSize)];
+    }
+
+    /**
+     * Appends a new price, evicting the oldest one once the window is full.
+     *
+     * @param price the new price
+     */
+    public void add(double price) {
+        double evicted = Double.NaN;
+        if (count == prices.length) {
+            evicted = prices[head];
+            if (count >= 2) {
+                removeReturn(returnOf(evicted, prices[(head + 1) % prices.length]));
+            }
+            head = (head + 1) % prices.length;
+            count--;
+        }
+
+        if (count > 0) {
+            addReturn(returnOf(fromNewest(0), price));
+        }
+        prices[(head + count) % prices.length] = price;
+        count++;
+
+        shortSum = slide(shortSum, SHORT_SMA_PERIOD, price, evicted);
+        longSum = slide(longSum, LONG_SMA_PERIOD, price, evicted);
+    }
+
+    /**
+     * Replaces the newest price, e.g. with a fresher tick of a bar that is still open.
+     *
+     * @param price the updated price
+     */
+    public void replaceLast(double price) {
+        if (count == 0) {
+            add(price);
+            return;
+        }
+
+        int newestIndex = (head + count - 1) % prices.length;
+        double previous = prices[newestIndex];
+        if (count >= 2) {
+            double before = fromNewest(1);
+            removeReturn(returnOf(before, previous));
+            addReturn(returnOf(before, price));
+        }
+        prices[newestIndex] = price;
+        shortSum += price - previous;
+        longSum += price - previous;
+    }
+
+    /**
+     * Evaluates the market cycle for the current window.
+     *
+     * @return the detected cycle, or UNKNOWN if the window does not hold enough data yet
+     */
+    public MarketCycle currentCycle() {
+        if (count == 0 || count < analysisWindowDays) {
+            return MarketCycle.UNKNOWN;
+        }
+        return detector.determineCycle(getMomentum(), getVolatility(), getTrend(), getRecentChange());
+    }
+
+    public double getMomentum() {
+        return changeOver(Math.min(analysisWindowDays, count));
+    }
+
+    public double getVolatility() {
+        return returnCount > 0 ? Math.sqrt(Math.max(0.0, returnM2) / returnCount) : 0.0;
+    }
+
+    public double getTrend() {
+        double shortSma = shortSum / Math.min(SHORT_SMA_PERIOD, count);
+        double longSma = longSum / Math.min(LONG_SMA_PERIOD, count);
+        return ((shortSma - longSma) / longSma) * 100.0;
+    }
+
+    public double getRecentChange() {
+        return changeOver(Math.min(RECENT_CHANGE_PERIOD, count));
+    }
+
+    public int getDataPoints() {
+        return count;
+    }
+
+    /**
+     * Percentage change between the newest price and the price {@code points - 1} steps before it.
+     */
+    private double changeOver(int points) {
+        double oldPrice = fromNewest(points - 1);
+        double currentPrice = fromNewest(0);
+        return ((currentPrice - oldPrice) / oldPrice) * 100.0;
+    }
+
+    /**
+     * Updates a running sum over the last {@code period} prices after {@code price} was appended.
+     * The price leaving the SMA window is either the one {@code period} steps back,
+     * or the evicted oldest price when the whole buffer is shorter than the period.
+     */
+    private double slide(double sum, int period, double price, double evicted) {
+        sum += price;
+        if (count > period) {
+            sum -= fromNewest(period);
+        } else if (!Double.isNaN(evicted)) {
+            sum -= evicted;
+        }
+        return sum;
+    }
+
+    private double fromNewest(int distance) {
+        return prices[(head + count - 1 - distance) % prices.length];
+    }
+
+    private static double returnOf(double from, double to) {
+        return (to - from) / from;
+    }
+
+    private void addReturn(double value) {
+        returnCount++;
+        double delta = value - returnMean;
+        returnMean += delta / returnCount;
+        returnM2 += delta * (value - returnMean);
+    }
+
+    private void removeReturn(double value) {
+        if (returnCount <= 1) {
+            returnCount = 0;
+            returnMean = 0.0;
+            returnM2 = 0.0;
+            return;
+        }
+        double meanBefore = returnMean - (value - returnMean) / (returnCount - 1);
+        returnM2 -= (value - meanBefore) * (value - returnMean);
+        returnMean = meanBefore;
+        returnCount--;
+    }
+}
@@ -23,6 +23,18 @@ public class MarketCycleDetector {
     private final double volatilityLowThreshold;
     private final double volatilityHighThreshold;
 
+    /**
+     * Detector configuration, usable as a cache key for precomputed cycles.
+     */
+    public record Settings(
+            int analysisWindowDays,
+            double crashThreshold,
+            double bullMarketThreshold,
+            double volatilityLowThreshold,
+            double volatilityHighThreshold
+    ) {
+    }
+
     public MarketCycleDetector(
             @Value("${bot.cycle.analysis.window.days}") int analysisWindowDays,
             @Value("${bot.cycle.crash.threshold}") double crashThreshold,
@@ -79,6 +91,26 @@ public class MarketCycleDetector {
         return cycle;
     }
 
+    public Settings getSettings() {
+        return new Settings(analysisWindowDays, crashThreshold, bullMarketThreshold,
+                volatilityLowThreshold, volatilityHighThreshold);
+    }
+
+    public int getAnalysisWindowDays() {
+        return analysisWindowDays;
+    }
+
+    /**
+     * Creates a streaming detector equivalent to {@link #detectCycle} over the last {@code windowSize} prices.
+     * Each price update and cycle evaluation is O(1), so it can run on every trading tick.
+     *
+     * @param windowSize number of prices to keep (typically the size of the analysis history)
+     * @return a new, empty incremental detector
+     */
+    public IncrementalMarketCycleDetector newIncrementalDetector(int windowSize) {
+        return new IncrementalMarketCycleDetector(this, analysisWindowDays, windowSize);
+    }
+
     /**
      * Calculates momentum as the rate of change over the analysis window.
      */
@@ -152,7 +184,7 @@ public class MarketCycleDetector {
     /**
      * Determines the market cycle based on calculated indicators.
      */
-    private MarketCycle determineCycle(double momentum, double volatility, double trend, double recentChange) {
+    MarketCycle determineCycle(double momentum, double volatility, double trend, double recentChange) {
         // CRASH: Rapid decline with very high volatility
         if (recentChange < crashThreshold && volatility > volatilityHighThreshold) {
             return MarketCycle.CRASH;
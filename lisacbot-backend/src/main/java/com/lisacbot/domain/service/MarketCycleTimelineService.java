@@ -0,0 +1,147 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.MarketCycleTimeline;
+import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.port.PriceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputes the market cycle of every bar of the price history, for regime-aware backtests.
+ *
+ * The timeline is built in one pass with the incremental detector. The history is split into chunks
+ * that are computed in parallel, each chunk warming up its own detector on the bars preceding it.
+ * The result is cached per history version and detector settings. When only new bars were appended, the cached
+ * timeline is extended with them (plus the previously open last bar) instead of being recomputed.
+ */
+@Service
+public class MarketCycleTimelineService {
+    private static final Logger log = LoggerFactory.getLogger(MarketCycleTimelineService.class);
+
+    private static final int BARS_PER_DAY = 24; // Historical data is made of hourly bars
+    private static final int CHUNK_SIZE = 4096;
+
+    private final PriceProvider priceProvider;
+    private final MarketCycleDetector cycleDetector;
+
+    private long cachedVersion;
+    private MarketCycleDetector.Settings cachedSettings;
+    private double[] cachedValues;
+    private LocalDateTime[] cachedTimestamps;
+    private MarketCycle[] cachedCycles;
+    private MarketCycleTimeline cachedTimeline;
+
+    public MarketCycleTimelineService(PriceProvider priceProvider, MarketCycleDetector cycleDetector) {
+        this.priceProvider = priceProvider;
+        this.cycleDetector = cycleDetector;
+    }
+
+    /**
+     * Returns the cycle timeline of the full price history, computing it if the history
+     * or the detector settings changed since the last call.
+     *
+     * @return the cycle timeline
+     */
+    public synchronized MarketCycleTimeline getTimeline() {
+        long version = priceProvider.getHistoryVersion();
+        MarketCycleDetector.Settings settings = cycleDetector.getSettings();
+        boolean sameSettings = settings.equals(cachedSettings);
+        if (cachedTimeline != null && sameSettings && version == cachedVersion) {
+            return cachedTimeline;
+        }
+
+        if (cachedTimeline == null || !sameSettings || !extendTimeline()) {
+            computeTimeline(priceProvider.getAllHistoricalPrices());
+        }
+        cachedTimeline = new MarketCycleTimeline(cachedTimestamps, cachedCycles);
+        cachedVersion = version;
+        cachedSettings = settings;
+        return cachedTimeline;
+    }
+
+    private void computeTimeline(List<Price> prices) {
+        long start = System.nanoTime();
+        int size = prices.size();
+        int windowSize = windowSize();
+
+        double[] values = new double[size];
+        LocalDateTime[] timestamps = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            Price price = prices.get(i);
+            values[i] = price.value();
+            timestamps[i] = price.timestamp();
+        }
+
+        MarketCycle[] cycles = new MarketCycle[size];
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            computeCycles(values, cycles, from, Math.min(size, from + CHUNK_SIZE), windowSize);
+        });
+
+        cachedValues = values;
+        cachedTimestamps = timestamps;
+        cachedCycles = cycles;
+        log.info("Computed market cycle timeline for {} bars in {} ms",
+                size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Extends the cached timeline with the bars appended since it was computed. The last cached bar is
+     * recomputed too, since it may have been the open bar.
+     *
+     * @return false if the history no longer lines up with the cache (e.g. it was reloaded)
+     */
+    private boolean extendTimeline() {
+        int from = cachedValues.length - 1;
+        if (from < 0) {
+            return false;
+        }
+        List<Price> newPrices = priceProvider.getHistoricalPricesFrom(from);
+        if (newPrices.isEmpty() || !newPrices.get(0).timestamp().equals(cachedTimestamps[from])) {
+            return false;
+        }
+
+        int size = from + newPrices.size();
+        double[] values = Arrays.copyOf(cachedValues, size);
+        LocalDateTime[] timestamps = Arrays.copyOf(cachedTimestamps, size);
+        MarketCycle[] cycles = Arrays.copyOf(cachedCycles, size);
+        for (int i = from; i < size; i++) {
+            Price price = newPrices.get(i - from);
+            values[i] = price.value();
+            timestamps[i] = price.timestamp();
+        }
+        computeCycles(values, cycles, from, size, windowSize());
+
+        cachedValues = values;
+        cachedTimestamps = timestamps;
+        cachedCycles = cycles;
+        log.debug("Extended market cycle timeline by {} bars", size - from - 1);
+        return true;
+    }
+
+    /**
+     * Computes the cycles of bars [from, to), warming up on the bars preceding them so every bar sees a full window.
+     */
+    private void computeCycles(double[] values, MarketCycle[] cycles, int from, int to, int windowSize) {
+        IncrementalMarketCycleDetector detector = cycleDetector.newIncrementalDetector(windowSize);
+        for (int i = Math.max(0, from - windowSize + 1); i < from; i++) {
+            detector.add(values[i]);
+        }
+        for (int i = from; i < to; i++) {
+            detector.add(values[i]);
+            cycles[i] = detector.currentCycle();
+        }
+    }
+
+    private int windowSize() {
+        return cycleDetector.getAnalysisWindowDays() * BARS_PER_DAY + 1;
+    }
+}
@@ -1,134 +1,159 @@
 package com.lisacbot.domain.service;
 
-import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.RiskCheckpoint;
+import com.lisacbot.domain.model.RiskReport;
+import com.lisacbot.domain.model.StrategyTradeStats;
 import com.lisacbot.domain.model.Trade;
 import com.lisacbot.domain.model.TradeMetrics;
+import com.lisacbot.domain.model.TradeMetricsCheckpoint;
+import com.lisacbot.domain.port.TradeMetricsCheckpointRepository;
 import com.lisacbot.domain.port.TradeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Service for calculating trading performance metrics.
+ *
+ * Metrics are kept in memory and updated as trades are saved, so reading them does not touch the database.
+ * The aggregate is rebuilt once at startup by streaming the trade history. With checkpointing enabled,
+ * the startup rebuild only streams trades newer than the last checkpoints, then saves new ones.
+ *
+ * With {@code bot.metrics.source=database}, nothing is kept in memory: each read runs one aggregate query
+ * grouped by strategy, and the per-strategy rows are combined here.
+ *
+ * Risk analytics (Sharpe, Sortino, drawdown, Calmar) are always streamed in memory, over an equity index
+ * compounding the profit/loss of closed trades. Their accumulators are checkpointed too, so with checkpointing
+ * enabled neither mode streams the full history at startup.
  */
 @Service
 public class MetricsService {
+    private static final Logger log = LoggerFactory.getLogger(MetricsService.class);
 
     private final TradeRepository tradeRepository;
+    private final TradeMetricsCheckpointRepository checkpointRepository;
 
-    public MetricsService(TradeRepository tradeRepository) {
+    @Value("${bot.metrics.checkpoint.enabled:false}")
+    private boolean checkpointEnabled;
+
+    @Value("${bot.metrics.source:memory}")
+    private String metricsSource;
+
+    @Value("${bot.metrics.risk.windows.days:7,30,90}")
+    private List<Integer> riskWindowDays;
+
+    private volatile TradeStatsAggregate aggregate = new TradeStatsAggregate();
+    private volatile RiskAnalyzer riskAnalyzer = new RiskAnalyzer(List.of());
+
+    public MetricsService(TradeRepository tradeRepository, TradeMetricsCheckpointRepository checkpointRepository) {
         this.tradeRepository = tradeRepository;
+        this.checkpointRepository = checkpointRepository;
     }
 
     /**
-     * Calculate comprehensive performance metrics from all trades.
+     * Rebuilds the in-memory metrics from the trade history (and the checkpoints, if enabled).
      */
-    public TradeMetrics calculateMetrics() {
-        List<Trade> allTrades = tradeRepository.findAll();
-
-        if (allTrades.isEmpty()) {
-            return createEmptyMetrics();
+    @PostConstruct
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        boolean memory = !isDatabaseSource();
+        TradeStatsAggregate rebuilt = new TradeStatsAggregate();
+        RiskAnalyzer rebuiltRisk = new RiskAnalyzer(riskWindowDays);
+        long statsAfter = 0;
+        long riskAfter = 0;
+
+        if (checkpointEnabled) {
+            Optional<TradeMetricsCheckpoint> checkpoint = memory ? checkpointRepository.load() : Optional.empty();
+            if (checkpoint.isPresent()) {
+                rebuilt.restore(checkpoint.get().strategies());
+                statsAfter = checkpoint.get().lastTradeId();
+            }
+            Optional<RiskCheckpoint> riskCheckpoint = checkpointRepository.loadRisk();
+            if (riskCheckpoint.isPresent()) {
+                if (rebuiltRisk.restore(riskCheckpoint.get().state())) {
+                    riskAfter = riskCheckpoint.get().lastTradeId();
+                } else {
+                    log.info("Risk checkpoint was taken with other windows, rebuilding risk analytics from the full history");
+                }
+            }
         }
 
-        // Filter SELL trades (only they have profit/loss data)
-        List<Trade> sellTrades = allTrades.stream()
-                .filter(t -> t.getType() == Signal.SELL)
-                .filter(t -> t.getProfitLossPercentage() != null)
-                .toList();
-
-        int totalTrades = allTrades.size();
-        int buyTrades = (int) allTrades.stream().filter(t -> t.getType() == Signal.BUY).count();
-        int sellTradesCount = sellTrades.size();
-
-        // Profit/loss analysis
-        int profitableTrades = (int) sellTrades.stream()
-                .filter(t -> t.getProfitLossPercentage() > 0)
-                .count();
-        int losingTrades = (int) sellTrades.stream()
-                .filter(t -> t.getProfitLossPercentage() < 0)
-                .count();
-
-        double winRate = sellTradesCount > 0 
-                ? (profitableTrades * 100.0) / sellTradesCount 
-                : 0.0;
-
-        double totalProfitLoss = sellTrades.stream()
-                .mapToDouble(Trade::getProfitLossPercentage)
-                .sum();
-
-        double averageProfitLoss = sellTradesCount > 0
-                ? totalProfitLoss / sellTradesCount
-                : 0.0;
-
-        double bestTrade = sellTrades.stream()
-                .mapToDouble(Trade::getProfitLossPercentage)
-                .max()
-                .orElse(0.0);
-
-        double worstTrade = sellTrades.stream()
-                .mapToDouble(Trade::getProfitLossPercentage)
-                .min()
-                .orElse(0.0);
-
-        // Volume calculation (sum of all trade values)
-        double totalVolume = allTrades.stream()
-                .mapToDouble(t -> t.getPrice() * t.getQuantity())
-                .sum();
-
-        // Strategy analysis
-        String mostUsedStrategy = findMostUsedStrategy(allTrades);
-        String mostProfitableStrategy = findMostProfitableStrategy(sellTrades);
-
-        return new TradeMetrics(
-                totalTrades,
-                buyTrades,
-                sellTradesCount,
-                profitableTrades,
-                losingTrades,
-                winRate,
-                totalProfitLoss,
-                averageProfitLoss,
-                bestTrade,
-                worstTrade,
-                totalVolume,
-                mostUsedStrategy,
-                mostProfitableStrategy
-        );
+        // One pass from the older of the two checkpoints feeds whatever each one does not cover yet
+        long fromStats = statsAfter;
+        long fromRisk = riskAfter;
+        long after = memory ? Math.min(statsAfter, riskAfter) : riskAfter;
+        long[] lastSeen = {memory ? Math.max(statsAfter, riskAfter) : riskAfter, 0};
+        tradeRepository.forEachTradeAfter(after, trade -> {
+            if (memory && trade.getId() > fromStats) {
+                rebuilt.add(trade);
+            }
+            if (trade.getId() > fromRisk) {
+                rebuiltRisk.addTrade(trade);
+            }
+            lastSeen[0] = Math.max(lastSeen[0], trade.getId());
+            lastSeen[1]++;
+        });
+        aggregate = rebuilt;
+        riskAnalyzer = rebuiltRisk;
+
+        if (checkpointEnabled) {
+            if (memory) {
+                checkpointRepository.save(new TradeMetricsCheckpoint(lastSeen[0], rebuilt.snapshot()));
+            }
+            checkpointRepository.saveRisk(new RiskCheckpoint(lastSeen[0], rebuiltRisk.snapshot()));
+        }
+        log.info("Trade metrics {} from {} trades{} in {} ms",
+                memory ? "rebuilt" : "computed by database aggregation, risk analytics rebuilt",
+                lastSeen[1], after > 0 ? " after checkpoint (trade " + after + ")" : "",
+                System.currentTimeMillis() - start);
     }
 
-    private String findMostUsedStrategy(List<Trade> trades) {
-        if (trades.isEmpty()) return "N/A";
-
-        return trades.stream()
-                .collect(Collectors.groupingBy(Trade::getStrategy, Collectors.counting()))
-                .entrySet()
-                .stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("N/A");
+    /**
+     * Adds a saved trade to the metrics.
+     */
+    public void recordTrade(Trade trade) {
+        riskAnalyzer.addTrade(trade);
+        if (!isDatabaseSource()) {
+            aggregate.add(trade);
+        }
     }
 
-    private String findMostProfitableStrategy(List<Trade> sellTrades) {
-        if (sellTrades.isEmpty()) return "N/A";
+    /**
+     * Calculate comprehensive performance metrics from all trades.
+     */
+    public TradeMetrics calculateMetrics() {
+        if (isDatabaseSource()) {
+            return TradeStatsAggregate.toMetrics(tradeRepository.aggregateByStrategy());
+        }
+        return aggregate.toMetrics();
+    }
 
-        Map<String, Double> profitByStrategy = sellTrades.stream()
-                .collect(Collectors.groupingBy(
-                        Trade::getStrategy,
-                        Collectors.summingDouble(Trade::getProfitLossPercentage)
-                ));
+    /**
+     * Per-strategy breakdown of the trade metrics, sorted by strategy name.
+     */
+    public List<StrategyTradeStats> getStrategyStats() {
+        List<StrategyTradeStats> stats = isDatabaseSource()
+                ? tradeRepository.aggregateByStrategy()
+                : aggregate.snapshot();
+        return stats.stream()
+                .sorted(Comparator.comparing(StrategyTradeStats::strategy))
+                .toList();
+    }
 
-        return profitByStrategy.entrySet()
-                .stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("N/A");
+    /**
+     * Risk-adjusted performance of the live trade history, overall and per configured window.
+     */
+    public RiskReport getRiskReport() {
+        return riskAnalyzer.report();
     }
 
-    private TradeMetrics createEmptyMetrics() {
-        return new TradeMetrics(
-                0, 0, 0, 0, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, "N/A", "N/A"
-        );
+    private boolean isDatabaseSource() {
+        return "database".equalsIgnoreCase(metricsSource);
     }
 }
@@ -0,0 +1,36 @@
+package com.lisacbot.domain.service;
+
+/**
+ * Fixed-size ring buffer of the most recent live prices, kept as primitives.
+ *
+ * Replayed into a new strategy instance so its indicators are warm the moment it goes live.
+ */
+final class PriceHistoryBuffer {
+    private final double[] prices;
+    private int next;
+    private int size;
+
+    PriceHistoryBuffer(int capacity) {
+        this.prices = new double[Math.max(1, capacity)];
+    }
+
+    synchronized void add(double price) {
+        prices[next] = price;
+        next = (next + 1) % prices.length;
+        if (size < prices.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @return the buffered prices, oldest first
+     */
+    synchronized double[] toArray() {
+        double[] copy = new double[size];
+        int start = (next - size + prices.length) % prices.length;
+        int firstPart = Math.min(size, prices.length - start);
+        System.arraycopy(prices, start, copy, 0, firstPart);
+        System.arraycopy(prices, 0, copy, firstPart, size - firstPart);
+        return copy;
+    }
+}
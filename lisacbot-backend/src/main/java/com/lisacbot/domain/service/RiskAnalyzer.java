@@ -0,0 +1,120 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.RiskMetrics;
+import com.lisacbot.domain.model.RiskReport;
+import com.lisacbot.domain.model.RiskState;
+import com.lisacbot.domain.model.RiskWindow;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Streaming risk analytics over an equity curve: whole-curve statistics plus one set per window length.
+ *
+ * Windows are consecutive (tumbling): when a window has run for its number of days, its metrics are kept
+ * as the previous window and a new one starts from the last point. Memory is constant per window, so curves
+ * of any length (multi-year backtests, the full live history) are analyzed without being materialized.
+ */
+final class RiskAnalyzer {
+
+    private static final class Window {
+        private final int days;
+        private EquityCurveStats current = new EquityCurveStats();
+        private LocalDateTime start;
+        private RiskMetrics previous;
+
+        private Window(int days) {
+            this.days = days;
+        }
+    }
+
+    private EquityCurveStats overall = new EquityCurveStats();
+    private final List<Window> windows;
+    private double tradeEquity = 1.0;
+
+    RiskAnalyzer(List<Integer> windowDays) {
+        this.windows = windowDays.stream()
+                .filter(days -> days > 0)
+                .distinct()
+                .sorted()
+                .map(Window::new)
+                .toList();
+    }
+
+    /**
+     * Adds an equity observation. Observations must be in time order.
+     */
+    synchronized void add(LocalDateTime time, double equity) {
+        overall.add(time, equity);
+        for (Window window : windows) {
+            if (window.start == null) {
+                window.start = time;
+            } else if (!time.isBefore(window.start.plusDays(window.days))) {
+                window.previous = window.current.toMetrics();
+                EquityCurveStats next = new EquityCurveStats();
+                // Start from the last point so the return across the window boundary is not lost
+                next.add(window.current.getLastTime(), window.current.getLastEquity());
+                window.current = next;
+                window.start = time;
+            }
+            window.current.add(time, equity);
+        }
+    }
+
+    /**
+     * Adds a live trade to an equity index compounding the profit/loss of closed (SELL) trades,
+     * starting at 1.0 on the first trade.
+     */
+    synchronized void addTrade(Trade trade) {
+        if (overall.getObservations() == 0) {
+            add(trade.getTimestamp(), tradeEquity);
+        }
+        if (trade.getType() == Signal.SELL && trade.getProfitLossPercentage() != null) {
+            tradeEquity *= 1 + trade.getProfitLossPercentage() / 100;
+            add(trade.getTimestamp(), tradeEquity);
+        }
+    }
+
+    synchronized RiskState snapshot() {
+        return new RiskState(
+                tradeEquity,
+                overall.snapshot(),
+                windows.stream()
+                        .map(window -> new RiskState.Window(window.days, window.current.snapshot(), window.start, window.previous))
+                        .toList()
+        );
+    }
+
+    /**
+     * Continues from a snapshot taken by {@link #snapshot()}.
+     *
+     * @return false (and nothing restored) if the snapshot was taken with other window lengths
+     */
+    synchronized boolean restore(RiskState state) {
+        List<Integer> days = state.windows().stream().map(RiskState.Window::days).toList();
+        if (!days.equals(windows.stream().map(window -> window.days).toList())) {
+            return false;
+        }
+        tradeEquity = state.tradeEquity();
+        overall = EquityCurveStats.restore(state.overall());
+        for (int i = 0; i < windows.size(); i++) {
+            Window window = windows.get(i);
+            RiskState.Window saved = state.windows().get(i);
+            window.current = EquityCurveStats.restore(saved.current());
+            window.start = saved.start();
+            window.previous = saved.previous();
+        }
+        return true;
+    }
+
+    synchronized RiskReport report() {
+        return new RiskReport(
+                overall.toMetrics(),
+                windows.stream()
+                        .map(window -> new RiskWindow(window.days, window.current.toMetrics(), window.previous))
+                        .toList()
+        );
+    }
+}
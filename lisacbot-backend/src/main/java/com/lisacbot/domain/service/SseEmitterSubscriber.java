@@ -0,0 +1,65 @@
+package com.lisacbot.domain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Flow;
+
+/**
+ * Writes frames from a {@link FrameBroadcaster} to one servlet SSE connection.
+ *
+ * Requests one frame at a time and asks for the next only once the previous one is written, so demand follows
+ * the speed of the client's connection. Closing the connection cancels the subscription.
+ */
+class SseEmitterSubscriber implements Flow.Subscriber<SseFrame> {
+    private static final Logger log = LoggerFactory.getLogger(SseEmitterSubscriber.class);
+
+    private final SseEmitter emitter;
+    private volatile Flow.Subscription subscription;
+
+    SseEmitterSubscriber(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        emitter.onCompletion(() -> {
+            log.info("SSE connection completed");
+            subscription.cancel();
+        });
+        emitter.onTimeout(() -> {
+            log.warn("SSE connection timeout");
+            subscription.cancel();
+        });
+        emitter.onError((e) -> {
+            log.error("SSE connection error: {}", e.getMessage());
+            subscription.cancel();
+        });
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(SseFrame frame) {
+        try {
+            emitter.send(frame.getItems());
+            subscription.request(1);
+        } catch (IOException | IllegalStateException e) {
+            log.info("SSE client disconnected: {}", e.getMessage());
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        // Buffer overflow: close the connection and let the client reconnect
+        emitter.complete();
+    }
+
+    @Override
+    public void onComplete() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,71 @@
+package com.lisacbot.domain.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fixed-size ring buffer of the most recent SSE frames, numbered for {@code Last-Event-ID} replay.
+ *
+ * Event ids are {@code <epoch>-<sequence>}: the epoch identifies this server run, so an id from before a
+ * restart is recognized as such. Not thread-safe: callers serialize access.
+ */
+final class SseEventLog {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final SseFrame[] frames;
+    private long lastSequence;
+
+    SseEventLog(int capacity) {
+        this.frames = new SseFrame[Math.max(1, capacity)];
+    }
+
+    /**
+     * Numbers, frames and stores an event.
+     */
+    SseFrame append(String name, String json) {
+        lastSequence++;
+        SseFrame frame = SseFrame.of(epoch + "-" + lastSequence, name, json);
+        frames[(int) (lastSequence % frames.length)] = frame;
+        return frame;
+    }
+
+    /**
+     * Id of the last stored event, so a client told to reload its state resumes from here.
+     */
+    String lastId() {
+        return epoch + "-" + lastSequence;
+    }
+
+    /**
+     * Frames published after the given event id.
+     *
+     * An id from a previous server run is not recognized: the events between the client's disconnect
+     * and the restart were never stored here, so the client has to reload its state.
+     *
+     * @return the missed frames (possibly none), or empty if they are no longer all in the buffer
+     *         or the id is not recognized
+     */
+    Optional<List<SseFrame>> since(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return Optional.empty();
+        }
+        long oldest = Math.max(1, lastSequence - frames.length + 1);
+        if (sequence > lastSequence || sequence + 1 < oldest) {
+            return Optional.empty();
+        }
+
+        List<SseFrame> missed = new ArrayList<>((int) (lastSequence - sequence));
+        for (long s = sequence + 1; s <= lastSequence; s++) {
+            missed.add(frames[(int) (s % frames.length)]);
+        }
+        return Optional.of(missed);
+    }
+}
@@ -0,0 +1,36 @@
+package com.lisacbot.domain.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * A complete, pre-encoded SSE event ({@code id:}, {@code event:} and {@code data:} lines plus the blank-line
+ * terminator).
+ *
+ * Built once per broadcast and written as-is to every subscriber: the bytes go through the byte array
+ * message converter, so there is no per-client serialization or copying. Immutable and shareable.
+ */
+final class SseFrame {
+    private final Set<ResponseBodyEmitter.DataWithMediaType> items;
+
+    private SseFrame(byte[] bytes) {
+        this.items = Set.of(new ResponseBodyEmitter.DataWithMediaType(bytes, MediaType.TEXT_PLAIN));
+    }
+
+    /**
+     * Frames a single-line JSON payload (as produced by a non-indenting ObjectMapper).
+     *
+     * @param id the event id, or null for an event without one
+     */
+    static SseFrame of(String id, String name, String json) {
+        String text = (id != null ? "id:" + id + "\n" : "") + "event:" + name + "\ndata:" + json + "\n\n";
+        return new SseFrame(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Set<ResponseBodyEmitter.DataWithMediaType> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,76 @@
+package com.lisacbot.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lisacbot.domain.model.PriceTick;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Pushes a price/portfolio snapshot to dashboards on every tick, instead of each dashboard polling the status.
+ *
+ * Only the latest snapshot matters, so each client's queue holds a single conflated frame: a slow client
+ * skips intermediate ticks and always receives the most recent one. A snapshot is serialized once per tick.
+ */
+@Service
+public class TickStreamPublisher {
+    private static final Logger log = LoggerFactory.getLogger(TickStreamPublisher.class);
+
+    // One-frame buffers with conflation: a slow client only ever has the latest snapshot pending
+    private final FrameBroadcaster broadcaster = new FrameBroadcaster("tick-stream", 1,
+            FrameBroadcaster.OverflowPolicy.CONFLATE);
+    private final ObjectMapper objectMapper;
+
+    public TickStreamPublisher(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registers a new SSE emitter for ticks, starting with the given current snapshot.
+     *
+     * @param current the snapshot sent right away, so the client does not wait for the next tick
+     * @return the created SseEmitter
+     */
+    public SseEmitter createEmitter(PriceTick current) {
+        SseEmitter emitter = new SseEmitter(0L); // No timeout
+        SseFrame frame = toFrame(current);
+        broadcaster.subscribe(new SseEmitterSubscriber(emitter), frame != null ? List.of(frame) : List.of());
+        return emitter;
+    }
+
+    /**
+     * Queues a snapshot for every connected client, replacing any snapshot a client has not received yet.
+     */
+    public void publish(PriceTick tick) {
+        if (!broadcaster.hasSubscribers()) {
+            return;
+        }
+        SseFrame frame = toFrame(tick);
+        if (frame != null) {
+            broadcaster.publish(frame);
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return broadcaster.hasSubscribers();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.close();
+    }
+
+    private SseFrame toFrame(PriceTick tick) {
+        try {
+            return SseFrame.of(null, "tick", objectMapper.writeValueAsString(tick));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize tick: {}", e.getMessage());
+            return null;
+        }
+    }
+}
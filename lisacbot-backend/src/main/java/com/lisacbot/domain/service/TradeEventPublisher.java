@@ -1,29 +1,71 @@
 package com.lisacbot.domain.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lisacbot.domain.event.TradeEvent;
 import com.lisacbot.domain.model.Trade;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service responsible for managing SSE connections and broadcasting trade events.
+ *
+ * Clients subscribe to a {@link FrameBroadcaster}: each has a bounded buffer drained by its own virtual thread
+ * at the pace of its connection, and broadcasting only enqueues, so the trading thread never waits on a client.
+ * A trade is serialized once per broadcast into a shared {@link SseFrame}, whatever the number of clients;
+ * the payload is the trade's JSON on one line, with null fields left out.
+ *
+ * Events are numbered and the most recent ones kept in a ring buffer ({@link SseEventLog}). A reconnecting
+ * client passing its last event id gets only the events it missed; if they are no longer buffered, it gets
+ * a {@code reset} event telling it to reload the trade history. A client connecting without an id gets a
+ * {@code connected} event carrying the current id, so it has a resume point even before the first trade.
  */
 @Service
 public class TradeEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(TradeEventPublisher.class);
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
     private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper payloadMapper;
 
-    public TradeEventPublisher(ApplicationEventPublisher eventPublisher) {
+    @Value("${bot.sse.queue.capacity:256}")
+    private int queueCapacity;
+
+    @Value("${bot.sse.overflow.policy:drop_oldest}")
+    private String overflowPolicyName;
+
+    @Value("${bot.sse.replay.buffer.size:1000}")
+    private int replayBufferSize;
+
+    private FrameBroadcaster broadcaster;
+    private SseEventLog eventLog;
+
+    // Numbering, buffering and fan-out happen under one lock, so a new subscriber's replay
+    // neither misses nor repeats an event broadcast while it registers
+    private final ReentrantLock broadcastLock = new ReentrantLock();
+
+    public TradeEventPublisher(ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
         this.eventPublisher = eventPublisher;
+        this.payloadMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        FrameBroadcaster.OverflowPolicy overflowPolicy = FrameBroadcaster.OverflowPolicy.valueOf(
+                overflowPolicyName.trim().replace('-', '_').toUpperCase());
+        this.broadcaster = new FrameBroadcaster("trade-events", queueCapacity, overflowPolicy);
+        this.eventLog = new SseEventLog(replayBufferSize);
+        log.info("SSE client queues: capacity {}, overflow policy {}", queueCapacity, overflowPolicy);
     }
 
     /**
@@ -39,56 +81,72 @@ public class TradeEventPublisher {
     /**
      * Registers a new SSE emitter for trade events.
      *
+     * @param lastEventId id of the last event the client received, or null for a new client
      * @return the created SseEmitter
      */
-    public SseEmitter createEmitter() {
+    public SseEmitter createEmitter(String lastEventId) {
         SseEmitter emitter = new SseEmitter(0L); // No timeout
 
-        emitter.onCompletion(() -> {
-            log.info("SSE connection completed");
-            emitters.remove(emitter);
-        });
-
-        emitter.onTimeout(() -> {
-            log.warn("SSE connection timeout");
-            emitters.remove(emitter);
-        });
-
-        emitter.onError((e) -> {
-            log.error("SSE connection error: {}", e.getMessage());
-            emitters.remove(emitter);
-        });
-
-        emitters.add(emitter);
-        log.info("New SSE connection registered. Total connections: {}", emitters.size());
+        broadcastLock.lock();
+        try {
+            broadcaster.subscribe(new SseEmitterSubscriber(emitter), initialFrames(lastEventId));
+        } finally {
+            broadcastLock.unlock();
+        }
 
         return emitter;
     }
 
     /**
-     * Listens for TradeEvent and broadcasts to all connected SSE clients.
+     * Listens for TradeEvent and queues it for every connected SSE client.
      *
      * @param event the trade event
      */
     @EventListener
     public void handleTradeEvent(TradeEvent event) {
         Trade trade = event.getTrade();
-        log.info("Broadcasting trade event to {} clients: {}", emitters.size(), trade);
-
-        List<SseEmitter> deadEmitters = new CopyOnWriteArrayList<>();
-
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("trade")
-                        .data(trade));
-            } catch (IOException e) {
-                log.error("Failed to send event to client: {}", e.getMessage());
-                deadEmitters.add(emitter);
-            }
+        log.info("Broadcasting trade event to {} clients: {}", broadcaster.getSubscriberCount(), trade);
+
+        String json;
+        try {
+            json = payloadMapper.writeValueAsString(trade);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize trade event: {}", e.getMessage());
+            return;
         }
 
-        // Clean up dead connections
-        emitters.removeAll(deadEmitters);
+        broadcastLock.lock();
+        try {
+            broadcaster.publish(eventLog.append("trade", json));
+        } finally {
+            broadcastLock.unlock();
+        }
+    }
+
+    /**
+     * Frames sent to a new subscriber before the live events. Must be called under the broadcast lock.
+     *
+     * @param lastEventId id of the last event the client received, or null for a new client
+     */
+    List<SseFrame> initialFrames(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of(SseFrame.of(eventLog.lastId(), "connected", "{}"));
+        }
+        return replayFrames(lastEventId.trim());
+    }
+
+    private List<SseFrame> replayFrames(String lastEventId) {
+        Optional<List<SseFrame>> missed = eventLog.since(lastEventId);
+        if (missed.isPresent() && missed.get().size() <= queueCapacity) {
+            log.info("Replaying {} missed events after {}", missed.get().size(), lastEventId);
+            return missed.get();
+        }
+        log.info("Events after {} are no longer buffered, asking the client to reload", lastEventId);
+        return List.of(SseFrame.of(eventLog.lastId(), "reset", "{}"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.close();
     }
 }
@@ -0,0 +1,151 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.StrategyTradeStats;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeMetrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory trade metrics, kept per strategy and updated in O(1) per trade.
+ * Reading the metrics combines the per-strategy counters, so its cost depends on the number
+ * of strategies, not on the number of trades.
+ */
+class TradeStatsAggregate {
+
+    private final Map<String, Counters> strategies = new HashMap<>();
+
+    synchronized void add(Trade trade) {
+        Counters counters = strategies.computeIfAbsent(trade.getStrategy(), strategy -> new Counters());
+        counters.totalTrades++;
+        counters.totalVolume += trade.getPrice() * trade.getQuantity();
+
+        if (trade.getType() == Signal.BUY) {
+            counters.buyTrades++;
+        } else if (trade.getType() == Signal.SELL && trade.getProfitLossPercentage() != null) {
+            double profitLoss = trade.getProfitLossPercentage();
+            counters.sellTrades++;
+            counters.totalProfitLoss += profitLoss;
+            counters.bestTrade = Math.max(counters.bestTrade, profitLoss);
+            counters.worstTrade = Math.min(counters.worstTrade, profitLoss);
+            if (profitLoss > 0) {
+                counters.profitableTrades++;
+            } else if (profitLoss < 0) {
+                counters.losingTrades++;
+            }
+        }
+    }
+
+    synchronized void restore(List<StrategyTradeStats> stats) {
+        for (StrategyTradeStats stat : stats) {
+            Counters counters = new Counters();
+            counters.totalTrades = stat.totalTrades();
+            counters.buyTrades = stat.buyTrades();
+            counters.sellTrades = stat.sellTrades();
+            counters.profitableTrades = stat.profitableTrades();
+            counters.losingTrades = stat.losingTrades();
+            counters.totalProfitLoss = stat.totalProfitLoss();
+            if (stat.sellTrades() > 0) {
+                counters.bestTrade = stat.bestTrade();
+                counters.worstTrade = stat.worstTrade();
+            }
+            counters.totalVolume = stat.totalVolume();
+            strategies.put(stat.strategy(), counters);
+        }
+    }
+
+    synchronized List<StrategyTradeStats> snapshot() {
+        List<StrategyTradeStats> stats = new ArrayList<>(strategies.size());
+        strategies.forEach((strategy, counters) -> stats.add(new StrategyTradeStats(
+                strategy,
+                counters.totalTrades,
+                counters.buyTrades,
+                counters.sellTrades,
+                counters.profitableTrades,
+                counters.losingTrades,
+                counters.totalProfitLoss,
+                counters.sellTrades > 0 ? counters.bestTrade : 0.0,
+                counters.sellTrades > 0 ? counters.worstTrade : 0.0,
+                counters.totalVolume
+        )));
+        return stats;
+    }
+
+    synchronized TradeMetrics toMetrics() {
+        return toMetrics(snapshot());
+    }
+
+    /**
+     * Combines per-strategy statistics into overall metrics.
+     */
+    static TradeMetrics toMetrics(List<StrategyTradeStats> stats) {
+        long totalTrades = 0;
+        long buyTrades = 0;
+        long sellTrades = 0;
+        long profitableTrades = 0;
+        long losingTrades = 0;
+        double totalProfitLoss = 0.0;
+        double bestTrade = Double.NEGATIVE_INFINITY;
+        double worstTrade = Double.POSITIVE_INFINITY;
+        double totalVolume = 0.0;
+        StrategyTradeStats mostUsed = null;
+        StrategyTradeStats mostProfitable = null;
+
+        for (StrategyTradeStats stat : stats) {
+            totalTrades += stat.totalTrades();
+            buyTrades += stat.buyTrades();
+            sellTrades += stat.sellTrades();
+            profitableTrades += stat.profitableTrades();
+            losingTrades += stat.losingTrades();
+            totalProfitLoss += stat.totalProfitLoss();
+            totalVolume += stat.totalVolume();
+
+            if (mostUsed == null || stat.totalTrades() > mostUsed.totalTrades()) {
+                mostUsed = stat;
+            }
+            if (stat.sellTrades() > 0) {
+                bestTrade = Math.max(bestTrade, stat.bestTrade());
+                worstTrade = Math.min(worstTrade, stat.worstTrade());
+                if (mostProfitable == null || stat.totalProfitLoss() > mostProfitable.totalProfitLoss()) {
+                    mostProfitable = stat;
+                }
+            }
+        }
+
+        if (totalTrades == 0) {
+            return new TradeMetrics(0, 0, 0, 0, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, "N/A", "N/A");
+        }
+
+        return new TradeMetrics(
+                (int) totalTrades,
+                (int) buyTrades,
+                (int) sellTrades,
+                (int) profitableTrades,
+                (int) losingTrades,
+                sellTrades > 0 ? (profitableTrades * 100.0) / sellTrades : 0.0,
+                totalProfitLoss,
+                sellTrades > 0 ? totalProfitLoss / sellTrades : 0.0,
+                sellTrades > 0 ? bestTrade : 0.0,
+                sellTrades > 0 ? worstTrade : 0.0,
+                totalVolume,
+                mostUsed.strategy(),
+                mostProfitable != null ? mostProfitable.strategy() : "N/A"
+        );
+    }
+
+    private static final class Counters {
+        private long totalTrades;
+        private long buyTrades;
+        private long sellTrades;
+        private long profitableTrades;
+        private long losingTrades;
+        private double totalProfitLoss;
+        private double bestTrade = Double.NEGATIVE_INFINITY;
+        private double worstTrade = Double.POSITIVE_INFINITY;
+        private double totalVolume;
+    }
+}
@@ -0,0 +1,86 @@
+package com.lisacbot.domain.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Structured scope for one trading tick: every forked task runs on its own virtual thread,
+ * the owner joins them all up to a deadline, and whatever is still running at the deadline is abandoned.
+ *
+ * Mirrors the fork / joinUntil / close shape of {@code StructuredTaskScope}, which is still a preview API
+ * on Java 21. Unlike {@code ExecutorService.close()}, closing the scope never waits for overdue tasks,
+ * so a blocked call cannot hold up the next tick.
+ *
+ * Cancellation is cooperative: tasks are never interrupted, since an interrupt could close the trade journal's
+ * file channel or stop a bot between its portfolio update and the persistence of the trade. Tasks check
+ * {@link #isCancelled()} before starting work; an overdue task runs to completion in the background.
+ */
+public final class TradingCycleScope implements AutoCloseable {
+    private final ExecutorService executor;
+    private final List<Future<?>> tasks = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    public TradingCycleScope(String threadNamePrefix) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+    }
+
+    /**
+     * Starts a task on a new virtual thread.
+     *
+     * @param task the task to run
+     */
+    public void fork(Runnable task) {
+        tasks.add(executor.submit(task));
+    }
+
+    /**
+     * Waits for all forked tasks until the deadline, then cancels the scope and stops waiting for the tasks
+     * still running, without interrupting them. Task failures are expected to be handled by the tasks themselves.
+     *
+     * @param deadline the instant after which remaining tasks are abandoned
+     * @return the number of tasks still running at the deadline
+     * @throws InterruptedException if the owner thread is interrupted while waiting
+     */
+    public int joinUntil(Instant deadline) throws InterruptedException {
+        int overdue = 0;
+        for (Future<?> task : tasks) {
+            long remainingNanos = Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+            try {
+                task.get(remainingNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancelled = true;
+                task.cancel(false);
+                overdue++;
+            } catch (ExecutionException | CancellationException e) {
+                // Failure already reported by the task
+            }
+        }
+        return overdue;
+    }
+
+    /**
+     * @return true once the deadline has passed; tasks that have not started their work yet should skip it
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    @Override
+    public void close() {
+        // Overdue tasks keep running; shutdownNow() would interrupt them
+        executor.shutdown();
+    }
+}
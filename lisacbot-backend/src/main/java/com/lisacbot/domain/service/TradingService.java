@@ -6,9 +6,11 @@ import com.lisacbot.domain.model.BotStatus;
 import com.lisacbot.domain.model.MarketCycle;
 import com.lisacbot.domain.model.Portfolio;
 import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.model.PriceTick;
 import com.lisacbot.domain.model.Signal;
 import com.lisacbot.domain.model.Trade;
 import com.lisacbot.domain.strategy.TradingStrategy;
+import com.lisacbot.infrastructure.config.StrategyParameters;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +19,12 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -30,23 +35,39 @@ public class TradingService {
     private static final Logger log = LoggerFactory.getLogger(TradingService.class);
 
     private final PriceProvider priceProvider;
-    private TradingStrategy strategy; // Non-final to allow runtime strategy switching
+    private volatile TradingStrategy strategy; // Non-final to allow runtime strategy switching
     private final MarketCycleDetector cycleDetector;
     private final TradeRepository tradeRepository;
     private final TradeEventPublisher tradeEventPublisher;
+    private final MetricsService metricsService;
     private final Portfolio portfolio;
     private final boolean trailingStopLossEnabled;
     private final double trailingStopLossPercentage;
     private final boolean takeProfitEnabled;
     private final double takeProfitPercentage;
     private final int cycleAnalysisDays;
+    private final boolean incrementalCycleEnabled;
     private final Set<MarketCycle> allowedCycles;
-    private String strategyName; // Non-final to allow runtime strategy name updates
+    private volatile String strategyName; // Non-final to allow runtime strategy name updates
     private final com.lisacbot.infrastructure.config.ConfigurationService configurationService;
-
-    private Price lastPrice;
-    private boolean running;
-    private MarketCycle currentMarketCycle;
+    private final com.lisacbot.infrastructure.config.StrategyFactory strategyFactory;
+    private final PriceHistoryBuffer priceHistory; // Prices the live cycle is done with, replayed on strategy swaps
+    // A strategy swap and the live analysis of a tick never overlap, so each price reaches a new strategy once:
+    // either replayed from the history, or analyzed by the live cycle that follows the swap
+    private final ReentrantLock strategyLock = new ReentrantLock();
+    private Double pendingPrice; // Recorded tick not yet through the live cycle, guarded by strategyLock
+    private final int warmupTicks;
+    private final long warmupMaxGapMinutes;
+    private volatile long strategyParametersVersion; // Parameters version the current strategy was built with
+
+    private volatile Price lastPrice;
+    private volatile boolean running;
+    private volatile MarketCycle currentMarketCycle;
+    // Detector and bar timestamp are replaced by the periodic analysis and advanced by live ticks, on different
+    // threads: both are guarded by incrementalCycleLock so they always change together
+    private final Object incrementalCycleLock = new Object();
+    private IncrementalMarketCycleDetector incrementalCycleDetector;
+    private LocalDateTime incrementalBarTimestamp; // Hourly bar the detector's newest price belongs to
 
     public TradingService(
             PriceProvider priceProvider,
@@ -54,28 +75,41 @@ public class TradingService {
             MarketCycleDetector cycleDetector,
             TradeRepository tradeRepository,
             TradeEventPublisher tradeEventPublisher,
+            MetricsService metricsService,
             com.lisacbot.infrastructure.config.ConfigurationService configurationService,
+            com.lisacbot.infrastructure.config.StrategyFactory strategyFactory,
             @Value("${bot.initial.balance}") double initialBalance,
             @Value("${bot.trailing.stop.loss.enabled}") boolean trailingStopLossEnabled,
             @Value("${bot.trailing.stop.loss.percentage}") double trailingStopLossPercentage,
             @Value("${bot.take.profit.enabled}") boolean takeProfitEnabled,
             @Value("${bot.take.profit.percentage}") double takeProfitPercentage,
             @Value("${bot.cycle.analysis.window.days}") int cycleAnalysisDays,
+            @Value("${bot.cycle.incremental.enabled:true}") boolean incrementalCycleEnabled,
             @Value("${bot.cycle.allowed}") String allowedCyclesConfig,
-            @Value("${bot.strategy.type}") String strategyName
+            @Value("${bot.strategy.type}") String strategyName,
+            @Value("${bot.strategy.warmup.history.size:500}") int warmupHistorySize,
+            @Value("${bot.strategy.warmup.ticks:200}") int warmupTicks,
+            @Value("${bot.strategy.warmup.max.gap.minutes:5}") long warmupMaxGapMinutes
     ) {
         this.priceProvider = priceProvider;
         this.strategy = strategy;
         this.cycleDetector = cycleDetector;
         this.tradeRepository = tradeRepository;
         this.tradeEventPublisher = tradeEventPublisher;
+        this.metricsService = metricsService;
         this.configurationService = configurationService;
+        this.strategyFactory = strategyFactory;
+        this.priceHistory = new PriceHistoryBuffer(warmupHistorySize);
+        this.warmupTicks = warmupTicks;
+        this.warmupMaxGapMinutes = warmupMaxGapMinutes;
+        this.strategyParametersVersion = configurationService.getParameters().version();
         this.portfolio = new Portfolio(initialBalance);
         this.trailingStopLossEnabled = trailingStopLossEnabled;
         this.trailingStopLossPercentage = trailingStopLossPercentage;
         this.takeProfitEnabled = takeProfitEnabled;
         this.takeProfitPercentage = takeProfitPercentage;
         this.cycleAnalysisDays = cycleAnalysisDays;
+        this.incrementalCycleEnabled = incrementalCycleEnabled;
         this.strategyName = strategyName;
 
         // Parse allowed cycles from comma-separated config
@@ -102,6 +136,54 @@ public class TradingService {
 
         // Initial market cycle detection
         updateMarketCycle();
+
+        // Runs before the web server starts, so the bot is decision-ready once the health check passes
+        warmUpStrategy();
+    }
+
+    /**
+     * Feeds the live ticks recorded before the restart through the strategy, so its indicators are ready on the first
+     * live tick instead of after a full window of ticks. The ticks also seed the history replayed on strategy swaps.
+     * Only the unbroken run of ticks leading up to now is used: the strategy periods are counted in poll intervals,
+     * so older ticks across a gap, or the hourly historical bars, would distort the indicators.
+     */
+    private void warmUpStrategy() {
+        if (warmupTicks <= 0) {
+            return;
+        }
+
+        try {
+            List<Price> ticks = priceProvider.getRecentTicks();
+            long maxGapMillis = TimeUnit.MINUTES.toMillis(warmupMaxGapMinutes);
+            LocalDateTime next = LocalDateTime.now();
+            int from = ticks.size();
+            while (from > 0 && ticks.size() - from < warmupTicks
+                    && ChronoUnit.MILLIS.between(ticks.get(from - 1).timestamp(), next) <= maxGapMillis) {
+                from--;
+                next = ticks.get(from).timestamp();
+            }
+
+            if (from == ticks.size()) {
+                log.info("No recent live ticks to warm up strategy {} ({} recorded), it warms up on live ticks",
+                        strategyName, ticks.size());
+                return;
+            }
+
+            double[] prices = new double[ticks.size() - from];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = ticks.get(from + i).value();
+            }
+
+            long start = System.nanoTime();
+            strategy.warmUp(prices);
+            for (double price : prices) {
+                priceHistory.add(price);
+            }
+            log.info("Strategy {} warmed up on {} recorded live ticks in {} ms", strategyName, prices.length,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Error warming up strategy from recorded ticks: {}", e.getMessage());
+        }
     }
 
     public synchronized void start() {
@@ -122,17 +204,76 @@ public class TradingService {
         }
     }
 
-    public void executeTradingCycle() {
+    /**
+     * Handles a new live price tick: updates the market cycle and, if the bot is running,
+     * executes a trading cycle on the bot's own portfolio.
+     *
+     * @param price the fetched price
+     */
+    public void executeTradingCycle(Price price) {
+        recordPriceTick(price);
+        executeLiveTradingCycle(price);
+    }
+
+    /**
+     * Records a new live price tick and updates the market cycle, without trading.
+     * The price joins the replay history only once the live cycle is done with it (or at the next tick if the
+     * cycle does not run), so a strategy swapped in between analyzes it live rather than twice.
+     *
+     * @param price the fetched price
+     */
+    public void recordPriceTick(Price price) {
+        lastPrice = price;
+        updateMarketCycleIncrementally(price);
+        strategyLock.lock();
+        try {
+            commitPendingPrice();
+            if (configurationService.getParameters().version() != strategyParametersVersion) {
+                updateStrategy(strategyName);
+            }
+            pendingPrice = price.value();
+        } finally {
+            strategyLock.unlock();
+        }
+    }
+
+    /**
+     * Records the latest price while no bot is trading, so the status and tick snapshots stay current.
+     * Unlike {@link #recordPriceTick(Price)}, the price is not fed to the strategy or the market cycle.
+     *
+     * @param price the fetched price
+     */
+    public void recordIdlePrice(Price price) {
+        lastPrice = price;
+    }
+
+    /**
+     * Executes a trading cycle on the bot's own portfolio if the bot is running.
+     * The tick must already have been recorded with {@link #recordPriceTick(Price)}.
+     *
+     * @param price the fetched price
+     */
+    public void executeLiveTradingCycle(Price price) {
         if (!running) {
             log.debug("Trading cycle skipped - bot is stopped");
             return;
         }
 
+        strategyLock.lock();
         try {
-            lastPrice = priceProvider.getCurrentPrice();
-            executeTradingCycle(lastPrice.value());
+            executeTradingCycle(price.value());
         } catch (Exception e) {
             log.error("Error during trading cycle: {}", e.getMessage());
+        } finally {
+            commitPendingPrice();
+            strategyLock.unlock();
+        }
+    }
+
+    private void commitPendingPrice() {
+        if (pendingPrice != null) {
+            priceHistory.add(pendingPrice);
+            pendingPrice = null;
         }
     }
 
@@ -149,7 +290,8 @@ public class TradingService {
 
     /**
      * Updates the current market cycle by analyzing historical price data.
-     * This should be called periodically (e.g., once per day) as cycle detection requires time.
+     * This full analysis runs periodically (e.g., once per day) and also re-seeds the incremental
+     * detector, which keeps the cycle up to date on every tick in between.
      * If the new cycle is not allowed and we have holdings, triggers an automatic sell.
      */
     public void updateMarketCycle() {
@@ -158,6 +300,7 @@ public class TradingService {
             List<Price> historicalPrices = priceProvider.getHistoricalPrices(cycleAnalysisDays);
             MarketCycle previousCycle = currentMarketCycle;
             currentMarketCycle = cycleDetector.detectCycle(historicalPrices);
+            seedIncrementalCycleDetector(historicalPrices);
 
             log.info("Market cycle updated: {} -> {}", previousCycle, currentMarketCycle);
 
@@ -179,6 +322,56 @@ public class TradingService {
         }
     }
 
+    /**
+     * Rebuilds the incremental detector from the analysis history.
+     */
+    private void seedIncrementalCycleDetector(List<Price> historicalPrices) {
+        if (!incrementalCycleEnabled || historicalPrices.isEmpty()) {
+            return;
+        }
+
+        IncrementalMarketCycleDetector detector = cycleDetector.newIncrementalDetector(historicalPrices.size());
+        for (Price price : historicalPrices) {
+            detector.add(price.value());
+        }
+        synchronized (incrementalCycleLock) {
+            incrementalBarTimestamp = historicalPrices.get(historicalPrices.size() - 1).timestamp()
+                    .truncatedTo(ChronoUnit.HOURS);
+            incrementalCycleDetector = detector;
+        }
+    }
+
+    /**
+     * Feeds a live tick into the incremental detector and re-evaluates the market cycle in O(1).
+     * The history is made of hourly bars: a tick in the same hour updates the open bar,
+     * a tick in a new hour starts a new bar.
+     * A switch to a non-allowed cycle is handled by the cycle protection of the trading cycle that follows.
+     */
+    private void updateMarketCycleIncrementally(Price tick) {
+        MarketCycle newCycle;
+        synchronized (incrementalCycleLock) {
+            IncrementalMarketCycleDetector detector = incrementalCycleDetector;
+            if (detector == null) {
+                return;
+            }
+
+            LocalDateTime tickBar = tick.timestamp().truncatedTo(ChronoUnit.HOURS);
+            if (tickBar.isAfter(incrementalBarTimestamp)) {
+                detector.add(tick.value());
+                incrementalBarTimestamp = tickBar;
+            } else {
+                detector.replaceLast(tick.value());
+            }
+            newCycle = detector.currentCycle();
+        }
+
+        MarketCycle previousCycle = currentMarketCycle;
+        if (newCycle != previousCycle) {
+            currentMarketCycle = newCycle;
+            log.info("Market cycle changed on live tick: {} -> {}", previousCycle, newCycle);
+        }
+    }
+
     /**
      * Checks if trading is allowed in the current market cycle.
      *
@@ -200,17 +393,19 @@ public class TradingService {
     public Signal executeTradingCycle(double price, Portfolio portfolio) {
         log.info("========== Trading Cycle ==========");
         log.info("Strategy: {}", strategyName);
-        log.info("Parameters - SMA: {}, EMA: {}, RSI: {} (Oversold: {}, Overbought: {}), MACD: {}/{}/{}, Composite: Buy={}, Sell={}",
-                configurationService.getSmaPeriod(),
-                configurationService.getEmaPeriod(),
-                configurationService.getRsiPeriod(),
-                configurationService.getRsiOversold(),
-                configurationService.getRsiOverbought(),
-                configurationService.getMacdFastPeriod(),
-                configurationService.getMacdSlowPeriod(),
-                configurationService.getMacdSignalPeriod(),
-                configurationService.getCompositeBuyThreshold(),
-                configurationService.getCompositeSellThreshold());
+        StrategyParameters parameters = configurationService.getParameters();
+        log.info("Parameters v{} - SMA: {}, EMA: {}, RSI: {} (Oversold: {}, Overbought: {}), MACD: {}/{}/{}, Composite: Buy={}, Sell={}",
+                parameters.version(),
+                parameters.smaPeriod(),
+                parameters.emaPeriod(),
+                parameters.rsiPeriod(),
+                parameters.rsiOversold(),
+                parameters.rsiOverbought(),
+                parameters.macdFastPeriod(),
+                parameters.macdSlowPeriod(),
+                parameters.macdSignalPeriod(),
+                parameters.compositeBuyThreshold(),
+                parameters.compositeSellThreshold());
         log.info("BTC price: ${}", String.format("%.2f", price));
 
         // Update highest price for trailing stop-loss calculation
@@ -271,6 +466,20 @@ public class TradingService {
      * @return the signal that was executed (BUY, SELL, or HOLD)
      */
     public Signal executeTradingCycleForBacktest(double price, Portfolio portfolio) {
+        return executeTradingCycleForBacktest(price, portfolio, null);
+    }
+
+    /**
+     * Executes a trading cycle for backtesting purposes with the market cycle of the simulated bar.
+     * Applies the same cycle protection as live trading (bot.cycle.allowed) against that bar's cycle,
+     * after the trailing stop-loss and take-profit checks.
+     *
+     * @param price the current price to use for trading decisions
+     * @param portfolio the portfolio to operate on
+     * @param barCycle market cycle at this bar, or null to skip the cycle check
+     * @return the signal that was executed (BUY, SELL, or HOLD)
+     */
+    public Signal executeTradingCycleForBacktest(double price, Portfolio portfolio, MarketCycle barCycle) {
         // Update highest price for trailing stop-loss calculation
         portfolio.updateHighestPrice(price);
 
@@ -288,7 +497,16 @@ public class TradingService {
             return Signal.SELL;
         }
 
-        // 3. Normal strategy analysis (no market cycle check for backtests)
+        // 3. Check if trading is allowed in the simulated bar's market cycle
+        if (barCycle != null && !allowedCycles.contains(barCycle)) {
+            if (portfolio.hasHoldings()) {
+                executeSignal(Signal.SELL, price, portfolio, "Cycle protection");
+                return Signal.SELL;
+            }
+            return Signal.HOLD;
+        }
+
+        // 4. Normal strategy analysis
         Signal signal = strategy.analyze(price);
         executeSignal(signal, price, portfolio);
         return signal;
@@ -355,7 +573,7 @@ public class TradingService {
 
     private void persistTrade(Signal signal, double price, double quantity, double balanceBefore, double balanceAfter, Double profitLoss, String reason) {
         Trade trade = new Trade(
-                null, // ID will be generated by database
+                null, // ID is assigned by the repository
                 LocalDateTime.now(),
                 signal,
                 price,
@@ -369,11 +587,20 @@ public class TradingService {
         );
         Trade savedTrade = tradeRepository.save(trade);
         log.debug("Trade persisted: {}", savedTrade);
+        metricsService.recordTrade(savedTrade);
 
         // Publish event for real-time notification
         tradeEventPublisher.publishTradeEvent(savedTrade);
     }
 
+    public boolean isRunning() {
+        return running;
+    }
+
+    public MarketCycle getCurrentMarketCycle() {
+        return currentMarketCycle;
+    }
+
     public BotStatus getBotStatus() {
         double currentPrice = lastPrice != null ? lastPrice.value() : 0.0;
         double totalValue = portfolio.getTotalValue(currentPrice);
@@ -390,17 +617,46 @@ public class TradingService {
     }
 
     /**
-     * Updates the trading strategy at runtime.
-     * This allows dynamic strategy switching without restarting the bot.
+     * Builds the snapshot pushed to dashboards on each tick: status plus the strategy's indicator values.
+     */
+    public PriceTick getPriceTick() {
+        Price price = lastPrice;
+        return new PriceTick(
+                price != null ? price.timestamp() : LocalDateTime.now(),
+                getBotStatus(),
+                strategy.getIndicators()
+        );
+    }
+
+    /**
+     * Updates the trading strategy at runtime, built from the current configuration parameters.
+     * This allows dynamic strategy switching without restarting the bot. The new instance is warmed up on the
+     * recent live prices before it replaces the current one, so it produces signals straight away.
+     * Called again automatically on the next tick when the parameters change.
      *
-     * @param newStrategy the new strategy to use
-     * @param newStrategyName the name of the new strategy
+     * @param strategyType sma, ema-rsi, macd or composite (case-insensitive)
+     * @throws IllegalArgumentException if the type is unknown
      */
-    public synchronized void updateStrategy(TradingStrategy newStrategy, String newStrategyName) {
-        log.info("Updating trading strategy from {} to {}", this.strategyName, newStrategyName);
-        this.strategy = newStrategy;
-        this.strategyName = newStrategyName;
-        log.info("Trading strategy updated successfully");
+    public void updateStrategy(String strategyType) {
+        strategyLock.lock();
+        try {
+            StrategyParameters parameters = configurationService.getParameters();
+            TradingStrategy newStrategy = strategyFactory.createStrategy(strategyType, parameters);
+            double[] history = priceHistory.toArray();
+            for (double price : history) {
+                newStrategy.warmUp(price);
+            }
+
+            String newStrategyName = strategyType.toUpperCase();
+            log.info("Updating trading strategy from {} to {} (parameters v{}, warmed up on {} prices)",
+                    this.strategyName, newStrategyName, parameters.version(), history.length);
+            this.strategy = newStrategy;
+            this.strategyName = newStrategyName;
+            this.strategyParametersVersion = parameters.version();
+            log.info("Trading strategy updated successfully");
+        } finally {
+            strategyLock.unlock();
+        }
     }
 
     /**
@@ -419,34 +675,35 @@ public class TradingService {
      */
     public java.util.Map<String, String> getStrategyParameters() {
         java.util.Map<String, String> params = new java.util.LinkedHashMap<>();
+        StrategyParameters parameters = configurationService.getParameters();
 
         // Add parameters based on strategy type
         switch (strategyName.toLowerCase()) {
             case "sma":
-                params.put("SMA Period", String.valueOf(configurationService.getSmaPeriod()));
+                params.put("SMA Period", String.valueOf(parameters.smaPeriod()));
                 break;
             case "ema-rsi":
-                params.put("EMA Period", String.valueOf(configurationService.getEmaPeriod()));
-                params.put("RSI Period", String.valueOf(configurationService.getRsiPeriod()));
-                params.put("RSI Oversold", String.valueOf(configurationService.getRsiOversold()));
-                params.put("RSI Overbought", String.valueOf(configurationService.getRsiOverbought()));
+                params.put("EMA Period", String.valueOf(parameters.emaPeriod()));
+                params.put("RSI Period", String.valueOf(parameters.rsiPeriod()));
+                params.put("RSI Oversold", String.valueOf(parameters.rsiOversold()));
+                params.put("RSI Overbought", String.valueOf(parameters.rsiOverbought()));
                 break;
             case "macd":
-                params.put("MACD Fast Period", String.valueOf(configurationService.getMacdFastPeriod()));
-                params.put("MACD Slow Period", String.valueOf(configurationService.getMacdSlowPeriod()));
-                params.put("MACD Signal Period", String.valueOf(configurationService.getMacdSignalPeriod()));
+                params.put("MACD Fast Period", String.valueOf(parameters.macdFastPeriod()));
+                params.put("MACD Slow Period", String.valueOf(parameters.macdSlowPeriod()));
+                params.put("MACD Signal Period", String.valueOf(parameters.macdSignalPeriod()));
                 break;
             case "composite":
-                params.put("SMA Period", String.valueOf(configurationService.getSmaPeriod()));
-                params.put("EMA Period", String.valueOf(configurationService.getEmaPeriod()));
-                params.put("RSI Period", String.valueOf(configurationService.getRsiPeriod()));
-                params.put("RSI Oversold", String.valueOf(configurationService.getRsiOversold()));
-                params.put("RSI Overbought", String.valueOf(configurationService.getRsiOverbought()));
-                params.put("MACD Fast/Slow/Signal", configurationService.getMacdFastPeriod() + "/" +
-                        configurationService.getMacdSlowPeriod() + "/" +
-                        configurationService.getMacdSignalPeriod());
-                params.put("Buy Threshold", String.valueOf(configurationService.getCompositeBuyThreshold()));
-                params.put("Sell Threshold", String.valueOf(configurationService.getCompositeSellThreshold()));
+                params.put("SMA Period", String.valueOf(parameters.smaPeriod()));
+                params.put("EMA Period", String.valueOf(parameters.emaPeriod()));
+                params.put("RSI Period", String.valueOf(parameters.rsiPeriod()));
+                params.put("RSI Oversold", String.valueOf(parameters.rsiOversold()));
+                params.put("RSI Overbought", String.valueOf(parameters.rsiOverbought()));
+                params.put("MACD Fast/Slow/Signal", parameters.macdFastPeriod() + "/" +
+                        parameters.macdSlowPeriod() + "/" +
+                        parameters.macdSignalPeriod());
+                params.put("Buy Threshold", String.valueOf(parameters.compositeBuyThreshold()));
+                params.put("Sell Threshold", String.valueOf(parameters.compositeSellThreshold()));
                 break;
         }
 
@@ -5,7 +5,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Composite strategy that combines multiple trading strategies using weighted voting.
@@ -37,6 +39,21 @@ public class CompositeStrategy implements TradingStrategy {
         }
     }
 
+    @Override
+    public void warmUp(double price) {
+        // Skip the weighted scoring and its per-price logging
+        for (WeightedStrategy ws : strategies) {
+            ws.strategy().warmUp(price);
+        }
+    }
+
+    @Override
+    public void warmUp(double[] prices) {
+        for (WeightedStrategy ws : strategies) {
+            ws.strategy().warmUp(prices);
+        }
+    }
+
     @Override
     public Signal analyze(double currentPrice) {
         double weightedScore = 0.0;
@@ -71,6 +88,15 @@ public class CompositeStrategy implements TradingStrategy {
         return finalSignal;
     }
 
+    @Override
+    public Map<String, Double> getIndicators() {
+        Map<String, Double> indicators = new LinkedHashMap<>();
+        for (WeightedStrategy ws : strategies) {
+            ws.strategy().getIndicators().forEach((name, value) -> indicators.put(ws.name() + "." + name, value));
+        }
+        return indicators;
+    }
+
     /**
      * Converts a signal to a numeric score for weighted voting.
      * BUY = +1, HOLD = 0, SELL = -1
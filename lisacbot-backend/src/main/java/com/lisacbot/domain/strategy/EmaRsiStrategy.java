@@ -2,8 +2,7 @@ package com.lisacbot.domain.strategy;
 
 import com.lisacbot.domain.model.Signal;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Map;
 
 /**
  * Combined EMA + RSI trading strategy.
@@ -18,13 +17,14 @@ import java.util.Queue;
  * - HOLD: Otherwise
  */
 public class EmaRsiStrategy implements TradingStrategy {
-    private final Queue<Double> priceHistory = new LinkedList<>();
+    private final PriceWindow priceHistory;
     private final int emaPeriod;
     private final int rsiPeriod;
     private final int rsiOversold;
     private final int rsiOverbought;
 
     private Double ema = null;
+    private Double rsi = null;
     private final double smoothingFactor;
 
     public EmaRsiStrategy(int emaPeriod, int rsiPeriod, int rsiOversold, int rsiOverbought) {
@@ -33,38 +33,19 @@ public class EmaRsiStrategy implements TradingStrategy {
         this.rsiOversold = rsiOversold;
         this.rsiOverbought = rsiOverbought;
         this.smoothingFactor = 2.0 / (emaPeriod + 1);
+        // Keep only the data we need (max of EMA and RSI periods)
+        this.priceHistory = new PriceWindow(Math.max(emaPeriod, rsiPeriod + 1) + 1);
     }
 
     @Override
     public Signal analyze(double currentPrice) {
-        priceHistory.add(currentPrice);
-
-        // Keep only the data we need (max of EMA and RSI periods)
-        int maxPeriod = Math.max(emaPeriod, rsiPeriod + 1);
-        while (priceHistory.size() > maxPeriod + 1) {
-            priceHistory.poll();
-        }
-
-        // Wait until we have enough data
-        if (priceHistory.size() < Math.max(emaPeriod, rsiPeriod + 1)) {
+        if (!updateEma(currentPrice)) {
             return Signal.HOLD;
         }
 
-        // Calculate EMA
-        if (ema == null) {
-            // Initialize EMA with SMA
-            ema = priceHistory.stream()
-                    .limit(emaPeriod)
-                    .mapToDouble(Double::doubleValue)
-                    .average()
-                    .orElse(currentPrice);
-        } else {
-            // Update EMA: EMA = Price * smoothing + EMA_prev * (1 - smoothing)
-            ema = currentPrice * smoothingFactor + ema * (1 - smoothingFactor);
-        }
-
         // Calculate RSI
         double rsi = calculateRSI();
+        this.rsi = rsi;
 
         // Generate signal based on EMA trend and RSI levels
         boolean priceAboveEma = currentPrice > ema;
@@ -79,6 +60,46 @@ public class EmaRsiStrategy implements TradingStrategy {
         return Signal.HOLD;
     }
 
+    @Override
+    public void warmUp(double[] prices) {
+        // RSI only depends on the latest window, so it is computed once at the end
+        boolean ready = false;
+        for (double price : prices) {
+            ready = updateEma(price);
+        }
+        if (ready) {
+            rsi = calculateRSI();
+        }
+    }
+
+    /**
+     * Adds a price to the history and updates the EMA.
+     *
+     * @return false while there is not enough data yet
+     */
+    private boolean updateEma(double currentPrice) {
+        priceHistory.add(currentPrice);
+
+        // Wait until we have enough data
+        if (priceHistory.size() < Math.max(emaPeriod, rsiPeriod + 1)) {
+            return false;
+        }
+
+        // Calculate EMA
+        if (ema == null) {
+            // Initialize EMA with SMA
+            double sum = 0.0;
+            for (int i = 0; i < emaPeriod; i++) {
+                sum += priceHistory.get(i);
+            }
+            ema = emaPeriod > 0 ? sum / emaPeriod : currentPrice;
+        } else {
+            // Update EMA: EMA = Price * smoothing + EMA_prev * (1 - smoothing)
+            ema = currentPrice * smoothingFactor + ema * (1 - smoothingFactor);
+        }
+        return true;
+    }
+
     /**
      * Calculates the Relative Strength Index (RSI).
      * RSI = 100 - (100 / (1 + RS))
@@ -89,13 +110,13 @@ public class EmaRsiStrategy implements TradingStrategy {
             return 50.0; // Neutral RSI if not enough data
         }
 
-        Double[] prices = priceHistory.toArray(new Double[0]);
+        int size = priceHistory.size();
         double avgGain = 0.0;
         double avgLoss = 0.0;
 
         // Calculate initial average gain and loss
-        for (int i = prices.length - rsiPeriod - 1; i < prices.length - 1; i++) {
-            double change = prices[i + 1] - prices[i];
+        for (int i = size - rsiPeriod - 1; i < size - 1; i++) {
+            double change = priceHistory.get(i + 1) - priceHistory.get(i);
             if (change > 0) {
                 avgGain += change;
             } else {
@@ -114,6 +135,11 @@ public class EmaRsiStrategy implements TradingStrategy {
         return 100.0 - (100.0 / (1.0 + rs));
     }
 
+    @Override
+    public Map<String, Double> getIndicators() {
+        return ema != null && rsi != null ? Map.of("ema", ema, "rsi", rsi) : Map.of();
+    }
+
     public int getEmaPeriod() {
         return emaPeriod;
     }
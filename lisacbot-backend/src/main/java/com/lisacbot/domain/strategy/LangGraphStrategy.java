@@ -9,9 +9,7 @@ import java.io.InputStreamReader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -22,13 +20,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class LangGraphStrategy implements TradingStrategy {
     private static final Logger logger = LoggerFactory.getLogger(LangGraphStrategy.class);
 
-    private final Queue<Double> priceHistory = new LinkedList<>();
+    private final PriceWindow priceHistory;
     private final int maxHistorySize;
     private final String pythonScriptPath;
     private final ObjectMapper objectMapper;
 
     public LangGraphStrategy(int maxHistorySize, String pythonScriptPath) {
         this.maxHistorySize = maxHistorySize;
+        this.priceHistory = new PriceWindow(maxHistorySize);
         this.pythonScriptPath = pythonScriptPath;
         this.objectMapper = new ObjectMapper();
         logger.info("LangGraphStrategy initialized with Python script: {}", pythonScriptPath);
@@ -45,16 +44,17 @@ public class LangGraphStrategy implements TradingStrategy {
         return scriptPath.toString();
     }
 
+    @Override
+    public void warmUp(double price) {
+        // Only fill the history: running the Python analysis for every past price would be far too slow
+        priceHistory.add(price);
+    }
+
     @Override
     public Signal analyze(double currentPrice) {
-        // Add current price to history
+        // Add current price to history, the window keeps only the last N prices
         priceHistory.add(currentPrice);
 
-        // Keep only the last N prices
-        while (priceHistory.size() > maxHistorySize) {
-            priceHistory.poll();
-        }
-
         // Need at least 2 data points for analysis
         if (priceHistory.size() < 2) {
             logger.debug("Insufficient data points: {}", priceHistory.size());
@@ -69,8 +69,8 @@ public class LangGraphStrategy implements TradingStrategy {
             command.add(String.valueOf(currentPrice));
 
             // Add price history as arguments
-            for (Double price : priceHistory) {
-                command.add(String.valueOf(price));
+            for (int i = 0; i < priceHistory.size(); i++) {
+                command.add(String.valueOf(priceHistory.get(i)));
             }
 
             logger.debug("Executing Python analysis with {} price points", priceHistory.size());
@@ -4,6 +4,8 @@ import com.lisacbot.domain.model.Signal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+
 /**
  * MACD (Moving Average Convergence Divergence) trading strategy.
  *
@@ -17,7 +19,8 @@ import org.slf4j.LoggerFactory;
  * Trading signals:
  * - BUY: MACD line crosses above Signal line (bullish crossover)
  * - SELL: MACD line crosses below Signal line (bearish crossover)
- * - HOLD: No crossover detected
+ * - HOLD: No crossover detected, or fewer than slowPeriod + signalPeriod prices seen yet
+ *   (the slow EMA and then the signal line need that many prices before a crossover means anything)
  */
 public class MacdStrategy implements TradingStrategy {
     private static final Logger log = LoggerFactory.getLogger(MacdStrategy.class);
@@ -32,6 +35,7 @@ public class MacdStrategy implements TradingStrategy {
     private double previousMacd;
     private double previousSignal;
     private boolean initialized;
+    private int samples; // Prices seen, capped once enough for a meaningful crossover
 
     public MacdStrategy(int fastPeriod, int slowPeriod, int signalPeriod) {
         this.fastPeriod = fastPeriod;
@@ -47,6 +51,8 @@ public class MacdStrategy implements TradingStrategy {
 
     @Override
     public Signal analyze(double currentPrice) {
+        countSample();
+
         // Initialize EMAs with first price
         if (!initialized) {
             fastEma = currentPrice;
@@ -56,6 +62,55 @@ public class MacdStrategy implements TradingStrategy {
             return Signal.HOLD;
         }
 
+        double macdLine = updateEmas(currentPrice);
+
+        // Detect crossovers, once the EMAs are past their seed
+        Signal signal = isReady() ? detectCrossover(macdLine, signalEma) : Signal.HOLD;
+
+        // Store current values for next iteration
+        previousMacd = macdLine;
+        previousSignal = signalEma;
+
+        log.debug("MACD: {}, Signal: {}, Histogram: {} → {}",
+                String.format("%.2f", macdLine),
+                String.format("%.2f", signalEma),
+                String.format("%.2f", macdLine - signalEma),
+                signal);
+
+        return signal;
+    }
+
+    @Override
+    public void warmUp(double price) {
+        // Same state updates as analyze, without crossover detection and logging
+        countSample();
+        if (!initialized) {
+            fastEma = price;
+            slowEma = price;
+            signalEma = 0.0;
+            initialized = true;
+            return;
+        }
+        previousMacd = updateEmas(price);
+        previousSignal = signalEma;
+    }
+
+    private void countSample() {
+        if (!isReady()) {
+            samples++;
+        }
+    }
+
+    private boolean isReady() {
+        return samples >= slowPeriod + signalPeriod;
+    }
+
+    /**
+     * Updates the fast, slow and signal EMAs.
+     *
+     * @return the new MACD line
+     */
+    private double updateEmas(double currentPrice) {
         // Calculate smoothing factors
         double fastSmoothing = 2.0 / (fastPeriod + 1);
         double slowSmoothing = 2.0 / (slowPeriod + 1);
@@ -75,20 +130,15 @@ public class MacdStrategy implements TradingStrategy {
             signalEma = macdLine * signalSmoothing + signalEma * (1 - signalSmoothing);
         }
 
-        // Detect crossovers
-        Signal signal = detectCrossover(macdLine, signalEma);
-
-        // Store current values for next iteration
-        previousMacd = macdLine;
-        previousSignal = signalEma;
-
-        log.debug("MACD: {}, Signal: {}, Histogram: {} → {}",
-                String.format("%.2f", macdLine),
-                String.format("%.2f", signalEma),
-                String.format("%.2f", macdLine - signalEma),
-                signal);
+        return macdLine;
+    }
 
-        return signal;
+    @Override
+    public Map<String, Double> getIndicators() {
+        if (!initialized) {
+            return Map.of();
+        }
+        return Map.of("macd", previousMacd, "signal", previousSignal, "histogram", previousMacd - previousSignal);
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.lisacbot.domain.strategy;
+
+/**
+ * Sliding window of the most recent prices, kept as primitives in a fixed-size ring.
+ *
+ * Adding a price to a full window drops the oldest one, without allocating.
+ */
+final class PriceWindow {
+    private final double[] prices;
+    private int next;
+    private int size;
+
+    PriceWindow(int capacity) {
+        this.prices = new double[Math.max(1, capacity)];
+    }
+
+    void add(double price) {
+        prices[next] = price;
+        next = (next + 1) % prices.length;
+        if (size < prices.length) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param index position in the window, 0 being the oldest price
+     * @return the price at that position
+     */
+    double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of window of " + size + " prices");
+        }
+        return prices[(next - size + index + prices.length) % prices.length];
+    }
+}
@@ -2,8 +2,7 @@ package com.lisacbot.domain.strategy;
 
 import com.lisacbot.domain.model.Signal;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Map;
 
 /**
  * Simple Moving Average (SMA) crossover strategy.
@@ -11,30 +10,28 @@ import java.util.Queue;
  * - SELL when price crosses below the moving average
  */
 public class SimpleMovingAverageStrategy implements TradingStrategy {
-    private final Queue<Double> priceHistory = new LinkedList<>();
+    private final PriceWindow priceHistory;
     private final int period;
     private Double lastAverage = null;
 
     public SimpleMovingAverageStrategy(int period) {
         this.period = period;
+        this.priceHistory = new PriceWindow(period);
     }
 
     @Override
     public Signal analyze(double currentPrice) {
         priceHistory.add(currentPrice);
 
-        if (priceHistory.size() > period) {
-            priceHistory.poll();
-        }
-
         if (priceHistory.size() < period) {
             return Signal.HOLD;
         }
 
-        double average = priceHistory.stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(currentPrice);
+        double sum = 0.0;
+        for (int i = 0; i < priceHistory.size(); i++) {
+            sum += priceHistory.get(i);
+        }
+        double average = sum / priceHistory.size();
 
         Signal signal = Signal.HOLD;
 
@@ -50,6 +47,11 @@ public class SimpleMovingAverageStrategy implements TradingStrategy {
         return signal;
     }
 
+    @Override
+    public Map<String, Double> getIndicators() {
+        return lastAverage != null ? Map.of("sma", lastAverage) : Map.of();
+    }
+
     public int getPeriod() {
         return period;
     }
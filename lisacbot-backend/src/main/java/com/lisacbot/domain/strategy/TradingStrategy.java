@@ -2,6 +2,8 @@ package com.lisacbot.domain.strategy;
 
 import com.lisacbot.domain.model.Signal;
 
+import java.util.Map;
+
 /**
  * Interface for trading strategies.
  * Implementations contain the business logic for analyzing prices and generating trading signals.
@@ -14,4 +16,35 @@ public interface TradingStrategy {
      * @return trading signal (BUY, SELL, or HOLD)
      */
     Signal analyze(double currentPrice);
+
+    /**
+     * Feeds a past price to build up indicator state, without anyone acting on the resulting signal.
+     * Used to warm up a new strategy instance on recent prices before it goes live.
+     *
+     * @param price past price, oldest first
+     */
+    default void warmUp(double price) {
+        analyze(price);
+    }
+
+    /**
+     * Feeds a series of past prices, oldest first; see {@link #warmUp(double)}.
+     * Implementations may skip work only needed for the signal of each price.
+     *
+     * @param prices past prices, oldest first
+     */
+    default void warmUp(double[] prices) {
+        for (double price : prices) {
+            warmUp(price);
+        }
+    }
+
+    /**
+     * Current indicator values, for display. Empty until the strategy has enough data.
+     *
+     * @return indicator name to value
+     */
+    default Map<String, Double> getIndicators() {
+        return Map.of();
+    }
 }
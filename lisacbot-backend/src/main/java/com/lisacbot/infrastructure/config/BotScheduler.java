@@ -1,32 +1,90 @@
 package com.lisacbot.infrastructure.config;
 
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.port.PriceProvider;
+import com.lisacbot.domain.service.BotManager;
+import com.lisacbot.domain.service.TickStreamPublisher;
+import com.lisacbot.domain.service.TradingCycleScope;
 import com.lisacbot.domain.service.TradingService;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Scheduler for executing trading cycles with dynamic interval configuration.
+ * Each tick fetches the price once and feeds it to the main bot and to every bot hosted by the BotManager.
+ *
+ * In virtual execution mode, the main bot and every hosted bot run on their own virtual thread
+ * within a {@link TradingCycleScope}, so blocking persistence and notification I/O no longer serializes the bots.
+ *
+ * Ticks are planned on a fixed grid and each one schedules the next when it finishes, so a slow cycle is handled
+ * by an explicit {@link OverrunPolicy} instead of letting ticks pile up. Timings are recorded in {@link SchedulerMetrics}.
  */
 @Component
 public class BotScheduler {
+    private static final Logger log = LoggerFactory.getLogger(BotScheduler.class);
+
+    /**
+     * What to do when a cycle is still running at the time the next tick was due.
+     */
+    public enum OverrunPolicy {
+        /** Plain fixed-rate scheduling, without overrun handling */
+        NONE,
+        /** Drop the missed ticks and wait for the next slot on the grid */
+        SKIP,
+        /** Run one catch-up tick immediately for all missed ticks, then resume the grid */
+        COALESCE,
+        /** Shift the grid: the next tick runs one full interval after the slow cycle finished */
+        DELAY
+    }
 
     private final TradingService tradingService;
+    private final BotManager botManager;
+    private final PriceProvider priceProvider;
     private final TaskScheduler taskScheduler;
+    private final SchedulerMetrics schedulerMetrics;
+    private final TickStreamPublisher tickStreamPublisher;
 
     @Value("${bot.poll.interval.seconds}")
     private int defaultPollIntervalSeconds;
 
+    @Value("${bot.execution.mode:platform}")
+    private String executionMode;
+
+    @Value("${bot.execution.deadline.seconds:20}")
+    private int deadlineSeconds;
+
+    @Value("${bot.scheduler.overrun.policy:skip}")
+    private String overrunPolicyName;
+
+    @Value("${bot.scheduler.jitter.ms:0}")
+    private long jitterMs;
+
+    private final AtomicBoolean mainCycleInProgress = new AtomicBoolean();
+    private OverrunPolicy overrunPolicy;
     private int currentPollIntervalSeconds;
     private ScheduledFuture<?> scheduledTask;
+    private long scheduleGeneration; // Incremented on reschedule so stale ticks stop chaining
 
-    public BotScheduler(TradingService tradingService) {
+    public BotScheduler(TradingService tradingService, BotManager botManager, PriceProvider priceProvider,
+                        SchedulerMetrics schedulerMetrics, TickStreamPublisher tickStreamPublisher) {
         this.tradingService = tradingService;
+        this.botManager = botManager;
+        this.priceProvider = priceProvider;
+        this.schedulerMetrics = schedulerMetrics;
+        this.tickStreamPublisher = tickStreamPublisher;
 
         // Create a task scheduler
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
@@ -40,6 +98,9 @@ public class BotScheduler {
     public void initialize() {
         // Start with the default interval from configuration
         this.currentPollIntervalSeconds = defaultPollIntervalSeconds;
+        this.overrunPolicy = OverrunPolicy.valueOf(overrunPolicyName.trim().toUpperCase());
+        log.info("Trading cycle execution mode: {}, overrun policy: {}, jitter: {} ms",
+                isVirtualMode() ? "virtual threads" : "platform workers", overrunPolicy, jitterMs);
         scheduleTask(currentPollIntervalSeconds);
     }
 
@@ -69,15 +130,206 @@ public class BotScheduler {
         return currentPollIntervalSeconds;
     }
 
-    private void scheduleTask(int intervalSeconds) {
+    private synchronized void scheduleTask(int intervalSeconds) {
         Duration period = Duration.ofSeconds(intervalSeconds);
-        scheduledTask = taskScheduler.scheduleAtFixedRate(
-            this::executeTradingCycle,
-            period
-        );
+        long generation = ++scheduleGeneration;
+        schedulerMetrics.configure(overrunPolicy.name(), intervalSeconds, jitterMs);
+        Instant anchor = Instant.now();
+
+        if (overrunPolicy == OverrunPolicy.NONE) {
+            // Fixed rate keeps the grid by construction (drift 0); late runs only show up as lag
+            AtomicLong runs = new AtomicLong();
+            scheduledTask = taskScheduler.scheduleAtFixedRate(() -> {
+                Instant planned = anchor.plus(period.multipliedBy(runs.getAndIncrement()));
+                schedulerMetrics.recordLag(Math.max(0, Duration.between(planned, Instant.now()).toMillis()));
+                schedulerMetrics.recordDrift(0);
+                executeTimedTradingCycle();
+            }, period);
+        } else {
+            scheduleSlot(generation, new Slot(anchor.plus(period), 1), anchor);
+        }
+    }
+
+    /**
+     * A planned tick: its time before jitter, and how many intervals of the original grid it stands for.
+     * A tick on the original grid is planned at {@code anchor + gridIndex * interval}.
+     */
+    record Slot(Instant time, long gridIndex) {
+    }
+
+    /**
+     * Decision taken when a cycle finishes: the next slot, and the missed ticks and overrun if the cycle overran.
+     */
+    record NextSlot(Slot slot, long missedTicks, long overrunMs) {
+    }
+
+    /**
+     * Plans the slot following one whose cycle finished at the given time.
+     *
+     * SKIP and COALESCE stay on the original grid; DELAY moves the grid by the overrun, which shows up as drift.
+     *
+     * @param policy the overrun policy (not NONE)
+     * @param slot the slot that just ran
+     * @param period the poll interval
+     * @param finishedAt when its cycle finished
+     * @return the next slot
+     */
+    static NextSlot planNextSlot(OverrunPolicy policy, Slot slot, Duration period, Instant finishedAt) {
+        Instant next = slot.time().plus(period);
+        if (!finishedAt.isAfter(next)) {
+            return new NextSlot(new Slot(next, slot.gridIndex() + 1), 0, 0);
+        }
+
+        long overrunMs = Duration.between(next, finishedAt).toMillis();
+        long missedTicks = Duration.between(next, finishedAt).toNanos() / period.toNanos() + 1;
+        Slot planned = switch (policy) {
+            // Wait for the first slot on the grid after the cycle finished
+            case SKIP -> new Slot(next.plus(period.multipliedBy(missedTicks)), slot.gridIndex() + 1 + missedTicks);
+            // The latest missed slot is already due, so it runs right away on behalf of all missed ticks
+            case COALESCE -> new Slot(next.plus(period.multipliedBy(missedTicks - 1)), slot.gridIndex() + missedTicks);
+            // One full interval after the slow cycle finished
+            default -> new Slot(finishedAt.plus(period), slot.gridIndex() + 1);
+        };
+        return new NextSlot(planned, missedTicks, overrunMs);
+    }
+
+    /**
+     * How far a slot has moved from the original grid.
+     */
+    static long driftMs(Instant anchor, Slot slot, Duration period) {
+        return Duration.between(anchor.plus(period.multipliedBy(slot.gridIndex())), slot.time()).toMillis();
+    }
+
+    /**
+     * Schedules a one-shot tick for a grid slot, with optional random jitter.
+     * Does nothing if the schedule was replaced since the slot was computed.
+     */
+    private synchronized void scheduleSlot(long generation, Slot slot, Instant anchor) {
+        if (generation != scheduleGeneration) {
+            return;
+        }
+        Instant planned = jitterMs > 0
+                ? slot.time().plusMillis(ThreadLocalRandom.current().nextLong(jitterMs + 1))
+                : slot.time();
+        scheduledTask = taskScheduler.schedule(() -> runSlot(generation, slot, anchor, planned), planned);
+    }
+
+    private void runSlot(long generation, Slot slot, Instant anchor, Instant planned) {
+        schedulerMetrics.recordLag(Math.max(0, Duration.between(planned, Instant.now()).toMillis()));
+        schedulerMetrics.recordDrift(driftMs(anchor, slot, Duration.ofSeconds(currentPollIntervalSeconds)));
+        try {
+            executeTimedTradingCycle();
+        } finally {
+            scheduleNextSlot(generation, slot, anchor, Instant.now());
+        }
+    }
+
+    private synchronized void scheduleNextSlot(long generation, Slot slot, Instant anchor, Instant finishedAt) {
+        if (generation != scheduleGeneration) {
+            return;
+        }
+        NextSlot next = planNextSlot(overrunPolicy, slot, Duration.ofSeconds(currentPollIntervalSeconds), finishedAt);
+        if (next.missedTicks() > 0) {
+            schedulerMetrics.recordOverrun(next.overrunMs());
+            log.warn("Trading cycle overran its interval by {} ms ({} tick(s) missed, policy {})",
+                    next.overrunMs(), next.missedTicks(), overrunPolicy);
+            switch (overrunPolicy) {
+                case SKIP -> schedulerMetrics.recordSkipped(next.missedTicks());
+                case COALESCE -> schedulerMetrics.recordCoalesced(next.missedTicks() - 1);
+                default -> schedulerMetrics.recordDelayed();
+            }
+        }
+        scheduleSlot(generation, next.slot(), anchor);
+    }
+
+    private void executeTimedTradingCycle() {
+        long start = System.nanoTime();
+        try {
+            executeTradingCycle();
+        } finally {
+            schedulerMetrics.recordExecution(Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
     }
 
     private void executeTradingCycle() {
-        tradingService.executeTradingCycle();
+        if (!tradingService.isRunning() && !botManager.hasRunningBots()) {
+            log.debug("Trading cycle skipped - no bot is running");
+            publishIdleTick();
+            return;
+        }
+
+        Price price;
+        try {
+            price = priceProvider.getCurrentPrice();
+        } catch (Exception e) {
+            log.error("Error fetching price for trading cycle: {}", e.getMessage());
+            return;
+        }
+
+        tradingService.recordPriceTick(price);
+        MarketCycle cycle = tradingService.getCurrentMarketCycle();
+
+        if (isVirtualMode()) {
+            executeOnVirtualThreads(price, cycle);
+        } else {
+            tradingService.executeLiveTradingCycle(price);
+            botManager.executeTradingCycle(price, cycle);
+        }
+
+        // Push the post-cycle snapshot to dashboards subscribed to the tick stream
+        tickStreamPublisher.publish(tradingService.getPriceTick());
+    }
+
+    /**
+     * Keeps subscribed dashboards current while every bot is stopped: the price is fetched only if someone
+     * is listening, and it is not fed to the strategy or the market cycle.
+     */
+    private void publishIdleTick() {
+        if (!tickStreamPublisher.hasSubscribers()) {
+            return;
+        }
+        try {
+            tradingService.recordIdlePrice(priceProvider.getCurrentPrice());
+        } catch (Exception e) {
+            log.debug("Error fetching price for idle tick: {}", e.getMessage());
+        }
+        tickStreamPublisher.publish(tradingService.getPriceTick());
+    }
+
+    private void executeOnVirtualThreads(Price price, MarketCycle cycle) {
+        long start = System.nanoTime();
+        try (TradingCycleScope scope = new TradingCycleScope("bot-cycle-")) {
+            if (tradingService.isRunning()) {
+                if (mainCycleInProgress.compareAndSet(false, true)) {
+                    scope.fork(() -> {
+                        try {
+                            if (!scope.isCancelled()) {
+                                tradingService.executeLiveTradingCycle(price);
+                            }
+                        } finally {
+                            mainCycleInProgress.set(false);
+                        }
+                    });
+                } else {
+                    log.warn("Main bot skipped this tick - previous cycle still running");
+                }
+            }
+            botManager.forkTradingCycles(scope, price, cycle);
+
+            int overdue = scope.joinUntil(Instant.now().plusSeconds(deadlineSeconds));
+            if (overdue > 0) {
+                log.warn("{} of {} bot cycles exceeded the {}s deadline and were abandoned",
+                        overdue, scope.getTaskCount(), deadlineSeconds);
+            }
+            log.debug("Virtual-thread cycle for {} bots completed in {} ms",
+                    scope.getTaskCount(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Trading cycle interrupted");
+        }
+    }
+
+    private boolean isVirtualMode() {
+        return "virtual".equalsIgnoreCase(executionMode);
     }
 }
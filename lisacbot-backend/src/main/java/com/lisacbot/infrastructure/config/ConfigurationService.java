@@ -4,9 +4,13 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Service for managing runtime configuration parameters.
  * Allows dynamic updates to strategy parameters without restarting the application.
+ * The parameters are one immutable, versioned {@link StrategyParameters} snapshot published through an atomic
+ * reference, so reading them is lock-free and always consistent.
  */
 @Service
 public class ConfigurationService {
@@ -42,76 +46,84 @@ public class ConfigurationService {
     @Value("${bot.strategy.composite.sell.threshold:-0.5}")
     private double defaultCompositeSellThreshold;
 
-    // Runtime configuration values (can be updated)
-    private int smaPeriod;
-    private int emaPeriod;
-    private int rsiPeriod;
-    private int rsiOversold;
-    private int rsiOverbought;
-    private int macdFastPeriod;
-    private int macdSlowPeriod;
-    private int macdSignalPeriod;
-    private double compositeBuyThreshold;
-    private double compositeSellThreshold;
+    // Runtime configuration, replaced as a whole on update
+    private final AtomicReference<StrategyParameters> parameters = new AtomicReference<>();
 
     @PostConstruct
     public void initialize() {
         // Initialize runtime values with defaults from application.properties
-        this.smaPeriod = defaultSmaPeriod;
-        this.emaPeriod = defaultEmaPeriod;
-        this.rsiPeriod = defaultRsiPeriod;
-        this.rsiOversold = defaultRsiOversold;
-        this.rsiOverbought = defaultRsiOverbought;
-        this.macdFastPeriod = defaultMacdFastPeriod;
-        this.macdSlowPeriod = defaultMacdSlowPeriod;
-        this.macdSignalPeriod = defaultMacdSignalPeriod;
-        this.compositeBuyThreshold = defaultCompositeBuyThreshold;
-        this.compositeSellThreshold = defaultCompositeSellThreshold;
+        parameters.set(new StrategyParameters(
+                1,
+                defaultSmaPeriod,
+                defaultEmaPeriod,
+                defaultRsiPeriod,
+                defaultRsiOversold,
+                defaultRsiOverbought,
+                defaultMacdFastPeriod,
+                defaultMacdSlowPeriod,
+                defaultMacdSignalPeriod,
+                defaultCompositeBuyThreshold,
+                defaultCompositeSellThreshold
+        ));
+    }
+
+    /**
+     * Current parameters. Callers reading several of them should take one snapshot rather than call the
+     * individual getters, which may each see a different update.
+     *
+     * @return a consistent, immutable snapshot
+     */
+    public StrategyParameters getParameters() {
+        return parameters.get();
     }
 
     // Getters
     public int getSmaPeriod() {
-        return smaPeriod;
+        return parameters.get().smaPeriod();
     }
 
     public int getEmaPeriod() {
-        return emaPeriod;
+        return parameters.get().emaPeriod();
     }
 
     public int getRsiPeriod() {
-        return rsiPeriod;
+        return parameters.get().rsiPeriod();
     }
 
     public int getRsiOversold() {
-        return rsiOversold;
+        return parameters.get().rsiOversold();
     }
 
     public int getRsiOverbought() {
-        return rsiOverbought;
+        return parameters.get().rsiOverbought();
     }
 
     public int getMacdFastPeriod() {
-        return macdFastPeriod;
+        return parameters.get().macdFastPeriod();
     }
 
     public int getMacdSlowPeriod() {
-        return macdSlowPeriod;
+        return parameters.get().macdSlowPeriod();
     }
 
     public int getMacdSignalPeriod() {
-        return macdSignalPeriod;
+        return parameters.get().macdSignalPeriod();
     }
 
     public double getCompositeBuyThreshold() {
-        return compositeBuyThreshold;
+        return parameters.get().compositeBuyThreshold();
     }
 
     public double getCompositeSellThreshold() {
-        return compositeSellThreshold;
+        return parameters.get().compositeSellThreshold();
     }
 
-    // Setters for runtime updates
-    public synchronized void updateConfiguration(
+    /**
+     * Replace all parameters at once; readers see either the previous or the new snapshot, never a mix.
+     *
+     * @return the new snapshot, with the next version number
+     */
+    public StrategyParameters updateConfiguration(
             int smaPeriod,
             int emaPeriod,
             int rsiPeriod,
@@ -123,15 +135,18 @@ public class ConfigurationService {
             double compositeBuyThreshold,
             double compositeSellThreshold
     ) {
-        this.smaPeriod = smaPeriod;
-        this.emaPeriod = emaPeriod;
-        this.rsiPeriod = rsiPeriod;
-        this.rsiOversold = rsiOversold;
-        this.rsiOverbought = rsiOverbought;
-        this.macdFastPeriod = macdFastPeriod;
-        this.macdSlowPeriod = macdSlowPeriod;
-        this.macdSignalPeriod = macdSignalPeriod;
-        this.compositeBuyThreshold = compositeBuyThreshold;
-        this.compositeSellThreshold = compositeSellThreshold;
+        return parameters.updateAndGet(previous -> new StrategyParameters(
+                previous.version() + 1,
+                smaPeriod,
+                emaPeriod,
+                rsiPeriod,
+                rsiOversold,
+                rsiOverbought,
+                macdFastPeriod,
+                macdSlowPeriod,
+                macdSignalPeriod,
+                compositeBuyThreshold,
+                compositeSellThreshold
+        ));
     }
 }
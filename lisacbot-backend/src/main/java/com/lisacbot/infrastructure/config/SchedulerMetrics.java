@@ -0,0 +1,132 @@
+package com.lisacbot.infrastructure.config;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Timing statistics of the trading cycle scheduler, used to size poll intervals from data.
+ *
+ * Lag is how late a tick started compared to its planned time, drift is how far its planned time has moved from
+ * the original fixed-rate grid, execution time is how long the cycle ran, and an overrun is a cycle that finished
+ * after the next tick was due. Lag and drift are recorded on every tick, whatever the overrun policy.
+ */
+@Component
+public class SchedulerMetrics {
+
+    public record Snapshot(
+            String overrunPolicy,
+            int intervalSeconds,
+            long jitterMs,
+            long ticks,
+            long overruns,
+            long skippedTicks,
+            long coalescedTicks,
+            long delayedTicks,
+            long lastLagMs,
+            long maxLagMs,
+            double avgLagMs,
+            long lastExecutionMs,
+            long maxExecutionMs,
+            double avgExecutionMs,
+            long lastOverrunMs,
+            long maxOverrunMs,
+            long lastDriftMs,
+            long maxDriftMs
+    ) {
+    }
+
+    private String overrunPolicy = "";
+    private int intervalSeconds;
+    private long jitterMs;
+
+    private long ticks;
+    private long overruns;
+    private long skippedTicks;
+    private long coalescedTicks;
+    private long delayedTicks;
+
+    private long lagSamples;
+    private long lastLagMs;
+    private long maxLagMs;
+    private long totalLagMs;
+
+    private long lastExecutionMs;
+    private long maxExecutionMs;
+    private long totalExecutionMs;
+
+    private long lastOverrunMs;
+    private long maxOverrunMs;
+
+    private long lastDriftMs;
+    private long maxDriftMs;
+
+    synchronized void configure(String overrunPolicy, int intervalSeconds, long jitterMs) {
+        this.overrunPolicy = overrunPolicy;
+        this.intervalSeconds = intervalSeconds;
+        this.jitterMs = jitterMs;
+    }
+
+    synchronized void recordLag(long lagMs) {
+        lagSamples++;
+        lastLagMs = lagMs;
+        maxLagMs = Math.max(maxLagMs, lagMs);
+        totalLagMs += lagMs;
+    }
+
+    synchronized void recordDrift(long driftMs) {
+        lastDriftMs = driftMs;
+        maxDriftMs = Math.max(maxDriftMs, driftMs);
+    }
+
+    synchronized void recordExecution(long executionMs) {
+        ticks++;
+        lastExecutionMs = executionMs;
+        maxExecutionMs = Math.max(maxExecutionMs, executionMs);
+        totalExecutionMs += executionMs;
+    }
+
+    /**
+     * Records a cycle that finished after the next tick was due.
+     *
+     * @param overrunMs how long after the next planned tick the cycle finished
+     */
+    synchronized void recordOverrun(long overrunMs) {
+        overruns++;
+        lastOverrunMs = overrunMs;
+        maxOverrunMs = Math.max(maxOverrunMs, overrunMs);
+    }
+
+    synchronized void recordSkipped(long count) {
+        skippedTicks += count;
+    }
+
+    synchronized void recordCoalesced(long count) {
+        coalescedTicks += count;
+    }
+
+    synchronized void recordDelayed() {
+        delayedTicks++;
+    }
+
+    public synchronized Snapshot getSnapshot() {
+        return new Snapshot(
+                overrunPolicy,
+                intervalSeconds,
+                jitterMs,
+                ticks,
+                overruns,
+                skippedTicks,
+                coalescedTicks,
+                delayedTicks,
+                lastLagMs,
+                maxLagMs,
+                lagSamples > 0 ? (double) totalLagMs / lagSamples : 0.0,
+                lastExecutionMs,
+                maxExecutionMs,
+                ticks > 0 ? (double) totalExecutionMs / ticks : 0.0,
+                lastOverrunMs,
+                maxOverrunMs,
+                lastDriftMs,
+                maxDriftMs
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.lisacbot.infrastructure.config;
+
+import com.lisacbot.infrastructure.persistence.SchemaMigrator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the SQL schema migrations at startup, before the JPA EntityManagerFactory
+ * (and therefore Hibernate schema validation and every repository) is created.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bot.persistence.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    public SchemaMigrator schemaMigrator(DataSource dataSource) {
+        return new SchemaMigrator(dataSource);
+    }
+
+    @Configuration
+    static class EntityManagerFactoryDependsOnMigrations extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnMigrations() {
+            super("schemaMigrator");
+        }
+    }
+}
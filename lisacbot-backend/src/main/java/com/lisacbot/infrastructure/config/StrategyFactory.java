@@ -0,0 +1,110 @@
+package com.lisacbot.infrastructure.config;
+
+import com.lisacbot.domain.strategy.CompositeStrategy;
+import com.lisacbot.domain.strategy.EmaRsiStrategy;
+import com.lisacbot.domain.strategy.MacdStrategy;
+import com.lisacbot.domain.strategy.SimpleMovingAverageStrategy;
+import com.lisacbot.domain.strategy.TradingStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates new strategy instances from the current runtime configuration parameters.
+ */
+@Component
+public class StrategyFactory {
+
+    private final ConfigurationService configurationService;
+
+    // Composite strategy configuration (still from properties as these define the strategy structure)
+    @Value("${bot.strategy.composite.strategies:}")
+    private String compositeStrategies;
+
+    @Value("${bot.strategy.composite.weights:}")
+    private String compositeWeights;
+
+    public StrategyFactory(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Creates a new, independent strategy instance.
+     *
+     * @param strategyType sma, ema-rsi, macd or composite (case-insensitive)
+     * @return the new strategy
+     * @throws IllegalArgumentException if the type is unknown
+     */
+    public TradingStrategy createStrategy(String strategyType) {
+        return createStrategy(strategyType, configurationService.getParameters());
+    }
+
+    /**
+     * Creates a new, independent strategy instance from a given parameters snapshot.
+     *
+     * @param strategyType sma, ema-rsi, macd or composite (case-insensitive)
+     * @param parameters the parameters to build it with
+     * @return the new strategy
+     * @throws IllegalArgumentException if the type is unknown
+     */
+    public TradingStrategy createStrategy(String strategyType, StrategyParameters parameters) {
+        return switch (strategyType.toLowerCase()) {
+            case "sma" -> new SimpleMovingAverageStrategy(parameters.smaPeriod());
+            case "ema-rsi" -> new EmaRsiStrategy(
+                    parameters.emaPeriod(),
+                    parameters.rsiPeriod(),
+                    parameters.rsiOversold(),
+                    parameters.rsiOverbought()
+            );
+            case "macd" -> new MacdStrategy(
+                    parameters.macdFastPeriod(),
+                    parameters.macdSlowPeriod(),
+                    parameters.macdSignalPeriod()
+            );
+            case "composite" -> createCompositeStrategy(parameters);
+            default -> throw new IllegalArgumentException(
+                    "Unknown strategy type: " + strategyType +
+                    ". Supported types: sma, ema-rsi, macd, composite"
+            );
+        };
+    }
+
+    private TradingStrategy createCompositeStrategy(StrategyParameters parameters) {
+        String[] strategyNames = compositeStrategies.split(",");
+        String[] weightStrings = compositeWeights.split(",");
+
+        if (strategyNames.length != weightStrings.length) {
+            throw new IllegalArgumentException(
+                    "Number of strategies (" + strategyNames.length +
+                    ") must match number of weights (" + weightStrings.length + ")"
+            );
+        }
+
+        List<CompositeStrategy.WeightedStrategy> weightedStrategies = new ArrayList<>();
+        for (int i = 0; i < strategyNames.length; i++) {
+            String strategyName = strategyNames[i].trim();
+            double weight = Double.parseDouble(weightStrings[i].trim());
+
+            TradingStrategy strategy = createStrategyByName(strategyName, parameters);
+            weightedStrategies.add(new CompositeStrategy.WeightedStrategy(strategy, weight, strategyName.toUpperCase()));
+        }
+
+        return new CompositeStrategy(
+                weightedStrategies,
+                parameters.compositeBuyThreshold(),
+                parameters.compositeSellThreshold()
+        );
+    }
+
+    private TradingStrategy createStrategyByName(String name, StrategyParameters parameters) {
+        return switch (name.toLowerCase()) {
+            case "sma", "ema-rsi", "macd" -> createStrategy(name, parameters);
+            default -> throw new IllegalArgumentException(
+                    "Unknown strategy name in composite: " + name +
+                    ". Supported: sma, ema-rsi, macd"
+            );
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.lisacbot.infrastructure.config;
+
+/**
+ * Immutable snapshot of the runtime strategy parameters.
+ *
+ * @param version incremented on every update, so anything derived from the parameters can be keyed on it
+ */
+public record StrategyParameters(
+        long version,
+        int smaPeriod,
+        int emaPeriod,
+        int rsiPeriod,
+        int rsiOversold,
+        int rsiOverbought,
+        int macdFastPeriod,
+        int macdSlowPeriod,
+        int macdSignalPeriod,
+        double compositeBuyThreshold,
+        double compositeSellThreshold
+) {
+}
@@ -0,0 +1,111 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.BotTrade;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for persisting the trades of hosted bot instances.
+ */
+@Entity
+@Table(name = "bot_trades", indexes = {
+        @Index(name = "idx_bot_trades_bot_id_timestamp", columnList = "bot_id, timestamp")
+})
+public class BotTradeEntity {
+
+    // Pooled sequence, so the batch inserts of a tick stay batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bot_trades_seq")
+    @SequenceGenerator(name = "bot_trades_seq", sequenceName = "bot_trades_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "bot_id", nullable = false)
+    private long botId;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Signal type;
+
+    @Column(nullable = false)
+    private double price;
+
+    @Column(nullable = false)
+    private double quantity;
+
+    @Column(nullable = false)
+    private double balanceBefore;
+
+    @Column(nullable = false)
+    private double balanceAfter;
+
+    @Column
+    private Double profitLossPercentage;
+
+    @Column(nullable = false, length = 50)
+    private String strategy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MarketCycle marketCycle;
+
+    @Column(length = 100)
+    private String reason;
+
+    // Default constructor for JPA
+    protected BotTradeEntity() {
+    }
+
+    /**
+     * Creates a JPA entity from a domain model.
+     */
+    public static BotTradeEntity fromDomain(BotTrade botTrade) {
+        Trade trade = botTrade.trade();
+        BotTradeEntity entity = new BotTradeEntity();
+        entity.botId = botTrade.botId();
+        entity.timestamp = trade.getTimestamp();
+        entity.type = trade.getType();
+        entity.price = trade.getPrice();
+        entity.quantity = trade.getQuantity();
+        entity.balanceBefore = trade.getBalanceBefore();
+        entity.balanceAfter = trade.getBalanceAfter();
+        entity.profitLossPercentage = trade.getProfitLossPercentage();
+        entity.strategy = trade.getStrategy();
+        entity.marketCycle = trade.getMarketCycle();
+        entity.reason = trade.getReason();
+        return entity;
+    }
+
+    /**
+     * Converts this JPA entity to a domain model.
+     */
+    public Trade toDomain() {
+        return new Trade(
+                id,
+                timestamp,
+                type,
+                price,
+                quantity,
+                balanceBefore,
+                balanceAfter,
+                profitLossPercentage,
+                strategy,
+                marketCycle,
+                reason
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getBotId() {
+        return botId;
+    }
+}
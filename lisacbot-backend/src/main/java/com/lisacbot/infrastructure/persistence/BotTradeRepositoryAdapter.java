@@ -0,0 +1,43 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.BotTrade;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.port.BotTradeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adapter that bridges the domain BotTradeRepository port with JPA implementation.
+ */
+@Component
+public class BotTradeRepositoryAdapter implements BotTradeRepository {
+
+    private final JpaBotTradeRepository jpaRepository;
+
+    public BotTradeRepositoryAdapter(JpaBotTradeRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public void saveAll(List<BotTrade> trades) {
+        jpaRepository.saveAll(trades.stream()
+                .map(BotTradeEntity::fromDomain)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Trade> findRecentByBotId(long botId, int limit) {
+        return jpaRepository.findByBotIdOrderByTimestampDescIdDesc(botId, PageRequest.of(0, limit))
+                .stream()
+                .map(BotTradeEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long findMaxBotId() {
+        return jpaRepository.findMaxBotId();
+    }
+}
@@ -0,0 +1,19 @@
+package com.lisacbot.infrastructure.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for BotTradeEntity.
+ */
+@Repository
+public interface JpaBotTradeRepository extends JpaRepository<BotTradeEntity, Long> {
+    List<BotTradeEntity> findByBotIdOrderByTimestampDescIdDesc(long botId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.botId), 0) FROM BotTradeEntity t")
+    long findMaxBotId();
+}
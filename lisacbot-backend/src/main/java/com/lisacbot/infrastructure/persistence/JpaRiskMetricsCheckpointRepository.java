@@ -0,0 +1,11 @@
+package com.lisacbot.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for RiskMetricsCheckpointEntity.
+ */
+@Repository
+public interface JpaRiskMetricsCheckpointRepository extends JpaRepository<RiskMetricsCheckpointEntity, Integer> {
+}
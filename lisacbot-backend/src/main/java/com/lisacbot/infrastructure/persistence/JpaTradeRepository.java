@@ -1,10 +1,17 @@
 package com.lisacbot.infrastructure.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for TradeEntity.
@@ -13,4 +20,42 @@ import java.util.List;
 public interface JpaTradeRepository extends JpaRepository<TradeEntity, Long> {
     List<TradeEntity> findByTimestampBetweenOrderByTimestampDesc(LocalDateTime start, LocalDateTime end);
     List<TradeEntity> findAllByOrderByTimestampDesc();
+
+    // Keyset pagination: first page, then pages after a (timestamp, id) cursor
+    List<TradeEntity> findAllByOrderByTimestampDescIdDesc(Pageable pageable);
+
+    @Query("SELECT t FROM TradeEntity t WHERE t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id) " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<TradeEntity> findPageAfter(@Param("timestamp") LocalDateTime timestamp, @Param("id") long id, Pageable pageable);
+
+    // Server-side cursor; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TradeEntity t ORDER BY t.timestamp DESC, t.id DESC")
+    Stream<TradeEntity> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TradeEntity t WHERE t.id > :id ORDER BY t.id")
+    Stream<TradeEntity> streamAfterId(@Param("id") long id);
+
+    /**
+     * Per-strategy statistics in one pass. Columns: strategy, total, buys, sells with P/L, profitable, losing,
+     * P/L sum, best P/L, worst P/L, volume.
+     */
+    @Query("SELECT t.strategy, COUNT(t), " +
+            "SUM(CASE WHEN t.type = com.lisacbot.domain.model.Signal.BUY THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.type = com.lisacbot.domain.model.Signal.SELL AND t.profitLossPercentage IS NOT NULL THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.type = com.lisacbot.domain.model.Signal.SELL AND t.profitLossPercentage > 0 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.type = com.lisacbot.domain.model.Signal.SELL AND t.profitLossPercentage < 0 THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN t.type = com.lisacbot.domain.model.Signal.SELL THEN t.profitLossPercentage END), 0), " +
+            "COALESCE(MAX(CASE WHEN t.type = com.lisacbot.domain.model.Signal.SELL THEN t.profitLossPercentage END), 0), " +
+            "COALESCE(MIN(CASE WHEN t.type = com.lisacbot.domain.model.Signal.SELL THEN t.profitLossPercentage END), 0), " +
+            "COALESCE(SUM(t.price * t.quantity), 0) " +
+            "FROM TradeEntity t GROUP BY t.strategy")
+    List<Object[]> aggregateByStrategy();
 }
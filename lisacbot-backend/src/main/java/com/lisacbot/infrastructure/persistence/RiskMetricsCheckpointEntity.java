@@ -0,0 +1,40 @@
+package com.lisacbot.infrastructure.persistence;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA entity for the risk analytics checkpoint: a single row holding the analyzer state as JSON.
+ */
+@Entity
+@Table(name = "risk_metrics_checkpoint")
+public class RiskMetricsCheckpointEntity {
+
+    static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long lastTradeId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String state;
+
+    // Default constructor for JPA
+    protected RiskMetricsCheckpointEntity() {
+    }
+
+    public RiskMetricsCheckpointEntity(long lastTradeId, String state) {
+        this.id = SINGLETON_ID;
+        this.lastTradeId = lastTradeId;
+        this.state = state;
+    }
+
+    public long getLastTradeId() {
+        return lastTradeId;
+    }
+
+    public String getState() {
+        return state;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lisacbot.infrastructure.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies versioned SQL migrations from {@code db/migration} ({@code V<version>__<description>.sql}).
+ *
+ * Applied versions are recorded with a checksum in {@code schema_migrations}; each pending migration runs
+ * in its own transaction (PostgreSQL DDL is transactional). Editing a migration after it was applied
+ * fails startup, since the schema would no longer match its history.
+ * Scripts are split on semicolons, so they cannot contain dollar-quoted function bodies.
+ */
+public class SchemaMigrator {
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    static final String LOCATION = "classpath:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /**
+     * A migration script with its parsed version.
+     */
+    record Migration(int version, String description, Resource script, long checksum) {
+    }
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Applies all pending migrations in version order.
+     *
+     * @throws IllegalStateException if a migration fails or an applied migration was modified
+     */
+    public void migrate() {
+        List<Migration> migrations;
+        try {
+            migrations = load(new PathMatchingResourcePatternResolver().getResources(LOCATION));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read schema migrations", e);
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                "version INTEGER PRIMARY KEY, " +
+                "description VARCHAR(200) NOT NULL, " +
+                "checksum BIGINT NOT NULL, " +
+                "applied_at TIMESTAMP NOT NULL DEFAULT now())");
+
+        Map<Integer, Long> applied = new HashMap<>();
+        jdbcTemplate.query("SELECT version, checksum FROM schema_migrations",
+                row -> { applied.put(row.getInt("version"), row.getLong("checksum")); });
+
+        int count = 0;
+        for (Migration migration : migrations) {
+            Long checksum = applied.get(migration.version());
+            if (checksum == null) {
+                apply(migration);
+                count++;
+            } else if (checksum != migration.checksum()) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description() +
+                        ") was modified after it was applied");
+            }
+        }
+        log.info("Schema is up to date ({} migrations, {} applied now)", migrations.size(), count);
+    }
+
+    private void apply(Migration migration) {
+        log.info("Applying migration V{}: {}", migration.version(), migration.description());
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.script(), StandardCharsets.UTF_8));
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO schema_migrations (version, description, checksum) VALUES (?, ?, ?)")) {
+                    insert.setInt(1, migration.version());
+                    insert.setString(2, migration.description());
+                    insert.setLong(3, migration.checksum());
+                    insert.executeUpdate();
+                }
+                connection.commit();
+            } catch (RuntimeException | SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (RuntimeException | SQLException e) {
+            throw new IllegalStateException("Migration V" + migration.version() + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses and orders migration scripts.
+     *
+     * @throws IllegalStateException on a malformed file name or a duplicate version
+     */
+    static List<Migration> load(Resource[] scripts) throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource script : scripts) {
+            Matcher matcher = FILE_NAME.matcher(script.getFilename() != null ? script.getFilename() : "");
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration file name: " + script.getFilename());
+            }
+            migrations.add(new Migration(
+                    Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '),
+                    script,
+                    checksum(script)
+            ));
+        }
+
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version: V" + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private static long checksum(Resource script) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = script.getInputStream()) {
+            crc.update(in.readAllBytes());
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,220 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, fsynced journal of trades accepted by the write-behind repository.
+ *
+ * Each frame is {@code [int length][payload][long crc32]}. A payload is either a trade with its sequence number
+ * and database ID, or a commit marker stating that every trade up to a sequence number is in the database.
+ * A trade journaled again under the same sequence number (to record an ID assigned later) replaces the earlier one.
+ * On recovery, a torn or corrupt tail (crash mid-append) is cut off at the last valid frame.
+ * Not thread-safe: callers serialize access.
+ */
+class TradeJournal implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TradeJournal.class);
+
+    private static final byte KIND_TRADE = 1; // Without ID, written by earlier versions
+    private static final byte KIND_COMMIT = 2;
+    private static final byte KIND_TRADE_WITH_ID = 3;
+    private static final int FRAME_OVERHEAD = Integer.BYTES + Long.BYTES;
+
+    /**
+     * A journaled trade with its sequence number.
+     */
+    record Entry(long sequence, Trade trade) {
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+
+    TradeJournal(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Reads the journal and returns the trades not yet covered by a commit marker, in sequence order.
+     * The channel is left positioned after the last valid frame.
+     */
+    List<Entry> recover() throws IOException {
+        NavigableMap<Long, Entry> entries = new TreeMap<>();
+        long committed = 0;
+        long position = 0;
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+
+        while (position + FRAME_OVERHEAD <= size) {
+            header.clear();
+            channel.read(header, position);
+            int length = header.flip().getInt();
+            if (length <= 0 || position + FRAME_OVERHEAD + length > size) {
+                break;
+            }
+
+            ByteBuffer frame = ByteBuffer.allocate(length + Long.BYTES);
+            channel.read(frame, position + Integer.BYTES);
+            frame.flip();
+            byte[] payload = new byte[length];
+            frame.get(payload);
+            if (crc(payload) != frame.getLong()) {
+                break;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte kind = in.readByte();
+            long sequence = in.readLong();
+            if (kind == KIND_TRADE || kind == KIND_TRADE_WITH_ID) {
+                Long id = kind == KIND_TRADE_WITH_ID && in.readBoolean() ? in.readLong() : null;
+                entries.put(sequence, new Entry(sequence, readTrade(in, id)));
+            } else if (kind == KIND_COMMIT) {
+                committed = Math.max(committed, sequence);
+            }
+            position += FRAME_OVERHEAD + length;
+        }
+
+        if (position < size) {
+            log.warn("Trade journal {} has a torn tail, truncating {} bytes", file, size - position);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        channel.position(position);
+
+        return new ArrayList<>(entries.tailMap(committed, false).values());
+    }
+
+    /**
+     * Appends a trade and forces it to disk.
+     */
+    void appendTrade(long sequence, Trade trade) throws IOException {
+        appendTrades(List.of(new Entry(sequence, trade)));
+    }
+
+    /**
+     * Appends several trades with a single fsync.
+     */
+    void appendTrades(List<Entry> entries) throws IOException {
+        for (Entry entry : entries) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(KIND_TRADE_WITH_ID);
+            out.writeLong(entry.sequence());
+            out.writeBoolean(entry.trade().getId() != null);
+            if (entry.trade().getId() != null) {
+                out.writeLong(entry.trade().getId());
+            }
+            writeTrade(out, entry.trade());
+            write(bytes.toByteArray());
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Records that every trade up to the given sequence number is stored in the database.
+     */
+    void appendCommit(long sequence) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(KIND_COMMIT);
+        out.writeLong(sequence);
+        write(bytes.toByteArray());
+        channel.force(false);
+    }
+
+    /**
+     * Empties the journal once every trade in it is stored in the database.
+     */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void write(byte[] payload) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_OVERHEAD + payload.length);
+        frame.putInt(payload.length).put(payload).putLong(crc(payload)).flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    private static long crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    private static void writeTrade(DataOutputStream out, Trade trade) throws IOException {
+        out.writeLong(trade.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(trade.getTimestamp().getNano());
+        out.writeUTF(trade.getType().name());
+        out.writeDouble(trade.getPrice());
+        out.writeDouble(trade.getQuantity());
+        out.writeDouble(trade.getBalanceBefore());
+        out.writeDouble(trade.getBalanceAfter());
+        out.writeBoolean(trade.getProfitLossPercentage() != null);
+        if (trade.getProfitLossPercentage() != null) {
+            out.writeDouble(trade.getProfitLossPercentage());
+        }
+        writeNullable(out, trade.getStrategy());
+        writeNullable(out, trade.getMarketCycle() != null ? trade.getMarketCycle().name() : null);
+        writeNullable(out, trade.getReason());
+    }
+
+    private static Trade readTrade(DataInputStream in, Long id) throws IOException {
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        Signal type = Signal.valueOf(in.readUTF());
+        double price = in.readDouble();
+        double quantity = in.readDouble();
+        double balanceBefore = in.readDouble();
+        double balanceAfter = in.readDouble();
+        Double profitLoss = in.readBoolean() ? in.readDouble() : null;
+        String strategy = readNullable(in);
+        String cycle = readNullable(in);
+        String reason = readNullable(in);
+        return new Trade(id, timestamp, type, price, quantity, balanceBefore, balanceAfter, profitLoss,
+                strategy, cycle != null ? MarketCycle.valueOf(cycle) : null, reason);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lisacbot.domain.model.RiskCheckpoint;
+import com.lisacbot.domain.model.RiskState;
+import com.lisacbot.domain.model.TradeMetricsCheckpoint;
+import com.lisacbot.domain.port.TradeMetricsCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Adapter that bridges the domain TradeMetricsCheckpointRepository port with JPA implementation.
+ */
+@Component
+public class TradeMetricsCheckpointAdapter implements TradeMetricsCheckpointRepository {
+    private static final Logger log = LoggerFactory.getLogger(TradeMetricsCheckpointAdapter.class);
+
+    private final JpaTradeMetricsCheckpointRepository jpaRepository;
+    private final JpaRiskMetricsCheckpointRepository riskRepository;
+    private final ObjectMapper objectMapper;
+
+    public TradeMetricsCheckpointAdapter(JpaTradeMetricsCheckpointRepository jpaRepository,
+                                         JpaRiskMetricsCheckpointRepository riskRepository,
+                                         ObjectMapper objectMapper) {
+        this.jpaRepository = jpaRepository;
+        this.riskRepository = riskRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<TradeMetricsCheckpoint> load() {
+        List<TradeMetricsCheckpointEntity> rows = jpaRepository.findAll();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new TradeMetricsCheckpoint(
+                rows.get(0).getLastTradeId(),
+                rows.stream().map(TradeMetricsCheckpointEntity::toDomain).collect(Collectors.toList())
+        ));
+    }
+
+    @Override
+    @Transactional
+    public void save(TradeMetricsCheckpoint checkpoint) {
+        jpaRepository.deleteAllInBatch();
+        jpaRepository.saveAll(checkpoint.strategies().stream()
+                .map(stats -> TradeMetricsCheckpointEntity.fromDomain(stats, checkpoint.lastTradeId()))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Optional<RiskCheckpoint> loadRisk() {
+        Optional<RiskMetricsCheckpointEntity> row = riskRepository.findById(RiskMetricsCheckpointEntity.SINGLETON_ID);
+        if (row.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            RiskState state = objectMapper.readValue(row.get().getState(), RiskState.class);
+            return Optional.of(new RiskCheckpoint(row.get().getLastTradeId(), state));
+        } catch (JsonProcessingException e) {
+            // An unreadable checkpoint only costs a full rebuild
+            log.warn("Ignoring unreadable risk checkpoint: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void saveRisk(RiskCheckpoint checkpoint) {
+        try {
+            riskRepository.save(new RiskMetricsCheckpointEntity(
+                    checkpoint.lastTradeId(), objectMapper.writeValueAsString(checkpoint.state())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize risk checkpoint", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.StrategyTradeStats;
+import jakarta.persistence.*;
+
+/**
+ * JPA entity for one strategy row of the trade metrics checkpoint (summary table).
+ */
+@Entity
+@Table(name = "trade_metrics_checkpoint")
+public class TradeMetricsCheckpointEntity {
+
+    @Id
+    @Column(length = 50)
+    private String strategy;
+
+    @Column(nullable = false)
+    private long lastTradeId;
+
+    @Column(nullable = false)
+    private long totalTrades;
+
+    @Column(nullable = false)
+    private long buyTrades;
+
+    @Column(nullable = false)
+    private long sellTrades;
+
+    @Column(nullable = false)
+    private long profitableTrades;
+
+    @Column(nullable = false)
+    private long losingTrades;
+
+    @Column(nullable = false)
+    private double totalProfitLoss;
+
+    @Column(nullable = false)
+    private double bestTrade;
+
+    @Column(nullable = false)
+    private double worstTrade;
+
+    @Column(nullable = false)
+    private double totalVolume;
+
+    // Default constructor for JPA
+    protected TradeMetricsCheckpointEntity() {
+    }
+
+    /**
+     * Creates a checkpoint row from a domain model.
+     */
+    public static TradeMetricsCheckpointEntity fromDomain(StrategyTradeStats stats, long lastTradeId) {
+        TradeMetricsCheckpointEntity entity = new TradeMetricsCheckpointEntity();
+        entity.strategy = stats.strategy();
+        entity.lastTradeId = lastTradeId;
+        entity.totalTrades = stats.totalTrades();
+        entity.buyTrades = stats.buyTrades();
+        entity.sellTrades = stats.sellTrades();
+        entity.profitableTrades = stats.profitableTrades();
+        entity.losingTrades = stats.losingTrades();
+        entity.totalProfitLoss = stats.totalProfitLoss();
+        entity.bestTrade = stats.bestTrade();
+        entity.worstTrade = stats.worstTrade();
+        entity.totalVolume = stats.totalVolume();
+        return entity;
+    }
+
+    /**
+     * Converts this JPA entity to a domain model.
+     */
+    public StrategyTradeStats toDomain() {
+        return new StrategyTradeStats(
+                strategy,
+                totalTrades,
+                buyTrades,
+                sellTrades,
+                profitableTrades,
+                losingTrades,
+                totalProfitLoss,
+                bestTrade,
+                worstTrade,
+                totalVolume
+        );
+    }
+
+    public long getLastTradeId() {
+        return lastTradeId;
+    }
+}
@@ -0,0 +1,154 @@
+package com.lisacbot.infrastructure.persistence;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maintains the monthly range partitions of the {@code trades} table.
+ *
+ * Partitions are created for the current month and a few months ahead, and rows sitting in the default
+ * partition (migrated history, or trades written before their month's partition existed) are moved into
+ * their monthly partition. With a retention period, older partitions are detached from {@code trades}:
+ * they stay in the database as plain tables, ready to be archived and dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "bot.persistence.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class TradePartitionMaintainer {
+    private static final Logger log = LoggerFactory.getLogger(TradePartitionMaintainer.class);
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'trades_y'uuuu'm'MM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss");
+    private static final String DEFAULT_PARTITION = "trades_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bot.persistence.partition.months.ahead:2}")
+    private int monthsAhead;
+
+    @Value("${bot.persistence.partition.retention.months:0}")
+    private int retentionMonths;
+
+    // SchemaMigrator is injected so partitions are only touched once the schema is migrated
+    public TradePartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    SchemaMigrator schemaMigrator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            maintainPartitions();
+        } catch (Exception e) {
+            log.error("Trade partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates upcoming partitions, moves rows out of the default partition and detaches expired partitions.
+     * Runs daily.
+     */
+    @Scheduled(cron = "${bot.persistence.partition.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            log.debug("Trades table is not partitioned, skipping partition maintenance");
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        Set<YearMonth> months = new TreeSet<>(monthsInDefaultPartition());
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        for (YearMonth month : months) {
+            ensurePartition(month);
+        }
+
+        if (retentionMonths > 0) {
+            detachPartitionsBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                        "WHERE c.relname = 'trades')", Boolean.class));
+    }
+
+    private List<YearMonth> monthsInDefaultPartition() {
+        return jdbcTemplate.query(
+                "SELECT DISTINCT date_trunc('month', timestamp) AS month FROM " + DEFAULT_PARTITION,
+                (row, index) -> YearMonth.from(row.getTimestamp("month").toLocalDateTime()));
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'trades'", String.class);
+    }
+
+    private void ensurePartition(YearMonth month) {
+        String name = month.format(PARTITION_NAME);
+        if (partitionNames().contains(name)) {
+            return;
+        }
+
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String create = "CREATE TABLE " + name + " PARTITION OF trades FOR VALUES FROM ('" + from.format(BOUND) +
+                "') TO ('" + to.format(BOUND) + "')";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean hasRows = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?)",
+                    Boolean.class, from, to);
+
+            if (Boolean.TRUE.equals(hasRows)) {
+                // A range partition cannot be created while the default partition holds rows in its range
+                jdbcTemplate.execute("ALTER TABLE trades DETACH PARTITION " + DEFAULT_PARTITION);
+                jdbcTemplate.execute(create);
+                int moved = jdbcTemplate.update("INSERT INTO trades SELECT * FROM " + DEFAULT_PARTITION +
+                        " WHERE timestamp >= ? AND timestamp < ?", from, to);
+                jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?", from, to);
+                jdbcTemplate.execute("ALTER TABLE trades ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+                log.info("Created trade partition {} and moved {} trades into it", name, moved);
+            } else {
+                jdbcTemplate.execute(create);
+                log.info("Created trade partition {}", name);
+            }
+        });
+    }
+
+    private void detachPartitionsBefore(YearMonth cutoff) {
+        for (String name : partitionNames()) {
+            YearMonth month;
+            try {
+                month = YearMonth.parse(name, PARTITION_NAME);
+            } catch (DateTimeParseException e) {
+                continue; // Default partition
+            }
+            if (month.isBefore(cutoff)) {
+                jdbcTemplate.execute("ALTER TABLE trades DETACH PARTITION " + name);
+                log.info("Detached trade partition {} (older than {} months), it can now be archived and dropped",
+                        name, retentionMonths);
+            }
+        }
+    }
+}
@@ -1,12 +1,27 @@
 package com.lisacbot.infrastructure.persistence;
 
+import com.lisacbot.domain.model.StrategyTradeStats;
 import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeCursor;
 import com.lisacbot.domain.port.TradeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adapter that bridges the domain TradeRepository port with JPA implementation.
@@ -14,10 +29,88 @@ import java.util.stream.Collectors;
 @Component
 public class TradeRepositoryAdapter implements TradeRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(TradeRepositoryAdapter.class);
+    private static final String INSERT_IGNORING_DUPLICATES = "INSERT INTO trades (id, timestamp, type, price, " +
+            "quantity, balance_before, balance_after, profit_loss_percentage, strategy, market_cycle, reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
     private final JpaTradeRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Block of pooled IDs handed out by allocateIds, guarded by this
+    private long nextPooledId;
+    private long pooledIdLimit = -1;
 
-    public TradeRepositoryAdapter(JpaTradeRepository jpaRepository) {
+    public TradeRepositoryAdapter(JpaTradeRepository jpaRepository, JdbcTemplate jdbcTemplate,
+                                  EntityManager entityManager, PlatformTransactionManager transactionManager) {
         this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Moves the ID sequence past the existing trade IDs, so rows written while IDs came
+     * from the former identity column never collide with pooled sequence values.
+     */
+    @PostConstruct
+    public void alignIdSequence() {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM trades", Long.class);
+            Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM trades_seq", Long.class);
+            long minimum = maxId + TradeEntity.ID_ALLOCATION_SIZE;
+            if (lastValue < minimum) {
+                jdbcTemplate.queryForObject("SELECT setval('trades_seq', ?)", Long.class, minimum);
+                log.info("Trade ID sequence moved to {} (highest existing ID: {})", minimum, maxId);
+            }
+        } catch (Exception e) {
+            log.warn("Could not align trade ID sequence: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reserves trade IDs from the pooled sequence, one round-trip per {@link TradeEntity#ID_ALLOCATION_SIZE} IDs.
+     * Like Hibernate's pooled optimizer, a block ends at the sequence value it was fetched with, so these IDs
+     * never collide with the ones Hibernate generates.
+     */
+    synchronized long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (nextPooledId > pooledIdLimit) {
+                long hi = jdbcTemplate.queryForObject("SELECT nextval('trades_seq')", Long.class);
+                nextPooledId = Math.max(1, hi - TradeEntity.ID_ALLOCATION_SIZE + 1);
+                pooledIdLimit = hi;
+            }
+            ids[i] = nextPooledId++;
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts trades that already carry their ID, as JDBC batch inserts.
+     * A trade already stored under the same ID is skipped, so writing the same trades again is harmless.
+     */
+    void insertAll(List<Trade> trades) {
+        jdbcTemplate.batchUpdate(INSERT_IGNORING_DUPLICATES, trades, trades.size(), (statement, trade) -> {
+            statement.setLong(1, trade.getId());
+            statement.setTimestamp(2, Timestamp.valueOf(trade.getTimestamp()));
+            statement.setString(3, trade.getType().name());
+            statement.setDouble(4, trade.getPrice());
+            statement.setDouble(5, trade.getQuantity());
+            statement.setDouble(6, trade.getBalanceBefore());
+            statement.setDouble(7, trade.getBalanceAfter());
+            if (trade.getProfitLossPercentage() != null) {
+                statement.setDouble(8, trade.getProfitLossPercentage());
+            } else {
+                statement.setNull(8, Types.DOUBLE);
+            }
+            statement.setString(9, trade.getStrategy());
+            statement.setString(10, trade.getMarketCycle() != null ? trade.getMarketCycle().name() : null);
+            statement.setString(11, trade.getReason());
+        });
     }
 
     @Override
@@ -27,6 +120,20 @@ public class TradeRepositoryAdapter implements TradeRepository {
         return saved.toDomain();
     }
 
+    /**
+     * Saves several trades in one transaction, as JDBC batch inserts.
+     */
+    @Override
+    public List<Trade> saveAll(List<Trade> trades) {
+        List<TradeEntity> entities = trades.stream()
+                .map(TradeEntity::fromDomain)
+                .collect(Collectors.toList());
+        return jpaRepository.saveAll(entities)
+                .stream()
+                .map(TradeEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Trade> findAll() {
         return jpaRepository.findAllByOrderByTimestampDesc()
@@ -42,4 +149,59 @@ public class TradeRepositoryAdapter implements TradeRepository {
                 .map(TradeEntity::toDomain)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<Trade> findPage(TradeCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<TradeEntity> entities = after == null
+                ? jpaRepository.findAllByOrderByTimestampDescIdDesc(page)
+                : jpaRepository.findPageAfter(after.timestamp(), after.id(), page);
+        return entities.stream()
+                .map(TradeEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams trades from a server-side cursor; each entity is detached once visited,
+     * so memory stays constant regardless of table size.
+     */
+    @Override
+    public void forEachTrade(Consumer<Trade> action) {
+        forEach(jpaRepository::streamAll, action);
+    }
+
+    @Override
+    public void forEachTradeAfter(long id, Consumer<Trade> action) {
+        forEach(() -> jpaRepository.streamAfterId(id), action);
+    }
+
+    @Override
+    public List<StrategyTradeStats> aggregateByStrategy() {
+        return jpaRepository.aggregateByStrategy()
+                .stream()
+                .map(row -> new StrategyTradeStats(
+                        (String) row[0],
+                        ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        ((Number) row[4]).longValue(),
+                        ((Number) row[5]).longValue(),
+                        ((Number) row[6]).doubleValue(),
+                        ((Number) row[7]).doubleValue(),
+                        ((Number) row[8]).doubleValue(),
+                        ((Number) row[9]).doubleValue()
+                ))
+                .collect(Collectors.toList());
+    }
+
+    private void forEach(Supplier<Stream<TradeEntity>> query, Consumer<Trade> action) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TradeEntity> entities = query.get()) {
+                entities.forEach(entity -> {
+                    action.accept(entity.toDomain());
+                    entityManager.detach(entity);
+                });
+            }
+        });
+    }
 }
@@ -0,0 +1,357 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.StrategyTradeStats;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeCursor;
+import com.lisacbot.domain.port.TradeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind trade repository: {@link #save} journals the trade to local disk and returns,
+ * and a background writer flushes queued trades to the database in batches, retrying with backoff.
+ *
+ * The journal is fsynced before {@code save} returns, so a trade survives a crash even if it never reached
+ * the database; it is replayed on the next startup. Delivery is at-least-once: a crash between a database
+ * commit and its journal commit marker replays that one batch. Each trade gets its ID from the pooled sequence
+ * before it is journaled, and rows are inserted with {@code ON CONFLICT DO NOTHING}, so a replayed trade is not
+ * stored twice. When the queue is full, {@code save} blocks
+ * until the writer catches up; an interrupt does not abort the enqueue, so a journaled trade is never left out of
+ * the queue. Reads go straight to the database, so a trade shows up there once flushed.
+ *
+ * If the sequence cannot be reached, the trade is journaled without an ID; the writer assigns one and journals
+ * the trade again before inserting it, so the replay guarantee still holds.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "bot.persistence.write.behind.enabled", havingValue = "true", matchIfMissing = true)
+public class WriteBehindTradeRepository implements TradeRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindTradeRepository.class);
+    private static final String JOURNAL_FILE = "trades.journal";
+
+    private final TradeRepositoryAdapter delegate;
+    private final Object journalLock = new Object();
+    private final Object enqueueLock = new Object(); // Keeps queue order equal to journal order
+
+    @Value("${bot.persistence.journal.directory:data/journal}")
+    private String journalDirectory;
+
+    @Value("${bot.persistence.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${bot.persistence.batch.size:100}")
+    private int batchSize;
+
+    @Value("${bot.persistence.retry.initial.ms:500}")
+    private long retryInitialMillis;
+
+    @Value("${bot.persistence.retry.max.ms:30000}")
+    private long retryMaxMillis;
+
+    private TradeJournal journal;
+    private BlockingQueue<TradeJournal.Entry> queue;
+    private long nextSequence = 1; // Guarded by journalLock
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public WriteBehindTradeRepository(TradeRepositoryAdapter delegate) {
+        this.delegate = delegate;
+    }
+
+    @PostConstruct
+    public void start() {
+        List<TradeJournal.Entry> pending;
+        try {
+            Path directory = Paths.get(journalDirectory);
+            Files.createDirectories(directory);
+            journal = new TradeJournal(directory.resolve(JOURNAL_FILE));
+            pending = replayPending(journal.recover());
+            if (pending.isEmpty()) {
+                journal.reset();
+            } else {
+                nextSequence = pending.get(pending.size() - 1).sequence() + 1;
+            }
+        } catch (IOException e) {
+            log.error("Write-behind persistence disabled - could not open trade journal in {}: {}",
+                    journalDirectory, e.getMessage());
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, pending.size() + 1));
+        queue.addAll(pending);
+        running = true;
+        writerThread = new Thread(this::writeLoop, "trade-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        if (!pending.isEmpty()) {
+            log.warn("{} journaled trades could not be written at startup, the writer will retry", pending.size());
+        }
+        log.info("Write-behind trade persistence started (journal: {}, batch size: {})",
+                Paths.get(journalDirectory, JOURNAL_FILE).toAbsolutePath(), batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        // The writer drains what is left; anything it cannot write stays journaled for the next startup
+        running = false;
+        try {
+            writerThread.join(retryMaxMillis + TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (journalLock) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Failed to close trade journal: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Journals the trade and queues it for the background writer.
+     *
+     * @return the trade with its ID, or without one if the ID sequence could not be reached
+     */
+    @Override
+    public Trade save(Trade trade) {
+        return saveAll(List.of(trade)).get(0);
+    }
+
+    /**
+     * Journals the trades with a single fsync and queues them for the background writer.
+     *
+     * @return the trades with their IDs, or without if the ID sequence could not be reached
+     */
+    @Override
+    public List<Trade> saveAll(List<Trade> trades) {
+        if (!running) {
+            return delegate.saveAll(trades);
+        }
+
+        // An interrupt would close the journal's channel mid-write: it is cleared here and restored on return
+        boolean interrupted = Thread.interrupted();
+        List<Trade> identified = trades;
+        try {
+            long[] ids = delegate.allocateIds(trades.size());
+            identified = new ArrayList<>(trades.size());
+            for (int i = 0; i < trades.size(); i++) {
+                identified.add(withId(trades.get(i), ids[i]));
+            }
+        } catch (Exception e) {
+            log.warn("Could not allocate trade IDs, the writer will assign them: {}", e.getMessage());
+        }
+
+        try {
+            synchronized (enqueueLock) {
+                List<TradeJournal.Entry> entries = new ArrayList<>(trades.size());
+                synchronized (journalLock) {
+                    for (Trade trade : identified) {
+                        entries.add(new TradeJournal.Entry(nextSequence++, trade));
+                    }
+                    try {
+                        journal.appendTrades(entries);
+                    } catch (IOException e) {
+                        log.error("Failed to journal {} trades, saving synchronously: {}", trades.size(), e.getMessage());
+                        return delegate.saveAll(trades);
+                    }
+                }
+                // Blocking on a full queue without the journal lock, so the writer can still commit and make room
+                enqueue(entries);
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return identified;
+    }
+
+    /**
+     * Queues journaled entries, retrying when interrupted and restoring the interrupt status afterwards.
+     */
+    private void enqueue(List<TradeJournal.Entry> entries) {
+        boolean interrupted = false;
+        for (TradeJournal.Entry entry : entries) {
+            while (true) {
+                try {
+                    queue.put(entry);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public List<Trade> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Trade> findByTimestampBetween(LocalDateTime start, LocalDateTime end) {
+        return delegate.findByTimestampBetween(start, end);
+    }
+
+    @Override
+    public List<Trade> findPage(TradeCursor after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public void forEachTrade(Consumer<Trade> action) {
+        delegate.forEachTrade(action);
+    }
+
+    @Override
+    public void forEachTradeAfter(long id, Consumer<Trade> action) {
+        delegate.forEachTradeAfter(id, action);
+    }
+
+    @Override
+    public List<StrategyTradeStats> aggregateByStrategy() {
+        return delegate.aggregateByStrategy();
+    }
+
+    /**
+     * Writes journaled trades left over from the previous run before anything reads the trade history.
+     *
+     * @return the trades still pending if the database is not reachable
+     */
+    private List<TradeJournal.Entry> replayPending(List<TradeJournal.Entry> pending) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        log.info("Replaying {} journaled trades not yet in the database", pending.size());
+        try {
+            assignMissingIds(pending);
+            delegate.insertAll(pending.stream().map(TradeJournal.Entry::trade).toList());
+            return List.of();
+        } catch (Exception e) {
+            log.warn("Failed to replay journaled trades: {}", e.getMessage());
+            return pending;
+        }
+    }
+
+    private void writeLoop() {
+        List<TradeJournal.Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TradeJournal.Entry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                if (!writeWithRetry(batch)) {
+                    log.warn("Stopping trade writer with {} trades left in the journal", batch.size() + queue.size());
+                    return;
+                }
+                markCommitted(batch.get(batch.size() - 1).sequence());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("Failed to update trade journal: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch, retrying with exponential backoff. Gives up only when shutting down.
+     */
+    private boolean writeWithRetry(List<TradeJournal.Entry> batch) throws InterruptedException {
+        long delay = retryInitialMillis;
+        while (true) {
+            try {
+                assignMissingIds(batch);
+                delegate.insertAll(batch.stream().map(TradeJournal.Entry::trade).toList());
+                log.debug("Flushed {} trades to the database", batch.size());
+                return true;
+            } catch (Exception e) {
+                if (!running) {
+                    return false;
+                }
+                log.warn("Failed to write {} trades, retrying in {} ms: {}", batch.size(), delay, e.getMessage());
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, retryMaxMillis);
+            }
+        }
+    }
+
+    /**
+     * Gives an ID to the entries journaled without one and journals them again, before they are inserted,
+     * so a replay of these entries reuses the same IDs.
+     */
+    private void assignMissingIds(List<TradeJournal.Entry> entries) throws IOException {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).trade().getId() == null) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        long[] ids = delegate.allocateIds(missing.size());
+        List<TradeJournal.Entry> identified = new ArrayList<>(missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            TradeJournal.Entry entry = entries.get(missing.get(i));
+            identified.add(new TradeJournal.Entry(entry.sequence(), withId(entry.trade(), ids[i])));
+        }
+        synchronized (journalLock) {
+            journal.appendTrades(identified);
+        }
+        for (int i = 0; i < missing.size(); i++) {
+            entries.set(missing.get(i), identified.get(i));
+        }
+    }
+
+    private static Trade withId(Trade trade, long id) {
+        return new Trade(id, trade.getTimestamp(), trade.getType(), trade.getPrice(), trade.getQuantity(),
+                trade.getBalanceBefore(), trade.getBalanceAfter(), trade.getProfitLossPercentage(),
+                trade.getStrategy(), trade.getMarketCycle(), trade.getReason());
+    }
+
+    private void markCommitted(long sequence) throws IOException {
+        synchronized (journalLock) {
+            // Only truncate once every journaled trade is written, including any journaled but not yet queued
+            if (sequence == nextSequence - 1) {
+                journal.reset();
+            } else {
+                journal.appendCommit(sequence);
+            }
+        }
+    }
+}
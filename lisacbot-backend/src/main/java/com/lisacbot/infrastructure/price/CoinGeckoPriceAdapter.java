@@ -14,6 +14,7 @@ import java.util.Map;
 /**
  * CoinGecko implementation of PriceProvider.
  * Historical prices are served from the local CSV via CsvPriceAdapter.
+ * Every fetched price is handed to the PriceTickRecorder so the history keeps growing.
  */
 @Component
 public class CoinGeckoPriceAdapter implements PriceProvider {
@@ -22,14 +23,17 @@ public class CoinGeckoPriceAdapter implements PriceProvider {
     private final RestClient restClient;
     private final String currentPriceApiUrl;
     private final CsvPriceAdapter csvPriceAdapter;
+    private final PriceTickRecorder priceTickRecorder;
 
     public CoinGeckoPriceAdapter(
             @Value("${bot.price.api.url}") String currentPriceApiUrl,
-            CsvPriceAdapter csvPriceAdapter
+            CsvPriceAdapter csvPriceAdapter,
+            PriceTickRecorder priceTickRecorder
     ) {
         this.restClient = RestClient.create();
         this.currentPriceApiUrl = currentPriceApiUrl;
         this.csvPriceAdapter = csvPriceAdapter;
+        this.priceTickRecorder = priceTickRecorder;
     }
 
     @Override
@@ -47,11 +51,33 @@ public class CoinGeckoPriceAdapter implements PriceProvider {
         }
 
         double price = response.get("bitcoin").get("usd").doubleValue();
-        return new Price(price);
+        Price tick = new Price(price);
+        priceTickRecorder.record(tick);
+        return tick;
     }
 
     @Override
     public List<Price> getHistoricalPrices(int days) {
         return csvPriceAdapter.getHistoricalPrices(days);
     }
+
+    @Override
+    public List<Price> getAllHistoricalPrices() {
+        return csvPriceAdapter.getAllPrices();
+    }
+
+    @Override
+    public List<Price> getHistoricalPricesFrom(int fromIndex) {
+        return csvPriceAdapter.getPricesFrom(fromIndex);
+    }
+
+    @Override
+    public long getHistoryVersion() {
+        return csvPriceAdapter.getVersion();
+    }
+
+    @Override
+    public List<Price> getRecentTicks() {
+        return priceTickRecorder.getRecoveredTicks();
+    }
 }
@@ -19,6 +19,7 @@ import java.util.List;
 /**
  * Loads historical BTC prices from a local CSV file at startup.
  * CSV format: timestamp,datetime,open,high,low,close,volume_btc,volume_usd
+ * Hourly bars recorded live by {@link PriceTickRecorder} are merged in on top of the CSV data.
  */
 @Component
 public class CsvPriceAdapter {
@@ -26,10 +27,11 @@ public class CsvPriceAdapter {
     private static final Logger log = LoggerFactory.getLogger(CsvPriceAdapter.class);
     private static final String CSV_FILE = "bitcoin_hourly_2020_2025.csv";
 
-    private List<Price> allPrices = Collections.emptyList();
+    private final List<Price> allPrices = new ArrayList<>();
+    private long version;
 
     @PostConstruct
-    public void loadCsv() {
+    public synchronized void loadCsv() {
         log.info("Loading historical BTC prices from {}", CSV_FILE);
         List<Price> prices = new ArrayList<>();
 
@@ -49,7 +51,9 @@ public class CsvPriceAdapter {
                 prices.add(new Price(close, timestamp));
             }
 
-            allPrices = Collections.unmodifiableList(prices);
+            allPrices.clear();
+            allPrices.addAll(prices);
+            version++;
             log.info("Loaded {} historical price points from CSV (from {} to {})",
                     allPrices.size(),
                     allPrices.get(0).timestamp(),
@@ -62,9 +66,59 @@ public class CsvPriceAdapter {
     }
 
     /**
-     * Returns the last {@code days} days of historical prices from the CSV.
+     * Merges an hourly bar into the in-memory history.
+     * A bar for the same hour as the latest entry replaces it (the hour is still open),
+     * a newer bar is appended and an older one is ignored.
+     * Only appending changes the version: the open bar changes on every live tick, and data derived from the
+     * history should not be invalidated that often.
+     *
+     * @param bar the bar close price, timestamped at the start of its hour
      */
-    public List<Price> getHistoricalPrices(int days) {
+    public synchronized void mergeBar(Price bar) {
+        if (allPrices.isEmpty()) {
+            allPrices.add(bar);
+            version++;
+            return;
+        }
+
+        int lastIndex = allPrices.size() - 1;
+        LocalDateTime lastTimestamp = allPrices.get(lastIndex).timestamp();
+        if (bar.timestamp().isEqual(lastTimestamp)) {
+            allPrices.set(lastIndex, bar);
+        } else if (bar.timestamp().isAfter(lastTimestamp)) {
+            allPrices.add(bar);
+            version++;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the complete history (CSV plus recorded bars), oldest first.
+     */
+    public synchronized List<Price> getAllPrices() {
+        return List.copyOf(allPrices);
+    }
+
+    /**
+     * Returns a snapshot of the history from the given bar on, oldest first.
+     */
+    public synchronized List<Price> getPricesFrom(int fromIndex) {
+        if (fromIndex >= allPrices.size()) {
+            return Collections.emptyList();
+        }
+        return List.copyOf(allPrices.subList(Math.max(0, fromIndex), allPrices.size()));
+    }
+
+    /**
+     * Returns the history version, incremented when bars are loaded or appended (not when the open bar is updated).
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the last {@code days} days of historical prices (CSV plus recorded bars).
+     */
+    public synchronized List<Price> getHistoricalPrices(int days) {
         if (allPrices.isEmpty()) {
             return Collections.emptyList();
         }
@@ -0,0 +1,388 @@
+package com.lisacbot.infrastructure.price;
+
+import com.lisacbot.domain.model.Price;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Records every live price tick to the local history store.
+ *
+ * Ticks are appended to an hourly, append-only binary segment file (epoch millis + price, 16 bytes per tick)
+ * by a background writer that fsyncs in batches. When the hour rolls over, the closed segment is compacted
+ * into a single OHLC bar appended to {@code bars.bin}. Closed segments are kept for a few hours, so the ticks
+ * recorded shortly before a restart can warm up the strategy at the live tick resolution.
+ * Each tick is also merged into {@link CsvPriceAdapter} right away, so the history is up to date
+ * without waiting for the disk write.
+ */
+@Component
+public class PriceTickRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceTickRecorder.class);
+
+    private static final String SEGMENT_PREFIX = "ticks-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String BARS_FILE = "bars.bin";
+    private static final int TICK_RECORD_BYTES = Long.BYTES + Double.BYTES;
+    private static final int BAR_RECORD_BYTES = Long.BYTES + 4 * Double.BYTES;
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final CsvPriceAdapter csvPriceAdapter;
+    private final boolean enabled;
+    private final Path directory;
+    private final int fsyncBatchSize;
+    private final long fsyncIntervalMillis;
+    private final long segmentRetentionSeconds;
+
+    private final BlockingQueue<Price> pendingTicks = new LinkedBlockingQueue<>();
+    private final ByteBuffer tickBuffer = ByteBuffer.allocate(TICK_RECORD_BYTES);
+    private final ByteBuffer barBuffer = ByteBuffer.allocate(BAR_RECORD_BYTES);
+
+    // Writer thread state
+    private Thread writerThread;
+    private volatile boolean running;
+    private FileChannel segmentChannel;
+    private long segmentHour = -1;
+    private long lastCompactedHour = -1;
+    private int unsyncedTicks;
+    private long lastSyncMillis;
+
+    private volatile List<Price> recoveredTicks = List.of();
+
+    public PriceTickRecorder(
+            CsvPriceAdapter csvPriceAdapter,
+            @Value("${bot.recorder.enabled:true}") boolean enabled,
+            @Value("${bot.recorder.directory:data/prices}") String directory,
+            @Value("${bot.recorder.fsync.batch.size:10}") int fsyncBatchSize,
+            @Value("${bot.recorder.fsync.interval.ms:5000}") long fsyncIntervalMillis,
+            @Value("${bot.recorder.segment.retention.hours:3}") int segmentRetentionHours
+    ) {
+        this.csvPriceAdapter = csvPriceAdapter;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.fsyncBatchSize = Math.max(1, fsyncBatchSize);
+        this.fsyncIntervalMillis = Math.max(1, fsyncIntervalMillis);
+        this.segmentRetentionSeconds = Math.max(0, segmentRetentionHours) * SECONDS_PER_HOUR;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Live price recorder disabled");
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            log.error("Live price recorder disabled - could not use {}: {}", directory.toAbsolutePath(), e.getMessage());
+            return;
+        }
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "price-recorder");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Live price recorder started (directory: {}, fsync every {} ticks or {} ms)",
+                directory.toAbsolutePath(), fsyncBatchSize, fsyncIntervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        // No interrupt: it would close the FileChannel mid-write. The writer notices within one poll interval.
+        running = false;
+        try {
+            writerThread.join(fsyncIntervalMillis + TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records a live tick. The in-memory history is updated immediately, even when recording to disk is disabled;
+     * the disk write happens asynchronously on the recorder thread.
+     *
+     * @param tick the fetched price
+     */
+    public void record(Price tick) {
+        long hour = hourOf(toEpochMillis(tick.timestamp()));
+        csvPriceAdapter.mergeBar(new Price(tick.value(), toLocalDateTime(hour)));
+        if (running) {
+            pendingTicks.offer(tick);
+        }
+    }
+
+    /**
+     * Returns the ticks found in the retained segments at startup, oldest first.
+     *
+     * @return the recovered ticks, empty if the recorder is disabled or nothing recent was recorded
+     */
+    public List<Price> getRecoveredTicks() {
+        return recoveredTicks;
+    }
+
+    private void writeLoop() {
+        lastSyncMillis = System.currentTimeMillis();
+        while (running || !pendingTicks.isEmpty()) {
+            try {
+                Price tick = pendingTicks.poll(fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+                if (tick != null) {
+                    append(tick);
+                }
+                if (unsyncedTicks >= fsyncBatchSize
+                        || (unsyncedTicks > 0 && System.currentTimeMillis() - lastSyncMillis >= fsyncIntervalMillis)) {
+                    sync();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                log.error("Failed to record price tick: {}", e.getMessage());
+            }
+        }
+
+        try {
+            sync();
+            closeSegment();
+        } catch (IOException e) {
+            log.error("Failed to close price segment: {}", e.getMessage());
+        }
+    }
+
+    private void append(Price tick) throws IOException {
+        long epochMillis = toEpochMillis(tick.timestamp());
+        long hour = hourOf(epochMillis);
+
+        if (hour != segmentHour) {
+            if (hour < segmentHour) {
+                log.warn("Dropping out-of-order tick at {}", tick.timestamp());
+                return;
+            }
+            rollSegment(hour);
+        }
+
+        tickBuffer.clear();
+        tickBuffer.putLong(epochMillis).putDouble(tick.value()).flip();
+        while (tickBuffer.hasRemaining()) {
+            segmentChannel.write(tickBuffer);
+        }
+        unsyncedTicks++;
+    }
+
+    private void sync() throws IOException {
+        if (segmentChannel != null && unsyncedTicks > 0) {
+            segmentChannel.force(false);
+        }
+        unsyncedTicks = 0;
+        lastSyncMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Closes the current segment, compacts it into a bar, drops the segments past retention
+     * and opens the segment for the new hour.
+     */
+    private void rollSegment(long newHour) throws IOException {
+        if (segmentChannel != null) {
+            sync();
+            closeSegment();
+            compact(segmentHour);
+        }
+        deleteSegmentsBefore(newHour - segmentRetentionSeconds);
+
+        segmentHour = newHour;
+        segmentChannel = FileChannel.open(segmentPath(newHour),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void closeSegment() throws IOException {
+        if (segmentChannel != null) {
+            segmentChannel.close();
+            segmentChannel = null;
+        }
+    }
+
+    /**
+     * Compacts a closed segment into one OHLC bar.
+     * Segments whose hour is already in the bars file (retained, or crash before the bar was recorded) are skipped.
+     */
+    private void compact(long hour) throws IOException {
+        Path segment = segmentPath(hour);
+        double[] ohlc = readOhlc(segment);
+
+        if (ohlc != null && hour > lastCompactedHour) {
+            barBuffer.clear();
+            barBuffer.putLong(hour)
+                    .putDouble(ohlc[0])
+                    .putDouble(ohlc[1])
+                    .putDouble(ohlc[2])
+                    .putDouble(ohlc[3])
+                    .flip();
+            try (FileChannel bars = FileChannel.open(directory.resolve(BARS_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (barBuffer.hasRemaining()) {
+                    bars.write(barBuffer);
+                }
+                bars.force(false);
+            }
+            lastCompactedHour = hour;
+            log.info("Compacted price segment {} into OHLC bar (O: {}, H: {}, L: {}, C: {})",
+                    segment.getFileName(), ohlc[0], ohlc[1], ohlc[2], ohlc[3]);
+        }
+    }
+
+    private void deleteSegmentsBefore(long hour) throws IOException {
+        for (long segment : listSegmentHours()) {
+            if (segment < hour) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+    }
+
+    private List<Long> listSegmentHours() throws IOException {
+        List<Long> segmentHours = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(segmentHours::add);
+        }
+        return segmentHours;
+    }
+
+    /**
+     * Appends the complete ticks of a segment to the list, ignoring a torn record at the end of the file.
+     */
+    private static void readTicks(Path segment, List<Price> ticks) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        while (data.remaining() >= TICK_RECORD_BYTES) {
+            long epochMillis = data.getLong();
+            double value = data.getDouble();
+            ticks.add(new Price(value, LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault())));
+        }
+    }
+
+    /**
+     * Reads a segment and returns {open, high, low, close}, or null if it holds no complete tick.
+     * A torn record at the end of the file (crash mid-write) is ignored.
+     */
+    private double[] readOhlc(Path segment) throws IOException {
+        if (!Files.exists(segment)) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int ticks = data.remaining() / TICK_RECORD_BYTES;
+        if (ticks == 0) {
+            return null;
+        }
+
+        double open = 0.0;
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        double close = 0.0;
+        for (int i = 0; i < ticks; i++) {
+            data.getLong();
+            double value = data.getDouble();
+            if (i == 0) {
+                open = value;
+            }
+            high = Math.max(high, value);
+            low = Math.min(low, value);
+            close = value;
+        }
+        return new double[]{open, high, low, close};
+    }
+
+    /**
+     * Replays the bars file and leftover segments into the in-memory history at startup.
+     * Segments of past hours are compacted, the segment of the current hour is reopened for appending.
+     * The ticks of the segments still within retention are kept for the strategy warm-up.
+     */
+    private void recover() throws IOException {
+        Path barsPath = directory.resolve(BARS_FILE);
+        int bars = 0;
+        if (Files.exists(barsPath)) {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(barsPath));
+            while (data.remaining() >= BAR_RECORD_BYTES) {
+                long hour = data.getLong();
+                data.position(data.position() + 3 * Double.BYTES); // open, high, low
+                double close = data.getDouble();
+                csvPriceAdapter.mergeBar(new Price(close, toLocalDateTime(hour)));
+                lastCompactedHour = Math.max(lastCompactedHour, hour);
+                bars++;
+            }
+        }
+
+        List<Long> segmentHours = listSegmentHours();
+        long currentHour = hourOf(System.currentTimeMillis());
+        long retainedFrom = currentHour - segmentRetentionSeconds;
+        List<Price> ticks = new ArrayList<>();
+        for (long hour : segmentHours) {
+            double[] ohlc = readOhlc(segmentPath(hour));
+            if (ohlc != null) {
+                csvPriceAdapter.mergeBar(new Price(ohlc[3], toLocalDateTime(hour)));
+            }
+            if (hour >= retainedFrom) {
+                readTicks(segmentPath(hour), ticks);
+            }
+            if (hour < currentHour) {
+                compact(hour);
+            } else {
+                segmentHour = hour;
+                segmentChannel = FileChannel.open(segmentPath(hour),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+        }
+
+        deleteSegmentsBefore(retainedFrom);
+        recoveredTicks = List.copyOf(ticks);
+
+        log.info("Recovered {} recorded bars, {} price segments and {} recent ticks from {}",
+                bars, segmentHours.size(), ticks.size(), directory);
+    }
+
+    private Path segmentPath(long hour) {
+        return directory.resolve(SEGMENT_PREFIX + hour + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Returns the start of the hour containing the given instant, in epoch seconds.
+     */
+    private static long hourOf(long epochMillis) {
+        long epochSeconds = Math.floorDiv(epochMillis, 1000L);
+        return epochSeconds - Math.floorMod(epochSeconds, SECONDS_PER_HOUR);
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSeconds) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds), ZoneId.systemDefault());
+    }
+}
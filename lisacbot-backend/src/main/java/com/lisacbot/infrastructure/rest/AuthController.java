@@ -1,9 +1,12 @@
 package com.lisacbot.infrastructure.rest;
 
 import com.lisacbot.domain.service.AuthenticationService;
+import com.lisacbot.infrastructure.security.LoginRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -11,6 +14,9 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST controller for authentication endpoints.
@@ -24,38 +30,65 @@ public class AuthController {
     @Autowired
     private AuthenticationService authenticationService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     /**
      * Login endpoint to authenticate user and return JWT token.
+     * Attempts are rate limited per client IP and per username, and the password check runs off the request
+     * thread, which is released until it completes.
      *
      * @param loginRequest containing username and password
+     * @param request the HTTP request, for the client IP
      * @return JWT token and username
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
-        try {
-            String username = loginRequest.get("username");
-            String password = loginRequest.get("password");
+    public CompletableFuture<ResponseEntity<?>> login(
+            @RequestBody Map<String, String> loginRequest,
+            HttpServletRequest request
+    ) {
+        String username = loginRequest.get("username");
+        String password = loginRequest.get("password");
 
-            if (username == null || password == null) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "Username and password are required"));
-            }
+        if (username == null || password == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("error", "Username and password are required")));
+        }
 
-            String token = authenticationService.authenticateAndGenerateToken(username, password);
+        long retryAfterSeconds = loginRateLimiter.tryAcquire(request.getRemoteAddr(), username);
+        if (retryAfterSeconds > 0) {
+            log.warn("Login rate limit exceeded for user {} from {}", username, request.getRemoteAddr());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Map.of("error", "Too many login attempts, please retry later")));
+        }
 
-            return ResponseEntity.ok(Map.of(
-                    "token", token,
-                    "username", username
-            ));
-        } catch (AuthenticationException e) {
-            log.warn("Authentication failed: {}", e.getMessage());
+        try {
+            return authenticationService.authenticateAndGenerateTokenAsync(username, password)
+                    .<ResponseEntity<?>>thenApply(token -> ResponseEntity.ok(Map.of(
+                            "token", token,
+                            "username", username
+                    )))
+                    .exceptionally(AuthController::loginFailure);
+        } catch (RejectedExecutionException e) {
+            log.warn("Login rejected, password hashing queue is full");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Too many login attempts, please retry later")));
+        }
+    }
+
+    private static ResponseEntity<?> loginFailure(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        if (cause instanceof AuthenticationException) {
+            log.warn("Authentication failed: {}", cause.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid username or password"));
-        } catch (Exception e) {
-            log.error("Login error", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "An error occurred during login"));
         }
+        log.error("Login error", cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An error occurred during login"));
     }
 
     /**
@@ -63,7 +96,7 @@ public class AuthController {
      *
      * @param request containing currentPassword and newPassword
      * @param authentication the authenticated user
-     * @return success or error message
+     * @return success and a new token, or error message
      */
     @PostMapping("/change-password")
     public ResponseEntity<?> changePassword(
@@ -85,11 +118,13 @@ public class AuthController {
             }
 
             String username = authentication.getName();
-            authenticationService.changePassword(username, currentPassword, newPassword);
+            String token = authenticationService.changePassword(username, currentPassword, newPassword);
 
+            // Tokens issued before the change are revoked, so the client switches to this one
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "message", "Password changed successfully"
+                    "message", "Password changed successfully",
+                    "token", token
             ));
         } catch (AuthenticationException e) {
             log.warn("Password change failed - invalid current password: {}", e.getMessage());
@@ -0,0 +1,205 @@
+package com.lisacbot.infrastructure.rest;
+
+import com.lisacbot.domain.model.BotInstanceConfig;
+import com.lisacbot.domain.model.BotInstanceStatus;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.service.BotManager;
+import com.lisacbot.domain.strategy.TradingStrategy;
+import com.lisacbot.infrastructure.config.ConfigurationService;
+import com.lisacbot.infrastructure.config.StrategyFactory;
+import com.lisacbot.infrastructure.config.StrategyParameters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for managing the bot instances hosted by the bot manager.
+ * Settings and strategy parameters omitted on creation default to the main bot's configuration.
+ */
+@RestController
+@RequestMapping("/api/bots")
+public class BotInstanceController {
+
+    private final BotManager botManager;
+    private final StrategyFactory strategyFactory;
+    private final ConfigurationService configurationService;
+
+    @Value("${bot.initial.balance}")
+    private double defaultInitialBalance;
+
+    @Value("${bot.trailing.stop.loss.enabled}")
+    private boolean defaultTrailingStopLossEnabled;
+
+    @Value("${bot.trailing.stop.loss.percentage}")
+    private double defaultTrailingStopLossPercentage;
+
+    @Value("${bot.take.profit.enabled}")
+    private boolean defaultTakeProfitEnabled;
+
+    @Value("${bot.take.profit.percentage}")
+    private double defaultTakeProfitPercentage;
+
+    @Value("${bot.cycle.allowed}")
+    private String defaultAllowedCycles;
+
+    public BotInstanceController(BotManager botManager, StrategyFactory strategyFactory,
+                                 ConfigurationService configurationService) {
+        this.botManager = botManager;
+        this.strategyFactory = strategyFactory;
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Lists all bot instances.
+     */
+    @GetMapping
+    public List<BotInstanceStatus> getBots() {
+        return botManager.getBots();
+    }
+
+    /**
+     * Returns a single bot instance.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BotInstanceStatus> getBot(@PathVariable long id) {
+        return ResponseEntity.of(botManager.getBot(id));
+    }
+
+    /**
+     * Returns the most recent persisted trades of a bot instance.
+     */
+    @GetMapping("/{id}/trades")
+    public List<Trade> getBotTrades(@PathVariable long id, @RequestParam(defaultValue = "50") int limit) {
+        return botManager.getRecentTrades(id, Math.max(1, Math.min(limit, 500)));
+    }
+
+    /**
+     * Creates a new bot instance.
+     * Request fields: strategy (required), name, initialBalance, trailingStopLossEnabled, trailingStopLossPercentage,
+     * takeProfitEnabled, takeProfitPercentage, allowedCycles (comma-separated), persistTrades, start,
+     * and the strategy parameters smaPeriod, emaPeriod, rsiPeriod, rsiOversold, rsiOverbought, macdFastPeriod,
+     * macdSlowPeriod, macdSignalPeriod, compositeBuyThreshold, compositeSellThreshold.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createBot(@RequestBody Map<String, Object> request) {
+        Object strategyType = request.get("strategy");
+        if (strategyType == null || strategyType.toString().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "Strategy type is required"
+            ));
+        }
+
+        try {
+            TradingStrategy strategy = strategyFactory.createStrategy(strategyType.toString(), parameters(request));
+            String name = request.getOrDefault("name", strategyType.toString().toUpperCase()).toString();
+
+            BotInstanceConfig config = new BotInstanceConfig(
+                    name,
+                    strategyType.toString(),
+                    number(request, "initialBalance", defaultInitialBalance),
+                    flag(request, "trailingStopLossEnabled", defaultTrailingStopLossEnabled),
+                    number(request, "trailingStopLossPercentage", defaultTrailingStopLossPercentage),
+                    flag(request, "takeProfitEnabled", defaultTakeProfitEnabled),
+                    number(request, "takeProfitPercentage", defaultTakeProfitPercentage),
+                    parseCycles(request.getOrDefault("allowedCycles", defaultAllowedCycles).toString()),
+                    flag(request, "persistTrades", false)
+            );
+
+            BotInstanceStatus status = botManager.createBot(config, strategy, flag(request, "start", false));
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "Bot " + status.id() + " created",
+                    "bot", status
+            ));
+        } catch (IllegalArgumentException | IllegalStateException | ClassCastException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Starts a bot instance.
+     */
+    @PostMapping("/{id}/start")
+    public ResponseEntity<BotInstanceStatus> startBot(@PathVariable long id) {
+        return ResponseEntity.of(botManager.setRunning(id, true));
+    }
+
+    /**
+     * Stops a bot instance.
+     */
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<BotInstanceStatus> stopBot(@PathVariable long id) {
+        return ResponseEntity.of(botManager.setRunning(id, false));
+    }
+
+    /**
+     * Removes a bot instance.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> removeBot(@PathVariable long id) {
+        if (!botManager.removeBot(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Bot " + id + " removed"
+        ));
+    }
+
+    /**
+     * Strategy parameters of a new bot: the main bot's current parameters, overridden by those in the request.
+     */
+    private StrategyParameters parameters(Map<String, Object> request) {
+        StrategyParameters defaults = configurationService.getParameters();
+        return new StrategyParameters(
+                defaults.version(),
+                period(request, "smaPeriod", defaults.smaPeriod()),
+                period(request, "emaPeriod", defaults.emaPeriod()),
+                period(request, "rsiPeriod", defaults.rsiPeriod()),
+                (int) number(request, "rsiOversold", defaults.rsiOversold()),
+                (int) number(request, "rsiOverbought", defaults.rsiOverbought()),
+                period(request, "macdFastPeriod", defaults.macdFastPeriod()),
+                period(request, "macdSlowPeriod", defaults.macdSlowPeriod()),
+                period(request, "macdSignalPeriod", defaults.macdSignalPeriod()),
+                number(request, "compositeBuyThreshold", defaults.compositeBuyThreshold()),
+                number(request, "compositeSellThreshold", defaults.compositeSellThreshold())
+        );
+    }
+
+    private static int period(Map<String, Object> request, String key, int defaultValue) {
+        int value = (int) number(request, key, defaultValue);
+        if (value < 1) {
+            throw new IllegalArgumentException(key + " must be at least 1");
+        }
+        return value;
+    }
+
+    private static double number(Map<String, Object> request, String key, double defaultValue) {
+        Object value = request.get(key);
+        return value != null ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    private static boolean flag(Map<String, Object> request, String key, boolean defaultValue) {
+        Object value = request.get(key);
+        return value != null ? Boolean.parseBoolean(value.toString()) : defaultValue;
+    }
+
+    private static Set<MarketCycle> parseCycles(String cycles) {
+        return Arrays.stream(cycles.split(","))
+                .map(String::trim)
+                .map(String::toUpperCase)
+                .map(MarketCycle::valueOf)
+                .collect(Collectors.toSet());
+    }
+}
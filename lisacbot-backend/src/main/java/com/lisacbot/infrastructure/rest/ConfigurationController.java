@@ -1,12 +1,10 @@
 package com.lisacbot.infrastructure.rest;
 
 import com.lisacbot.domain.service.TradingService;
-import com.lisacbot.domain.strategy.*;
-import org.springframework.beans.factory.annotation.Value;
+import com.lisacbot.infrastructure.config.StrategyParameters;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -21,13 +19,6 @@ public class ConfigurationController {
     private final com.lisacbot.infrastructure.config.BotScheduler botScheduler;
     private final com.lisacbot.infrastructure.config.ConfigurationService configurationService;
 
-    // Composite strategy configuration (still from properties as these define the strategy structure)
-    @Value("${bot.strategy.composite.strategies:}")
-    private String compositeStrategies;
-
-    @Value("${bot.strategy.composite.weights:}")
-    private String compositeWeights;
-
     public ConfigurationController(
             TradingService tradingService,
             com.lisacbot.infrastructure.config.BotScheduler botScheduler,
@@ -76,16 +67,18 @@ public class ConfigurationController {
     public ResponseEntity<Map<String, Object>> getCurrentConfiguration() {
         Map<String, Object> config = new java.util.HashMap<>();
         config.put("pollIntervalSeconds", botScheduler.getCurrentPollInterval());
-        config.put("smaPeriod", configurationService.getSmaPeriod());
-        config.put("emaPeriod", configurationService.getEmaPeriod());
-        config.put("rsiPeriod", configurationService.getRsiPeriod());
-        config.put("rsiOversold", configurationService.getRsiOversold());
-        config.put("rsiOverbought", configurationService.getRsiOverbought());
-        config.put("macdFastPeriod", configurationService.getMacdFastPeriod());
-        config.put("macdSlowPeriod", configurationService.getMacdSlowPeriod());
-        config.put("macdSignalPeriod", configurationService.getMacdSignalPeriod());
-        config.put("compositeBuyThreshold", configurationService.getCompositeBuyThreshold());
-        config.put("compositeSellThreshold", configurationService.getCompositeSellThreshold());
+        StrategyParameters parameters = configurationService.getParameters();
+        config.put("configVersion", parameters.version());
+        config.put("smaPeriod", parameters.smaPeriod());
+        config.put("emaPeriod", parameters.emaPeriod());
+        config.put("rsiPeriod", parameters.rsiPeriod());
+        config.put("rsiOversold", parameters.rsiOversold());
+        config.put("rsiOverbought", parameters.rsiOverbought());
+        config.put("macdFastPeriod", parameters.macdFastPeriod());
+        config.put("macdSlowPeriod", parameters.macdSlowPeriod());
+        config.put("macdSignalPeriod", parameters.macdSignalPeriod());
+        config.put("compositeBuyThreshold", parameters.compositeBuyThreshold());
+        config.put("compositeSellThreshold", parameters.compositeSellThreshold());
 
         // Add current strategy information
         config.put("strategyName", tradingService.getStrategyName());
@@ -109,8 +102,7 @@ public class ConfigurationController {
         }
 
         try {
-            TradingStrategy newStrategy = createStrategyByType(strategyType.toLowerCase());
-            tradingService.updateStrategy(newStrategy, strategyType.toUpperCase());
+            tradingService.updateStrategy(strategyType);
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -172,15 +164,18 @@ public class ConfigurationController {
             double compositeBuyThreshold = ((Number) request.get("compositeBuyThreshold")).doubleValue();
             double compositeSellThreshold = ((Number) request.get("compositeSellThreshold")).doubleValue();
 
-            configurationService.updateConfiguration(
+            StrategyParameters updated = configurationService.updateConfiguration(
                     smaPeriod, emaPeriod, rsiPeriod, rsiOversold, rsiOverbought,
                     macdFastPeriod, macdSlowPeriod, macdSignalPeriod,
                     compositeBuyThreshold, compositeSellThreshold
             );
+            // Rebuild the active strategy now rather than on the next tick
+            tradingService.updateStrategy(tradingService.getStrategyName());
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "message", "Configuration parameters updated successfully"
+                    "message", "Configuration parameters updated successfully",
+                    "configVersion", updated.version()
             ));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
@@ -189,74 +184,4 @@ public class ConfigurationController {
             ));
         }
     }
-
-    private TradingStrategy createStrategyByType(String strategyType) {
-        return switch (strategyType) {
-            case "sma" -> new SimpleMovingAverageStrategy(configurationService.getSmaPeriod());
-            case "ema-rsi" -> new EmaRsiStrategy(
-                    configurationService.getEmaPeriod(),
-                    configurationService.getRsiPeriod(),
-                    configurationService.getRsiOversold(),
-                    configurationService.getRsiOverbought()
-            );
-            case "macd" -> new MacdStrategy(
-                    configurationService.getMacdFastPeriod(),
-                    configurationService.getMacdSlowPeriod(),
-                    configurationService.getMacdSignalPeriod()
-            );
-            case "composite" -> createCompositeStrategy();
-            default -> throw new IllegalArgumentException(
-                    "Unknown strategy type: " + strategyType +
-                    ". Supported types: sma, ema-rsi, macd, composite"
-            );
-        };
-    }
-
-    private TradingStrategy createCompositeStrategy() {
-        String[] strategyNames = compositeStrategies.split(",");
-        String[] weightStrings = compositeWeights.split(",");
-
-        if (strategyNames.length != weightStrings.length) {
-            throw new IllegalArgumentException(
-                    "Number of strategies (" + strategyNames.length +
-                    ") must match number of weights (" + weightStrings.length + ")"
-            );
-        }
-
-        List<CompositeStrategy.WeightedStrategy> weightedStrategies = new ArrayList<>();
-        for (int i = 0; i < strategyNames.length; i++) {
-            String strategyName = strategyNames[i].trim();
-            double weight = Double.parseDouble(weightStrings[i].trim());
-
-            TradingStrategy strategy = createStrategyByName(strategyName);
-            weightedStrategies.add(new CompositeStrategy.WeightedStrategy(strategy, weight, strategyName.toUpperCase()));
-        }
-
-        return new CompositeStrategy(
-                weightedStrategies,
-                configurationService.getCompositeBuyThreshold(),
-                configurationService.getCompositeSellThreshold()
-        );
-    }
-
-    private TradingStrategy createStrategyByName(String name) {
-        return switch (name.toLowerCase()) {
-            case "sma" -> new SimpleMovingAverageStrategy(configurationService.getSmaPeriod());
-            case "ema-rsi" -> new EmaRsiStrategy(
-                    configurationService.getEmaPeriod(),
-                    configurationService.getRsiPeriod(),
-                    configurationService.getRsiOversold(),
-                    configurationService.getRsiOverbought()
-            );
-            case "macd" -> new MacdStrategy(
-                    configurationService.getMacdFastPeriod(),
-                    configurationService.getMacdSlowPeriod(),
-                    configurationService.getMacdSignalPeriod()
-            );
-            default -> throw new IllegalArgumentException(
-                    "Unknown strategy name in composite: " + name +
-                    ". Supported: sma, ema-rsi, macd"
-            );
-        };
-    }
 }
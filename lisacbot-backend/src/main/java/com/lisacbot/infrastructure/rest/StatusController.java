@@ -1,10 +1,13 @@
 package com.lisacbot.infrastructure.rest;
 
 import com.lisacbot.domain.model.BotStatus;
+import com.lisacbot.domain.service.TickStreamPublisher;
 import com.lisacbot.domain.service.TradingService;
+import com.lisacbot.infrastructure.config.SchedulerMetrics;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller for bot status endpoints.
@@ -14,13 +17,35 @@ import org.springframework.web.bind.annotation.RestController;
 public class StatusController {
 
     private final TradingService tradingService;
+    private final SchedulerMetrics schedulerMetrics;
+    private final TickStreamPublisher tickStreamPublisher;
 
-    public StatusController(TradingService tradingService) {
+    public StatusController(TradingService tradingService, SchedulerMetrics schedulerMetrics,
+                            TickStreamPublisher tickStreamPublisher) {
         this.tradingService = tradingService;
+        this.schedulerMetrics = schedulerMetrics;
+        this.tickStreamPublisher = tickStreamPublisher;
     }
 
     @GetMapping("/status")
     public BotStatus getStatus() {
         return tradingService.getBotStatus();
     }
+
+    /**
+     * Server-Sent Events stream of price, portfolio, market cycle and indicator values, pushed on every tick.
+     * Replaces polling /status; a slow client only receives the latest snapshot.
+     */
+    @GetMapping("/status/stream")
+    public SseEmitter streamStatus() {
+        return tickStreamPublisher.createEmitter(tradingService.getPriceTick());
+    }
+
+    /**
+     * Scheduler timing metrics: lag, execution time, overruns and skipped ticks.
+     */
+    @GetMapping("/status/scheduler")
+    public SchedulerMetrics.Snapshot getSchedulerMetrics() {
+        return schedulerMetrics.getSnapshot();
+    }
 }
@@ -1,42 +1,121 @@
 package com.lisacbot.infrastructure.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lisacbot.domain.model.RiskReport;
+import com.lisacbot.domain.model.StrategyTradeStats;
 import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeCursor;
 import com.lisacbot.domain.model.TradeMetrics;
+import com.lisacbot.domain.model.TradePage;
 import com.lisacbot.domain.port.TradeRepository;
 import com.lisacbot.domain.service.MetricsService;
 import com.lisacbot.domain.service.TradeEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for trade history endpoints.
+ *
+ * The full history is streamed from a database cursor. If reading it fails part-way, the error is rethrown
+ * so the container aborts the connection instead of completing the response: a client then gets a transfer error,
+ * never a well-formed 200 holding only part of the history.
  */
 @RestController
 @RequestMapping("/api/trades")
 public class TradeController {
 
+    private static final Logger log = LoggerFactory.getLogger(TradeController.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TradeRepository tradeRepository;
     private final MetricsService metricsService;
     private final TradeEventPublisher tradeEventPublisher;
+    private final ObjectMapper objectMapper;
 
-    public TradeController(TradeRepository tradeRepository, MetricsService metricsService, TradeEventPublisher tradeEventPublisher) {
+    public TradeController(TradeRepository tradeRepository, MetricsService metricsService,
+                           TradeEventPublisher tradeEventPublisher, ObjectMapper objectMapper) {
         this.tradeRepository = tradeRepository;
         this.metricsService = metricsService;
         this.tradeEventPublisher = tradeEventPublisher;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Get all trades ordered by timestamp descending (most recent first).
+     * The JSON array is streamed from a database cursor, so server memory does not grow with the history.
      *
-     * @return list of all trades
+     * @return JSON array of all trades
      */
     @GetMapping
-    public List<Trade> getAllTrades() {
-        return tradeRepository.findAll();
+    public ResponseEntity<StreamingResponseBody> getAllTrades() {
+        StreamingResponseBody body = out -> {
+            out.write('[');
+            streamTrades(out, ',', null);
+            out.write(']');
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Get one page of trades, most recent first (keyset pagination).
+     *
+     * @param cursor nextCursor of the previous page; omit for the first page
+     * @param limit page size (1-500)
+     * @return the page with the cursor of the next one
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getTradePage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "Limit must be between 1 and " + MAX_PAGE_SIZE
+            ));
+        }
+
+        try {
+            TradeCursor after = cursor != null && !cursor.isEmpty() ? TradeCursor.decode(cursor) : null;
+            List<Trade> trades = tradeRepository.findPage(after, limit);
+            String nextCursor = trades.size() == limit ? TradeCursor.of(trades.get(trades.size() - 1)).encode() : null;
+            return ResponseEntity.ok(new TradePage(trades, nextCursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Export the full trade history as newline-delimited JSON (one trade per line, most recent first),
+     * streamed from a database cursor.
+     *
+     * @return NDJSON stream of all trades
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTrades() {
+        StreamingResponseBody body = out -> streamTrades(out, null, '\n');
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trades.ndjson\"")
+                .body(body);
     }
 
     /**
@@ -64,14 +143,76 @@ public class TradeController {
         return metricsService.calculateMetrics();
     }
 
+    /**
+     * Get trading performance statistics broken down by strategy.
+     *
+     * @return one entry per strategy
+     */
+    @GetMapping("/metrics/strategies")
+    public List<StrategyTradeStats> getStrategyMetrics() {
+        return metricsService.getStrategyStats();
+    }
+
+    /**
+     * Get risk-adjusted performance (Sharpe, Sortino, max drawdown, Calmar) of the trade history.
+     *
+     * @return metrics over the whole history and over each configured window
+     */
+    @GetMapping("/metrics/risk")
+    public RiskReport getRiskMetrics() {
+        return metricsService.getRiskReport();
+    }
+
     /**
      * Server-Sent Events endpoint for real-time trade notifications.
      * Clients can subscribe to this endpoint to receive trade events as they happen.
+     * A reconnecting client passes the id of the last event it received (Last-Event-ID header, or the
+     * lastEventId parameter for clients that open a new EventSource) to get the events it missed.
      *
      * @return SseEmitter for streaming trade events
      */
     @GetMapping("/events")
-    public SseEmitter streamTradeEvents() {
-        return tradeEventPublisher.createEmitter();
+    public SseEmitter streamTradeEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        return tradeEventPublisher.createEmitter(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    /**
+     * Writes every trade, with an optional separator between trades and terminator after each.
+     */
+    private void streamTrades(OutputStream out, Character separator, Character terminator) {
+        long[] written = {0};
+        try {
+            tradeRepository.forEachTrade(trade -> {
+                if (separator != null && written[0] > 0) {
+                    write(out, separator);
+                }
+                writeTrade(out, trade);
+                if (terminator != null) {
+                    write(out, terminator);
+                }
+                written[0]++;
+            });
+        } catch (RuntimeException e) {
+            log.error("Trade stream aborted after {} trades: {}", written[0], e.getMessage());
+            throw e;
+        }
+    }
+
+    private void writeTrade(OutputStream out, Trade trade) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(trade));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(OutputStream out, char c) {
+        try {
+            out.write(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -2,7 +2,9 @@ package com.lisacbot.infrastructure.security;
 
 import com.lisacbot.infrastructure.persistence.JpaUserRepository;
 import com.lisacbot.infrastructure.persistence.UserEntity;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,9 +12,17 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 /**
  * Custom UserDetailsService implementation for loading user from database.
+ *
+ * Users are kept in a bounded LRU cache for a short TTL, so authenticated requests (which load the user on every
+ * call) do not query the database each time. Entries are evicted on password change; other changes are picked up
+ * once the TTL expires. A fresh {@link UserDetails} is built on every call, because Spring Security erases the
+ * password of the instance it authenticated.
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -20,16 +30,60 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private JpaUserRepository userRepository;
 
+    @Value("${security.user.cache.size:256}")
+    private int cacheSize;
+
+    @Value("${security.user.cache.ttl.seconds:300}")
+    private long cacheTtlSeconds;
+
+    private record CachedUser(String username, String password, boolean enabled, long expiresAtNanos) {
+    }
+
+    private Map<String, CachedUser> cache;
+    private LongSupplier nanoClock = System::nanoTime; // Replaced in tests to expire entries
+
+    @PostConstruct
+    public void initialize() {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity userEntity = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CachedUser cached;
+        synchronized (cache) {
+            cached = cache.get(username);
+        }
+        if (cached == null || nanoClock.getAsLong() - cached.expiresAtNanos() >= 0) {
+            UserEntity userEntity = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+            cached = new CachedUser(userEntity.getUsername(), userEntity.getPassword(), userEntity.isEnabled(),
+                    nanoClock.getAsLong() + cacheTtlSeconds * 1_000_000_000L);
+            synchronized (cache) {
+                cache.put(username, cached);
+            }
+        }
 
         return User.builder()
-                .username(userEntity.getUsername())
-                .password(userEntity.getPassword())
-                .disabled(!userEntity.isEnabled())
+                .username(cached.username())
+                .password(cached.password())
+                .disabled(!cached.enabled())
                 .authorities(new ArrayList<>()) // No roles for simple auth
                 .build();
     }
+
+    /**
+     * Drop a user from the cache, so the next lookup reads it from the database.
+     *
+     * @param username the username
+     */
+    public void evict(String username) {
+        synchronized (cache) {
+            cache.remove(username);
+        }
+    }
 }
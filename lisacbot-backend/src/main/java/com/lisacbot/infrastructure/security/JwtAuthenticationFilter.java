@@ -1,5 +1,6 @@
 package com.lisacbot.infrastructure.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,8 +8,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,9 +21,15 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * JWT authentication filter to validate tokens on each request.
+ *
+ * Tokens whose version is behind {@link TokenVersionRegistry} are rejected. In stateless mode
+ * ({@code jwt.stateless=true}) the authentication is built from the token claims alone, without loading the user,
+ * so the filter does no I/O; a disabled or deleted user then keeps access until the token expires or is revoked.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -32,6 +42,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -41,16 +57,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : Optional.empty();
+            if (claims.isPresent() && isCurrentVersion(claims.get())) {
+                String username = claims.get().getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                UsernamePasswordAuthenticationToken authentication;
+                if (stateless) {
+                    List<GrantedAuthority> authorities = JwtTokenProvider.getAuthorities(claims.get());
+                    UserDetails principal = new User(username, "", authorities);
+                    authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+                } else {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                }
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -63,6 +86,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean isCurrentVersion(Claims claims) {
+        // Only older versions are revoked: a newer one was issued before a restart, or by another replica,
+        // whose revocation this in-memory registry does not know about
+        if (JwtTokenProvider.getTokenVersion(claims) >= tokenVersions.current(claims.getSubject())) {
+            return true;
+        }
+        log.debug("Rejected revoked token for user: {}", claims.getSubject());
+        return false;
+    }
+
     /**
      * Extract JWT token from Authorization header or query parameter.
      * Query parameter is used for SSE connections which cannot send custom headers.
@@ -2,40 +2,80 @@ package com.lisacbot.infrastructure.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * JWT token provider for generating and validating JWT tokens.
+ *
+ * The signing key and parser are built once. Verified claims are kept in a small LRU cache keyed by the exact
+ * token string, until the token expires, so a dashboard sending the same token on every request pays for one
+ * signature verification instead of one per request.
  */
 @Component
 public class JwtTokenProvider {
 
     private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    /** Claim holding the user's authorities, so the request filter can skip loading the user */
+    public static final String ROLES_CLAIM = "roles";
+
+    /** Claim holding the token version, checked against {@link TokenVersionRegistry} */
+    public static final String VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.cache.size:1024}")
+    private int cacheSize;
+
+    private SecretKey key;
+    private JwtParser parser;
+    private Map<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    public void initialize() {
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedClaims = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
     /**
-     * Generate a JWT token from authentication.
+     * Generate a JWT token from authentication, embedding the user's authorities and token version.
      *
      * @param authentication the authentication object
+     * @param tokenVersion the user's current token version
      * @return the generated JWT token
      */
-    public String generateToken(Authentication authentication) {
+    public String generateToken(Authentication authentication, int tokenVersion) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userDetails.getUsername());
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return buildToken(userDetails.getUsername(), roles, tokenVersion);
     }
 
     /**
@@ -45,35 +85,96 @@ public class JwtTokenProvider {
      * @return the generated JWT token
      */
     public String generateTokenFromUsername(String username) {
+        return buildToken(username, List.of(), 0);
+    }
+
+    private String buildToken(String username, List<String> roles, int tokenVersion) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
                 .subject(username)
+                .claim(ROLES_CLAIM, roles)
+                .claim(VERSION_CLAIM, tokenVersion)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * Get the authorities embedded in verified claims.
+     *
+     * @param claims the verified claims
+     * @return the authorities, empty for tokens issued without them
+     */
+    public static List<GrantedAuthority> getAuthorities(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+    }
+
+    /**
+     * Get the token version embedded in verified claims.
+     *
+     * @param claims the verified claims
+     * @return the version, 0 for tokens issued without one
+     */
+    public static int getTokenVersion(Claims claims) {
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Verify a JWT token and return its claims, from the cache when the token was verified recently.
+     *
+     * @param token the JWT token
+     * @return the claims, or empty if the token is invalid or expired
+     */
+    public Optional<Claims> parseClaims(String token) {
+        Claims claims;
+        synchronized (verifiedClaims) {
+            claims = verifiedClaims.get(token);
+        }
+        if (claims != null) {
+            if (claims.getExpiration() != null && claims.getExpiration().after(new Date())) {
+                return Optional.of(claims);
+            }
+            synchronized (verifiedClaims) {
+                verifiedClaims.remove(token);
+            }
+        }
+
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+        // Tokens without an expiry are not cached, since the cache relies on expiry to drop them
+        if (claims.getExpiration() != null) {
+            synchronized (verifiedClaims) {
+                verifiedClaims.put(token, claims);
+            }
+        }
+        return Optional.of(claims);
+    }
+
     /**
      * Get username from JWT token.
      *
      * @param token the JWT token
      * @return the username
+     * @throws JwtException if the token is invalid
      */
     public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
 
     /**
@@ -83,18 +184,6 @@ public class JwtTokenProvider {
      * @return true if valid, false otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-
-            return true;
-        } catch (JwtException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-        }
-        return false;
+        return parseClaims(token).isPresent();
     }
 }
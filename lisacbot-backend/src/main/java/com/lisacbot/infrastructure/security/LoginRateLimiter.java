@@ -0,0 +1,91 @@
+package com.lisacbot.infrastructure.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket limiter for login attempts, keyed both by client IP and by username.
+ *
+ * Each key gets a bucket of {@code capacity} attempts refilled at {@code refillPerMinute}; an attempt needs a token
+ * from both its IP bucket and its username bucket, so neither a single client nor a distributed attack on one
+ * account can keep the password hashing busy. Buckets are kept in an LRU map of at most {@code maxKeys} entries:
+ * the least recently used one, the most likely to have refilled, makes room for a new key in constant time.
+ */
+@Component
+public class LoginRateLimiter {
+
+    @Value("${security.login.rate.capacity:5}")
+    private int capacity;
+
+    @Value("${security.login.rate.refill.per.minute:5}")
+    private double refillPerMinute;
+
+    @Value("${security.login.rate.max.keys:10000}")
+    private int maxKeys;
+
+    // Access-ordered; guarded by its own monitor
+    private final Map<String, TokenBucket> buckets = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > maxKeys;
+        }
+    };
+
+    /**
+     * Take one token for this attempt from both the IP and the username buckets.
+     *
+     * @param clientIp the client IP address
+     * @param username the username being logged in
+     * @return 0 if the attempt is allowed, otherwise the seconds to wait before retrying
+     */
+    public long tryAcquire(String clientIp, String username) {
+        long now = System.nanoTime();
+        TokenBucket ipBucket;
+        TokenBucket userBucket;
+        synchronized (buckets) {
+            ipBucket = buckets.computeIfAbsent("ip:" + clientIp, key -> new TokenBucket(now));
+            userBucket = buckets.computeIfAbsent("user:" + username, key -> new TokenBucket(now));
+        }
+        long ipWait = ipBucket.tryTake(now);
+        if (ipWait > 0) {
+            return ipWait;
+        }
+        long userWait = userBucket.tryTake(now);
+        if (userWait > 0) {
+            ipBucket.giveBack();
+        }
+        return userWait;
+    }
+
+    private final class TokenBucket {
+        private double tokens;
+        private long refilledAtNanos;
+
+        private TokenBucket(long now) {
+            this.tokens = capacity;
+            this.refilledAtNanos = now;
+        }
+
+        private synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * 60 / refillPerMinute);
+        }
+
+        private synchronized void giveBack() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        private void refill(long now) {
+            double elapsedMinutes = (now - refilledAtNanos) / 60_000_000_000.0;
+            tokens = Math.min(capacity, tokens + elapsedMinutes * refillPerMinute);
+            refilledAtNanos = now;
+        }
+    }
+}
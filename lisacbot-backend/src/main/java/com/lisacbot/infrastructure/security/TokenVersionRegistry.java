@@ -0,0 +1,37 @@
+package com.lisacbot.infrastructure.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current token version per user, embedded in every JWT at login.
+ *
+ * Revoking a user's tokens bumps the version, so tokens issued before are rejected without a database lookup.
+ * Users that were never revoked are not stored (version 0). The map lives in memory: a revocation holds until
+ * the revoked tokens expire or the server restarts, and each replica only knows its own revocations.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    /**
+     * @param username the username
+     * @return the version tokens of this user must carry to be accepted
+     */
+    public int current(String username) {
+        return versions.getOrDefault(username, 0);
+    }
+
+    /**
+     * Invalidate every token issued so far for a user.
+     *
+     * @param username the username
+     * @return the new version, to embed in the user's next token
+     */
+    public int revoke(String username) {
+        return versions.merge(username, 1, Integer::sum);
+    }
+}
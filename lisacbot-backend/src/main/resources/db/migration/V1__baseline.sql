@@ -0,0 +1,39 @@
+-- Baseline schema, matching what ddl-auto=update created before migrations were introduced.
+-- IF NOT EXISTS keeps it a no-op on existing databases.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    enabled BOOLEAN NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS trades_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS trades (
+    id BIGINT PRIMARY KEY,
+    timestamp TIMESTAMP(6) NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    quantity DOUBLE PRECISION NOT NULL,
+    balance_before DOUBLE PRECISION NOT NULL,
+    balance_after DOUBLE PRECISION NOT NULL,
+    profit_loss_percentage DOUBLE PRECISION,
+    strategy VARCHAR(50) NOT NULL,
+    market_cycle VARCHAR(20) NOT NULL,
+    reason VARCHAR(100)
+);
+
+CREATE TABLE IF NOT EXISTS trade_metrics_checkpoint (
+    strategy VARCHAR(50) PRIMARY KEY,
+    last_trade_id BIGINT NOT NULL,
+    total_trades BIGINT NOT NULL,
+    buy_trades BIGINT NOT NULL,
+    sell_trades BIGINT NOT NULL,
+    profitable_trades BIGINT NOT NULL,
+    losing_trades BIGINT NOT NULL,
+    total_profit_loss DOUBLE PRECISION NOT NULL,
+    best_trade DOUBLE PRECISION NOT NULL,
+    worst_trade DOUBLE PRECISION NOT NULL,
+    total_volume DOUBLE PRECISION NOT NULL
+);
@@ -0,0 +1,38 @@
+-- Converts trades into a table range-partitioned by month on timestamp.
+-- Existing rows land in the default partition; TradePartitionMaintainer then moves them
+-- into monthly partitions and keeps partitions created ahead of time.
+
+ALTER TABLE trades RENAME TO trades_legacy;
+ALTER TABLE trades_legacy RENAME CONSTRAINT trades_pkey TO trades_legacy_pkey;
+DROP INDEX IF EXISTS idx_trades_timestamp_id;
+DROP INDEX IF EXISTS idx_trades_type_strategy;
+
+CREATE TABLE trades (
+    id BIGINT NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    quantity DOUBLE PRECISION NOT NULL,
+    balance_before DOUBLE PRECISION NOT NULL,
+    balance_after DOUBLE PRECISION NOT NULL,
+    profit_loss_percentage DOUBLE PRECISION,
+    strategy VARCHAR(50) NOT NULL,
+    market_cycle VARCHAR(20) NOT NULL,
+    reason VARCHAR(100),
+    CONSTRAINT trades_pkey PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE trades_default PARTITION OF trades DEFAULT;
+
+INSERT INTO trades (id, timestamp, type, price, quantity, balance_before, balance_after,
+                    profit_loss_percentage, strategy, market_cycle, reason)
+SELECT id, timestamp, type, price, quantity, balance_before, balance_after,
+       profit_loss_percentage, strategy, market_cycle, reason
+FROM trades_legacy;
+
+DROP TABLE trades_legacy;
+
+-- Keyset pagination, range queries and sorting by timestamp
+CREATE INDEX idx_trades_timestamp_id ON trades (timestamp, id);
+-- Metrics aggregation by type and strategy
+CREATE INDEX idx_trades_type_strategy ON trades (type, strategy);
@@ -0,0 +1,22 @@
+-- Trades of the bot instances hosted by the bot manager, kept apart from the main bot's trades
+-- so they never show up in the main trade history, metrics or partitions.
+
+CREATE SEQUENCE IF NOT EXISTS bot_trades_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS bot_trades (
+    id BIGINT PRIMARY KEY,
+    bot_id BIGINT NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    quantity DOUBLE PRECISION NOT NULL,
+    balance_before DOUBLE PRECISION NOT NULL,
+    balance_after DOUBLE PRECISION NOT NULL,
+    profit_loss_percentage DOUBLE PRECISION,
+    strategy VARCHAR(50) NOT NULL,
+    market_cycle VARCHAR(20) NOT NULL,
+    reason VARCHAR(100)
+);
+
+-- Latest trades of one bot
+CREATE INDEX IF NOT EXISTS idx_bot_trades_bot_id_timestamp ON bot_trades (bot_id, timestamp);
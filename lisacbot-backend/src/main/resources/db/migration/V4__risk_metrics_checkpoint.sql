@@ -0,0 +1,8 @@
+-- Checkpoint of the streaming risk analytics (equity index, curve accumulators, rolling windows),
+-- so the startup rebuild does not stream the full trade history. A single row, stored as JSON.
+
+CREATE TABLE IF NOT EXISTS risk_metrics_checkpoint (
+    id INTEGER PRIMARY KEY,
+    last_trade_id BIGINT NOT NULL,
+    state TEXT NOT NULL
+);
@@ -0,0 +1,60 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.infrastructure.persistence.JpaUserRepository;
+import com.lisacbot.infrastructure.persistence.UserEntity;
+import com.lisacbot.infrastructure.security.CustomUserDetailsService;
+import com.lisacbot.infrastructure.security.JwtTokenProvider;
+import com.lisacbot.infrastructure.security.TokenVersionRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that a password change is visible right away despite the user cache, and revokes older tokens.
+ */
+class AuthenticationServiceTest {
+
+    @Test
+    void testChangePasswordEvictsTheCachedUser() {
+        UserEntity user = new UserEntity("alice", "old-hash");
+        JpaUserRepository userRepository = mock(JpaUserRepository.class);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userDetailsService, "cacheSize", 10);
+        ReflectionTestUtils.setField(userDetailsService, "cacheTtlSeconds", 300L);
+        userDetailsService.initialize();
+
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode("new-password")).thenReturn("new-hash");
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenReturn(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        TokenVersionRegistry tokenVersions = new TokenVersionRegistry();
+
+        AuthenticationService service = new AuthenticationService();
+        ReflectionTestUtils.setField(service, "authenticationManager", authenticationManager);
+        ReflectionTestUtils.setField(service, "jwtTokenProvider", mock(JwtTokenProvider.class));
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(service, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(service, "tokenVersions", tokenVersions);
+
+        assertEquals("old-hash", userDetailsService.loadUserByUsername("alice").getPassword());
+        service.changePassword("alice", "old-password", "new-password");
+
+        // Well within the TTL, the next lookup already sees the new hash
+        assertEquals("new-hash", userDetailsService.loadUserByUsername("alice").getPassword());
+        assertEquals(1, tokenVersions.current("alice"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.BotInstanceConfig;
+import com.lisacbot.domain.model.BotTrade;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.port.BotTradeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks bot creation limits, configuration validation and where hosted bot trades are persisted.
+ */
+class BotManagerTest {
+
+    /**
+     * In-memory bot trade store.
+     */
+    private static class FakeBotTradeRepository implements BotTradeRepository {
+        final List<BotTrade> saved = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void saveAll(List<BotTrade> trades) {
+            saved.addAll(trades);
+        }
+
+        @Override
+        public List<Trade> findRecentByBotId(long botId, int limit) {
+            return saved.stream().filter(trade -> trade.botId() == botId).map(BotTrade::trade).limit(limit).toList();
+        }
+
+        @Override
+        public long findMaxBotId() {
+            return saved.stream().mapToLong(BotTrade::botId).max().orElse(0);
+        }
+    }
+
+    private final FakeBotTradeRepository repository = new FakeBotTradeRepository();
+    private BotManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    private static BotInstanceConfig config(double initialBalance, boolean persistTrades) {
+        return new BotInstanceConfig("test", "sma", initialBalance, false, 5.0, false, 8.0,
+                Set.of(MarketCycle.values()), persistTrades);
+    }
+
+    @Test
+    void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> config(0, false));
+        assertThrows(IllegalArgumentException.class, () -> config(-100, false));
+        assertThrows(IllegalArgumentException.class, () -> config(Double.NaN, false));
+    }
+
+    @Test
+    void testMaxBotsHoldsUnderConcurrentCreation() throws Exception {
+        manager = new BotManager(repository, 4, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    manager.createBot(config(1000, false), price -> Signal.HOLD, false);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                created++;
+            }
+        }
+        executor.shutdown();
+        assertEquals(5, created);
+        assertEquals(5, manager.getBotCount());
+    }
+
+    @Test
+    void testHostedTradesGoToTheBotStore() {
+        manager = new BotManager(repository, 2, 10);
+        long persisted = manager.createBot(config(1000, true), price -> Signal.BUY, true).id();
+        manager.createBot(config(1000, false), price -> Signal.BUY, true);
+
+        manager.executeTradingCycle(new Price(100, LocalDateTime.now()), MarketCycle.MARKUP);
+
+        assertEquals(1, repository.saved.size());
+        assertEquals(persisted, repository.saved.get(0).botId());
+        assertEquals(Signal.BUY, manager.getRecentTrades(persisted, 10).get(0).getType());
+    }
+
+    @Test
+    void testIdsContinueAfterStoredBots() {
+        repository.saveAll(List.of(new BotTrade(41, new Trade(null, LocalDateTime.now(), Signal.BUY, 100, 1,
+                100, 0, null, "SMA", MarketCycle.MARKUP, "test"))));
+        manager = new BotManager(repository, 1, 10);
+        manager.alignIdSequence();
+
+        assertEquals(42, manager.createBot(config(1000, false), price -> Signal.HOLD, false).id());
+    }
+}
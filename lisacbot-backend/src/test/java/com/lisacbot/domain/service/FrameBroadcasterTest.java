@@ -0,0 +1,98 @@
+package com.lisacbot.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks demand-driven delivery and the overflow policies of the SSE frame broadcaster.
+ */
+class FrameBroadcasterTest {
+
+    private static final SseFrame A = SseFrame.of(null, "test", "\"a\"");
+    private static final SseFrame B = SseFrame.of(null, "test", "\"b\"");
+    private static final SseFrame C = SseFrame.of(null, "test", "\"c\"");
+
+    /**
+     * Records what it receives; requests nothing by itself.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<SseFrame> {
+        final List<SseFrame> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(SseFrame frame) {
+            received.add(frame);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+
+    @Test
+    void testDeliversOnlyRequestedFrames() throws Exception {
+        FrameBroadcaster broadcaster = new FrameBroadcaster("test", 10, FrameBroadcaster.OverflowPolicy.DROP_OLDEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        broadcaster.subscribe(subscriber, List.of(A));
+        broadcaster.publish(B);
+        broadcaster.publish(C);
+
+        subscriber.subscription.request(2);
+        Thread.sleep(200);
+        assertEquals(List.of(A, B), subscriber.received);
+
+        subscriber.subscription.request(1);
+        broadcaster.close();
+        assertTrue(subscriber.terminated.await(2, TimeUnit.SECONDS));
+        assertFalse(broadcaster.hasSubscribers());
+    }
+
+    @Test
+    void testConflationKeepsOnlyTheLatestFrame() throws Exception {
+        FrameBroadcaster broadcaster = new FrameBroadcaster("test", 1, FrameBroadcaster.OverflowPolicy.CONFLATE);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        broadcaster.subscribe(subscriber);
+        broadcaster.publish(A);
+        broadcaster.publish(B);
+        broadcaster.publish(C);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Thread.sleep(200);
+        assertEquals(List.of(C), subscriber.received);
+    }
+
+    @Test
+    void testDisconnectPolicyFailsSlowSubscriber() throws Exception {
+        FrameBroadcaster broadcaster = new FrameBroadcaster("test", 2, FrameBroadcaster.OverflowPolicy.DISCONNECT);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        broadcaster.subscribe(subscriber);
+        broadcaster.publish(A);
+        broadcaster.publish(B);
+        broadcaster.publish(C);
+
+        assertTrue(subscriber.terminated.await(2, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+        assertFalse(broadcaster.hasSubscribers());
+    }
+}
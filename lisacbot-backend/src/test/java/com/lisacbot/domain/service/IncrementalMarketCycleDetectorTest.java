@@ -0,0 +1,64 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Price;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the streaming market cycle detector matches the batch detector on a sliding window.
+ */
+class IncrementalMarketCycleDetectorTest {
+
+    private final MarketCycleDetector detector = new MarketCycleDetector(30, -10.0, 20.0, 0.02, 0.05);
+
+    @Test
+    void testMatchesBatchDetectionOnSlidingWindow() {
+        int windowSize = 721;
+        IncrementalMarketCycleDetector incremental = detector.newIncrementalDetector(windowSize);
+        List<Price> prices = randomWalk(3000);
+
+        for (int i = 0; i < prices.size(); i++) {
+            incremental.add(prices.get(i).value());
+
+            // Simulate a fresher tick of the still-open bar
+            if (i % 7 == 0) {
+                double updated = prices.get(i).value() * 1.01;
+                incremental.replaceLast(updated);
+                prices.set(i, new Price(updated));
+            }
+
+            List<Price> window = prices.subList(Math.max(0, i - windowSize + 1), i + 1);
+            assertEquals(detector.detectCycle(window), incremental.currentCycle(), "Cycle mismatch at price " + i);
+        }
+    }
+
+    @Test
+    void testUnknownUntilAnalysisWindowIsFilled() {
+        IncrementalMarketCycleDetector incremental = detector.newIncrementalDetector(100);
+
+        for (int i = 0; i < 29; i++) {
+            incremental.add(100.0 + i);
+            assertEquals(MarketCycle.UNKNOWN, incremental.currentCycle());
+        }
+
+        incremental.add(130.0);
+        assertNotEquals(MarketCycle.UNKNOWN, incremental.currentCycle());
+    }
+
+    private static List<Price> randomWalk(int size) {
+        Random random = new Random(42);
+        List<Price> prices = new ArrayList<>();
+        double price = 30000.0;
+        for (int i = 0; i < size; i++) {
+            price *= 1 + random.nextGaussian() * 0.03;
+            prices.add(new Price(price));
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,110 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.MarketCycleTimeline;
+import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.port.PriceProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks caching and incremental extension of the market cycle timeline.
+ */
+class MarketCycleTimelineServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * In-memory history that counts full-history reads.
+     */
+    private static class FakePriceProvider implements PriceProvider {
+        final List<Price> prices = new ArrayList<>();
+        long version = 1;
+        int fullReads;
+
+        @Override
+        public Price getCurrentPrice() {
+            return prices.get(prices.size() - 1);
+        }
+
+        @Override
+        public List<Price> getHistoricalPrices(int days) {
+            return List.copyOf(prices);
+        }
+
+        @Override
+        public List<Price> getAllHistoricalPrices() {
+            fullReads++;
+            return List.copyOf(prices);
+        }
+
+        @Override
+        public List<Price> getHistoricalPricesFrom(int fromIndex) {
+            return fromIndex >= prices.size() ? List.of() : List.copyOf(prices.subList(fromIndex, prices.size()));
+        }
+
+        @Override
+        public long getHistoryVersion() {
+            return version;
+        }
+
+        @Override
+        public List<Price> getRecentTicks() {
+            return List.of();
+        }
+
+        void append(int bars, Random random) {
+            double value = prices.isEmpty() ? 100 : prices.get(prices.size() - 1).value();
+            for (int i = 0; i < bars; i++) {
+                value *= 1 + random.nextGaussian() * 0.01;
+                prices.add(new Price(value, START.plusHours(prices.size())));
+            }
+            version++;
+        }
+    }
+
+    private final MarketCycleDetector detector = new MarketCycleDetector(5, -10.0, 20.0, 0.02, 0.05);
+
+    private static void assertSameCycles(MarketCycleTimeline expected, MarketCycleTimeline actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.cycleAt(i), actual.cycleAt(i), "Cycle mismatch at bar " + i);
+        }
+    }
+
+    @Test
+    void testTimelineIsCachedUntilBarsAreAppended() {
+        FakePriceProvider provider = new FakePriceProvider();
+        provider.append(500, new Random(1));
+        MarketCycleTimelineService service = new MarketCycleTimelineService(provider, detector);
+
+        MarketCycleTimeline timeline = service.getTimeline();
+        // Updating the open bar does not change the version
+        provider.prices.set(499, new Price(1.0, provider.prices.get(499).timestamp()));
+        assertSame(timeline, service.getTimeline());
+        assertEquals(1, provider.fullReads);
+    }
+
+    @Test
+    void testAppendedBarsExtendTheTimelineLikeAFullRecompute() {
+        Random random = new Random(2);
+        FakePriceProvider provider = new FakePriceProvider();
+        provider.append(2000, random);
+        MarketCycleTimelineService service = new MarketCycleTimelineService(provider, detector);
+        service.getTimeline();
+
+        // The previously open bar got a later close, then new bars were appended
+        Price open = provider.prices.get(1999);
+        provider.prices.set(1999, new Price(open.value() * 1.3, open.timestamp()));
+        provider.append(300, random);
+
+        MarketCycleTimeline extended = service.getTimeline();
+        assertEquals(1, provider.fullReads);
+        assertSameCycles(new MarketCycleTimelineService(provider, detector).getTimeline(), extended);
+    }
+}
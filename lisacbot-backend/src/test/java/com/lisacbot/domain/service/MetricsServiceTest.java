@@ -0,0 +1,222 @@
+package com.lisacbot.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.RiskCheckpoint;
+import com.lisacbot.domain.model.RiskState;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.StrategyTradeStats;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeMetrics;
+import com.lisacbot.domain.model.TradeMetricsCheckpoint;
+import com.lisacbot.domain.port.TradeMetricsCheckpointRepository;
+import com.lisacbot.domain.port.TradeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that database-aggregated metrics match the in-memory ones, and the checkpointed startup rebuild.
+ */
+class MetricsServiceTest {
+
+    // SMA: buy 2 @ 100, sell 2 @ 110 (+10%), sell 1 @ 90 without P/L; MACD: two round trips (-5%, +2%)
+    private final List<Trade> trades = List.of(
+            trade(Signal.BUY, 100.0, 2.0, null, "SMA"),
+            trade(Signal.SELL, 110.0, 2.0, 10.0, "SMA"),
+            trade(Signal.BUY, 100.0, 1.0, null, "MACD"),
+            trade(Signal.SELL, 95.0, 1.0, -5.0, "MACD"),
+            trade(Signal.BUY, 100.0, 1.0, null, "MACD"),
+            trade(Signal.SELL, 102.0, 1.0, 2.0, "MACD"),
+            trade(Signal.SELL, 90.0, 1.0, null, "SMA")
+    );
+
+    // What the aggregate query returns for the same trades
+    private final List<StrategyTradeStats> rows = List.of(
+            new StrategyTradeStats("SMA", 3, 1, 1, 1, 0, 10.0, 10.0, 10.0, 510.0),
+            new StrategyTradeStats("MACD", 4, 2, 2, 1, 1, -3.0, 2.0, -5.0, 397.0)
+    );
+
+    private MetricsService service(TradeRepository repository, String source) {
+        MetricsService service = new MetricsService(repository, mock(TradeMetricsCheckpointRepository.class));
+        ReflectionTestUtils.setField(service, "metricsSource", source);
+        ReflectionTestUtils.setField(service, "riskWindowDays", List.of(7));
+        return service;
+    }
+
+    @Test
+    void testDatabaseSourceMatchesInMemoryMetrics() {
+        TradeRepository repository = mock(TradeRepository.class);
+        when(repository.aggregateByStrategy()).thenReturn(rows);
+
+        MetricsService memory = service(repository, "memory");
+        trades.forEach(memory::recordTrade);
+        MetricsService database = service(repository, "database");
+
+        TradeMetrics expected = memory.calculateMetrics();
+        TradeMetrics actual = database.calculateMetrics();
+        assertEquals(expected.getTotalTrades(), actual.getTotalTrades());
+        assertEquals(expected.getBuyTrades(), actual.getBuyTrades());
+        assertEquals(expected.getSellTrades(), actual.getSellTrades());
+        assertEquals(expected.getProfitableTrades(), actual.getProfitableTrades());
+        assertEquals(expected.getLosingTrades(), actual.getLosingTrades());
+        assertEquals(expected.getWinRate(), actual.getWinRate(), 1e-9);
+        assertEquals(expected.getTotalProfitLoss(), actual.getTotalProfitLoss(), 1e-9);
+        assertEquals(expected.getBestTrade(), actual.getBestTrade());
+        assertEquals(expected.getWorstTrade(), actual.getWorstTrade());
+        assertEquals(expected.getTotalVolume(), actual.getTotalVolume(), 1e-9);
+        assertEquals(expected.getMostUsedStrategy(), actual.getMostUsedStrategy());
+        assertEquals(expected.getMostProfitableStrategy(), actual.getMostProfitableStrategy());
+        assertEquals(memory.getStrategyStats(), database.getStrategyStats());
+    }
+
+    @Test
+    void testDatabaseSourceQueriesOnEveryRead() {
+        TradeRepository repository = mock(TradeRepository.class);
+        when(repository.aggregateByStrategy()).thenReturn(rows);
+        MetricsService database = service(repository, "database");
+        database.rebuild();
+
+        // Recorded trades are not counted twice: the query already sees them
+        trades.forEach(database::recordTrade);
+        assertEquals(7, database.calculateMetrics().getTotalTrades());
+        assertEquals(List.of("MACD", "SMA"), database.getStrategyStats().stream().map(StrategyTradeStats::strategy).toList());
+        verify(repository, times(2)).aggregateByStrategy();
+    }
+
+    /**
+     * Checkpoint store that keeps the risk state as JSON, like the JPA adapter.
+     */
+    private static class JsonCheckpointRepository implements TradeMetricsCheckpointRepository {
+        private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        private TradeMetricsCheckpoint checkpoint;
+        private long riskLastTradeId;
+        private String riskJson;
+
+        @Override
+        public Optional<TradeMetricsCheckpoint> load() {
+            return Optional.ofNullable(checkpoint);
+        }
+
+        @Override
+        public void save(TradeMetricsCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        public Optional<RiskCheckpoint> loadRisk() {
+            if (riskJson == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new RiskCheckpoint(riskLastTradeId, objectMapper.readValue(riskJson, RiskState.class)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void saveRisk(RiskCheckpoint checkpoint) {
+            try {
+                riskLastTradeId = checkpoint.lastTradeId();
+                riskJson = objectMapper.writeValueAsString(checkpoint.state());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Trade history of numbered round trips, one trade per day, that counts the streamed trades.
+     */
+    private static TradeRepository history(List<Trade> history, List<Long> streamedAfter) {
+        TradeRepository repository = mock(TradeRepository.class);
+        doAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            Consumer<Trade> action = invocation.getArgument(1);
+            streamedAfter.add(after);
+            history.stream().filter(trade -> trade.getId() > after).forEach(action);
+            return null;
+        }).when(repository).forEachTradeAfter(anyLong(), any());
+        return repository;
+    }
+
+    private static void appendRoundTrips(List<Trade> history, int count) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            long id = history.size() + 1;
+            double profitLoss = (id % 7) - 3.0;
+            history.add(new Trade(id, start.plusDays(id), Signal.BUY, 100.0, 1.0, 0.0, 0.0, null,
+                    id % 2 == 0 ? "SMA" : "MACD", MarketCycle.MARKUP, "Strategy signal"));
+            history.add(new Trade(id + 1, start.plusDays(id + 1), Signal.SELL, 100.0 + profitLoss, 1.0, 0.0, 0.0,
+                    profitLoss, id % 2 == 0 ? "SMA" : "MACD", MarketCycle.MARKUP, "Strategy signal"));
+        }
+    }
+
+    private static MetricsService checkpointed(TradeRepository repository, TradeMetricsCheckpointRepository checkpoints,
+                                               String source, boolean enabled) {
+        MetricsService service = new MetricsService(repository, checkpoints);
+        ReflectionTestUtils.setField(service, "metricsSource", source);
+        ReflectionTestUtils.setField(service, "riskWindowDays", List.of(7, 30));
+        ReflectionTestUtils.setField(service, "checkpointEnabled", enabled);
+        return service;
+    }
+
+    @Test
+    void testRebuildStreamsOnlyTradesAfterTheCheckpoints() {
+        for (String source : List.of("memory", "database")) {
+            List<Trade> trades = new ArrayList<>();
+            List<Long> streamedAfter = new ArrayList<>();
+            TradeRepository repository = history(trades, streamedAfter);
+            when(repository.aggregateByStrategy()).thenReturn(rows);
+            JsonCheckpointRepository checkpoints = new JsonCheckpointRepository();
+
+            appendRoundTrips(trades, 40);
+            checkpointed(repository, checkpoints, source, true).rebuild();
+            appendRoundTrips(trades, 25);
+            MetricsService restarted = checkpointed(repository, checkpoints, source, true);
+            restarted.rebuild();
+
+            MetricsService full = checkpointed(repository, new JsonCheckpointRepository(), source, false);
+            full.rebuild();
+
+            // The restart resumed after the first run's last trade instead of streaming the full history
+            assertEquals(List.of(0L, 80L, 0L), streamedAfter, source);
+            assertEquals(full.getRiskReport(), restarted.getRiskReport(), source);
+            assertEquals(full.getStrategyStats(), restarted.getStrategyStats(), source);
+            assertEquals(trades.size(), checkpoints.loadRisk().orElseThrow().lastTradeId());
+        }
+    }
+
+    @Test
+    void testRiskCheckpointOfOtherWindowsIsIgnored() {
+        List<Trade> trades = new ArrayList<>();
+        List<Long> streamedAfter = new ArrayList<>();
+        TradeRepository repository = history(trades, streamedAfter);
+        JsonCheckpointRepository checkpoints = new JsonCheckpointRepository();
+        appendRoundTrips(trades, 20);
+        checkpointed(repository, checkpoints, "memory", true).rebuild();
+
+        MetricsService reconfigured = checkpointed(repository, checkpoints, "memory", true);
+        ReflectionTestUtils.setField(reconfigured, "riskWindowDays", List.of(14));
+        reconfigured.rebuild();
+
+        // The per-strategy checkpoint is still current, but the risk analytics need the full history
+        assertEquals(List.of(0L, 0L), streamedAfter);
+        assertEquals(14, reconfigured.getRiskReport().windows().get(0).days());
+        assertEquals(40, reconfigured.calculateMetrics().getTotalTrades());
+    }
+
+    private static Trade trade(Signal type, double price, double quantity, Double profitLoss, String strategy) {
+        return new Trade(null, LocalDateTime.now(), type, price, quantity, 0.0, 0.0, profitLoss,
+                strategy, MarketCycle.MARKUP, "Strategy signal");
+    }
+}
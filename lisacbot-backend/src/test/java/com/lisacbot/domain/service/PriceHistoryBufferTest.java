@@ -0,0 +1,26 @@
+package com.lisacbot.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the ordering of the warm-up price history.
+ */
+class PriceHistoryBufferTest {
+
+    @Test
+    void testKeepsMostRecentPricesOldestFirst() {
+        PriceHistoryBuffer buffer = new PriceHistoryBuffer(3);
+        assertArrayEquals(new double[0], buffer.toArray());
+
+        buffer.add(1);
+        buffer.add(2);
+        assertArrayEquals(new double[]{1, 2}, buffer.toArray());
+
+        buffer.add(3);
+        buffer.add(4);
+        buffer.add(5);
+        assertArrayEquals(new double[]{3, 4, 5}, buffer.toArray());
+    }
+}
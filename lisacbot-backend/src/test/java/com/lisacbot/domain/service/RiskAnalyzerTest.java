@@ -0,0 +1,76 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.RiskMetrics;
+import com.lisacbot.domain.model.RiskReport;
+import com.lisacbot.domain.model.RiskWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the streamed equity-curve statistics against values computed from the full curve.
+ */
+class RiskAnalyzerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final double[] curve = {100, 110, 99, 121, 115, 118, 130};
+
+    @Test
+    void testMetricsMatchFullCurve() {
+        RiskAnalyzer analyzer = new RiskAnalyzer(List.of());
+        for (int i = 0; i < curve.length; i++) {
+            analyzer.add(START.plusDays(i), curve[i]);
+        }
+        RiskMetrics metrics = analyzer.report().overall();
+
+        double[] returns = new double[curve.length - 1];
+        double mean = 0;
+        for (int i = 1; i < curve.length; i++) {
+            returns[i - 1] = curve[i] / curve[i - 1] - 1;
+            mean += returns[i - 1] / returns.length;
+        }
+        double variance = 0;
+        double downside = 0;
+        for (double r : returns) {
+            variance += (r - mean) * (r - mean) / (returns.length - 1);
+            downside += r < 0 ? r * r / returns.length : 0;
+        }
+        double periodsPerYear = returns.length / (6 / 365.0);
+
+        assertEquals(7, metrics.observations());
+        assertEquals(30.0, metrics.totalReturnPercentage(), 1e-9);
+        assertEquals(mean / Math.sqrt(variance) * Math.sqrt(periodsPerYear), metrics.sharpeRatio(), 1e-9);
+        assertEquals(mean / Math.sqrt(downside) * Math.sqrt(periodsPerYear), metrics.sortinoRatio(), 1e-9);
+        assertEquals(10.0, metrics.maxDrawdownPercentage(), 1e-9);
+        // Longest drawdown: 121 on day 3, recovered on day 6
+        assertEquals(3 * 24 * 60, metrics.maxDrawdownDurationMinutes());
+        assertEquals(metrics.annualizedReturnPercentage() / 10.0, metrics.calmarRatio(), metrics.calmarRatio() * 1e-12);
+    }
+
+    @Test
+    void testWindowsRollOver() {
+        RiskAnalyzer analyzer = new RiskAnalyzer(List.of(3));
+        for (int i = 0; i < curve.length; i++) {
+            analyzer.add(START.plusDays(i), curve[i]);
+        }
+        RiskReport report = analyzer.report();
+
+        RiskWindow window = report.windows().get(0);
+        assertEquals(3, window.days());
+        // Windows start on days 0, 3 and 6; each continues from the previous window's last point
+        assertNotNull(window.previous());
+        assertEquals((118.0 / 99 - 1) * 100, window.previous().totalReturnPercentage(), 1e-9);
+        assertEquals((130.0 / 118 - 1) * 100, window.current().totalReturnPercentage(), 1e-9);
+    }
+
+    @Test
+    void testEmptyCurve() {
+        RiskMetrics metrics = new RiskAnalyzer(List.of(7)).report().overall();
+        assertEquals(0, metrics.observations());
+        assertEquals(0.0, metrics.sharpeRatio());
+        assertEquals(0.0, metrics.maxDrawdownPercentage());
+    }
+}
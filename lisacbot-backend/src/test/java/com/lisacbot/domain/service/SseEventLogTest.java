@@ -0,0 +1,52 @@
+package com.lisacbot.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which events are replayed for a given Last-Event-ID.
+ */
+class SseEventLogTest {
+
+    @Test
+    void testReplaysOnlyMissedEvents() {
+        SseEventLog log = new SseEventLog(4);
+        SseFrame first = log.append("trade", "{\"n\":1}");
+        String firstId = log.lastId();
+        SseFrame second = log.append("trade", "{\"n\":2}");
+        SseFrame third = log.append("trade", "{\"n\":3}");
+
+        assertEquals(Optional.of(List.of(second, third)), log.since(firstId));
+        assertEquals(Optional.of(List.of()), log.since(log.lastId()));
+        // Still all buffered: replayed from the start of this run
+        String startId = firstId.substring(0, firstId.lastIndexOf('-')) + "-0";
+        assertEquals(Optional.of(List.of(first, second, third)), log.since(startId));
+    }
+
+    @Test
+    void testIdFromPreviousRunRequiresReset() {
+        SseEventLog log = new SseEventLog(4);
+        log.append("trade", "{}");
+
+        // Trades made between the disconnect and the restart are not in this log
+        assertTrue(log.since("previousrun-42").isEmpty());
+        assertTrue(log.since("previousrun-0").isEmpty());
+    }
+
+    @Test
+    void testEvictedEventsRequireReset() {
+        SseEventLog log = new SseEventLog(2);
+        log.append("trade", "{}");
+        String firstId = log.lastId();
+        log.append("trade", "{}");
+        log.append("trade", "{}");
+        log.append("trade", "{}");
+
+        assertTrue(log.since(firstId).isEmpty());
+        assertTrue(log.since("not-an-id").isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.lisacbot.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lisacbot.domain.model.BotStatus;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.PriceTick;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that the tick stream serializes only when someone listens and conflates for slow clients.
+ */
+class TickStreamPublisherTest {
+
+    /**
+     * Records frames, requesting them only when told to.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<SseFrame> {
+        final List<String> received = new CopyOnWriteArrayList<>();
+        volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(SseFrame frame) {
+            byte[] bytes = (byte[]) frame.getItems().iterator().next().getData();
+            received.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private static PriceTick tick(double price) {
+        BotStatus status = new BotStatus(true, 1000.0, 0.0, price, 1000.0, MarketCycle.MARKUP, "SMA");
+        return new PriceTick(LocalDateTime.of(2024, 1, 1, 12, 0), status, Map.of("sma", price));
+    }
+
+    @Test
+    void testNothingIsSerializedWithoutSubscribers() throws Exception {
+        ObjectMapper objectMapper = spy(new ObjectMapper().findAndRegisterModules());
+        TickStreamPublisher publisher = new TickStreamPublisher(objectMapper);
+
+        assertFalse(publisher.hasSubscribers());
+        publisher.publish(tick(100));
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+
+    @Test
+    void testSlowClientOnlyGetsTheLatestTick() throws Exception {
+        TickStreamPublisher publisher = new TickStreamPublisher(new ObjectMapper().findAndRegisterModules());
+        FrameBroadcaster broadcaster = (FrameBroadcaster) ReflectionTestUtils.getField(publisher, "broadcaster");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        broadcaster.subscribe(subscriber);
+        assertTrue(publisher.hasSubscribers());
+
+        publisher.publish(tick(100));
+        publisher.publish(tick(101));
+        publisher.publish(tick(102));
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Thread.sleep(200);
+
+        assertEquals(1, subscriber.received.size());
+        String frame = subscriber.received.get(0);
+        assertTrue(frame.startsWith("event:tick\ndata:"));
+        assertTrue(frame.contains("\"lastPrice\":102.0"));
+        assertTrue(frame.contains("\"indicators\":{\"sma\":102.0}"));
+        publisher.shutdown();
+    }
+}
@@ -0,0 +1,142 @@
+package com.lisacbot.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lisacbot.domain.event.TradeEvent;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that a trade is serialized once per broadcast and the same frame goes to every client.
+ */
+class TradeEventPublisherTest {
+
+    /**
+     * Counts serializations, including those of the copy the publisher configures.
+     */
+    private static class CountingObjectMapper extends ObjectMapper {
+        final AtomicInteger writes;
+
+        CountingObjectMapper() {
+            this.writes = new AtomicInteger();
+            findAndRegisterModules();
+        }
+
+        private CountingObjectMapper(CountingObjectMapper source) {
+            super(source);
+            this.writes = source.writes;
+        }
+
+        @Override
+        public ObjectMapper copy() {
+            return new CountingObjectMapper(this);
+        }
+
+        @Override
+        public String writeValueAsString(Object value) throws JsonProcessingException {
+            writes.incrementAndGet();
+            return super.writeValueAsString(value);
+        }
+    }
+
+    /**
+     * Requests every frame up front and records them.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<SseFrame> {
+        final List<SseFrame> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(SseFrame frame) {
+            received.add(frame);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @Test
+    void testTradeIsSerializedOnceAndTheFrameShared() throws Exception {
+        CountingObjectMapper objectMapper = new CountingObjectMapper();
+        TradeEventPublisher publisher = new TradeEventPublisher(mock(ApplicationEventPublisher.class), objectMapper);
+        ReflectionTestUtils.setField(publisher, "queueCapacity", 16);
+        ReflectionTestUtils.setField(publisher, "overflowPolicyName", "drop_oldest");
+        ReflectionTestUtils.setField(publisher, "replayBufferSize", 16);
+        publisher.initialize();
+
+        FrameBroadcaster broadcaster = (FrameBroadcaster) ReflectionTestUtils.getField(publisher, "broadcaster");
+        List<RecordingSubscriber> subscribers = List.of(new RecordingSubscriber(), new RecordingSubscriber(),
+                new RecordingSubscriber());
+        subscribers.forEach(broadcaster::subscribe);
+        SseEventLog eventLog = (SseEventLog) ReflectionTestUtils.getField(publisher, "eventLog");
+        String startId = eventLog.lastId();
+
+        Trade trade = new Trade(7L, LocalDateTime.of(2024, 1, 1, 12, 0), Signal.BUY, 100.0, 1.0, 1000.0, 900.0,
+                null, "SMA", MarketCycle.MARKUP, "Strategy signal");
+        publisher.handleTradeEvent(new TradeEvent(this, trade));
+        Thread.sleep(200);
+
+        assertEquals(1, objectMapper.writes.get());
+        SseFrame frame = subscribers.get(0).received.get(0);
+        for (RecordingSubscriber subscriber : subscribers) {
+            assertEquals(1, subscriber.received.size());
+            assertSame(frame, subscriber.received.get(0));
+        }
+        // The replay buffer keeps that same frame too
+        assertSame(frame, eventLog.since(startId).orElseThrow().get(0));
+
+        String text = new String((byte[]) frame.getItems().iterator().next().getData(), StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("id:"));
+        assertTrue(text.contains("\nevent:trade\ndata:{\"id\":7,"));
+        assertFalse(text.contains("profitLossPercentage"), "Null fields are left out");
+        assertTrue(text.endsWith("}\n\n"));
+        publisher.shutdown();
+    }
+
+    @Test
+    void testEveryNewClientGetsAResumePoint() {
+        TradeEventPublisher publisher = new TradeEventPublisher(mock(ApplicationEventPublisher.class),
+                new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(publisher, "queueCapacity", 16);
+        ReflectionTestUtils.setField(publisher, "overflowPolicyName", "drop_oldest");
+        ReflectionTestUtils.setField(publisher, "replayBufferSize", 16);
+        publisher.initialize();
+        SseEventLog eventLog = (SseEventLog) ReflectionTestUtils.getField(publisher, "eventLog");
+
+        // No trade yet: the client still gets the current id
+        String connected = text(publisher.initialFrames(null).get(0));
+        assertEquals("id:" + eventLog.lastId() + "\nevent:connected\ndata:{}\n\n", connected);
+
+        // An id from before a restart cannot be replayed
+        String reset = text(publisher.initialFrames("previousrun-3").get(0));
+        assertTrue(reset.contains("\nevent:reset\n"));
+        publisher.shutdown();
+    }
+
+    private static String text(SseFrame frame) {
+        return new String((byte[]) frame.getItems().iterator().next().getData(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the incrementally maintained metrics and their checkpoint round-trip.
+ */
+class TradeStatsAggregateTest {
+
+    private final List<Trade> trades = List.of(
+            trade(Signal.BUY, 100.0, 2.0, null, "SMA"),
+            trade(Signal.SELL, 110.0, 2.0, 10.0, "SMA"),
+            trade(Signal.BUY, 100.0, 1.0, null, "MACD"),
+            trade(Signal.SELL, 95.0, 1.0, -5.0, "MACD"),
+            trade(Signal.BUY, 100.0, 1.0, null, "MACD"),
+            trade(Signal.SELL, 102.0, 1.0, 2.0, "MACD"),
+            trade(Signal.SELL, 90.0, 1.0, null, "SMA")
+    );
+
+    @Test
+    void testMetricsMatchTradeHistory() {
+        TradeStatsAggregate aggregate = new TradeStatsAggregate();
+        trades.forEach(aggregate::add);
+
+        TradeMetrics metrics = aggregate.toMetrics();
+        assertEquals(7, metrics.getTotalTrades());
+        assertEquals(3, metrics.getBuyTrades());
+        assertEquals(3, metrics.getSellTrades());
+        assertEquals(2, metrics.getProfitableTrades());
+        assertEquals(1, metrics.getLosingTrades());
+        assertEquals(200.0 / 3, metrics.getWinRate(), 1e-9);
+        assertEquals(7.0, metrics.getTotalProfitLoss(), 1e-9);
+        assertEquals(7.0 / 3, metrics.getAverageProfitLoss(), 1e-9);
+        assertEquals(10.0, metrics.getBestTrade());
+        assertEquals(-5.0, metrics.getWorstTrade());
+        assertEquals(200 + 220 + 100 + 95 + 100 + 102 + 90, metrics.getTotalVolume(), 1e-9);
+        assertEquals("MACD", metrics.getMostUsedStrategy());
+        assertEquals("SMA", metrics.getMostProfitableStrategy());
+    }
+
+    @Test
+    void testRestoredCheckpointContinuesIncrementally() {
+        TradeStatsAggregate full = new TradeStatsAggregate();
+        trades.forEach(full::add);
+
+        TradeStatsAggregate partial = new TradeStatsAggregate();
+        trades.subList(0, 4).forEach(partial::add);
+        TradeStatsAggregate restored = new TradeStatsAggregate();
+        restored.restore(partial.snapshot());
+        trades.subList(4, trades.size()).forEach(restored::add);
+
+        TradeMetrics expected = full.toMetrics();
+        TradeMetrics actual = restored.toMetrics();
+        assertEquals(expected.getTotalTrades(), actual.getTotalTrades());
+        assertEquals(expected.getSellTrades(), actual.getSellTrades());
+        assertEquals(expected.getTotalProfitLoss(), actual.getTotalProfitLoss(), 1e-9);
+        assertEquals(expected.getBestTrade(), actual.getBestTrade());
+        assertEquals(expected.getWorstTrade(), actual.getWorstTrade());
+        assertEquals(expected.getMostProfitableStrategy(), actual.getMostProfitableStrategy());
+    }
+
+    @Test
+    void testEmptyHistory() {
+        TradeMetrics metrics = new TradeStatsAggregate().toMetrics();
+        assertEquals(0, metrics.getTotalTrades());
+        assertEquals("N/A", metrics.getMostUsedStrategy());
+        assertEquals("N/A", metrics.getMostProfitableStrategy());
+    }
+
+    private static Trade trade(Signal type, double price, double quantity, Double profitLoss, String strategy) {
+        return new Trade(null, LocalDateTime.now(), type, price, quantity, 0.0, 0.0, profitLoss,
+                strategy, MarketCycle.MARKUP, "Strategy signal");
+    }
+}
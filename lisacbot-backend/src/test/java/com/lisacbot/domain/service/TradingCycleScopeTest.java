@@ -0,0 +1,58 @@
+package com.lisacbot.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the deadline of a trading cycle scope abandons overdue tasks without interrupting them.
+ */
+class TradingCycleScopeTest {
+
+    @Test
+    void testOverdueTasksAreAbandonedWithoutInterrupt() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean fastDone = new AtomicBoolean();
+
+        try (TradingCycleScope scope = new TradingCycleScope("test-cycle-")) {
+            scope.fork(() -> fastDone.set(true));
+            scope.fork(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                } finally {
+                    finished.countDown();
+                }
+            });
+
+            assertEquals(1, scope.joinUntil(Instant.now().plusMillis(200)));
+            assertTrue(scope.isCancelled());
+            assertTrue(fastDone.get());
+        }
+
+        // Closing the scope did not interrupt the overdue task either; it completes normally
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    void testScopeIsNotCancelledWhenTasksMeetTheDeadline() throws Exception {
+        try (TradingCycleScope scope = new TradingCycleScope("test-cycle-")) {
+            scope.fork(() -> { });
+            scope.fork(() -> { });
+
+            assertEquals(0, scope.joinUntil(Instant.now().plusSeconds(5)));
+            assertFalse(scope.isCancelled());
+            assertEquals(2, scope.getTaskCount());
+        }
+    }
+}
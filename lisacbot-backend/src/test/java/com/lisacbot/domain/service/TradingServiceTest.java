@@ -0,0 +1,182 @@
+package com.lisacbot.domain.service;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.port.PriceProvider;
+import com.lisacbot.domain.port.TradeRepository;
+import com.lisacbot.domain.strategy.TradingStrategy;
+import com.lisacbot.infrastructure.config.ConfigurationService;
+import com.lisacbot.infrastructure.config.StrategyFactory;
+import com.lisacbot.infrastructure.config.StrategyParameters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the startup warm-up from recorded ticks and that a rebuilt strategy replays the recent live prices
+ * and sees each tick exactly once.
+ */
+class TradingServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * Records every price it is fed, warm-up or live, and always holds.
+     */
+    private static class RecordingStrategy implements TradingStrategy {
+        final List<Double> prices = new ArrayList<>();
+
+        @Override
+        public Signal analyze(double currentPrice) {
+            prices.add(currentPrice);
+            return Signal.HOLD;
+        }
+    }
+
+    private static StrategyParameters parameters(long version) {
+        return new StrategyParameters(version, 20, 20, 14, 30, 70, 12, 26, 9, 0.5, -0.5);
+    }
+
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final StrategyFactory strategyFactory = mock(StrategyFactory.class);
+    private final RecordingStrategy initial = new RecordingStrategy();
+
+    private TradingService service() {
+        return service(mock(PriceProvider.class), 0);
+    }
+
+    private TradingService service(PriceProvider priceProvider, int warmupTicks) {
+        when(configurationService.getParameters()).thenReturn(parameters(1));
+        TradingService service = new TradingService(priceProvider, initial, mock(MarketCycleDetector.class),
+                mock(TradeRepository.class), mock(TradeEventPublisher.class), mock(MetricsService.class),
+                configurationService, strategyFactory, 1000.0, false, 5.0, false, 10.0, 30, false,
+                "MARKUP", "sma", 100, warmupTicks, 5);
+        ReflectionTestUtils.invokeMethod(service, "warmUpStrategy");
+        ReflectionTestUtils.setField(service, "currentMarketCycle", MarketCycle.MARKUP);
+        service.start();
+        return service;
+    }
+
+    private static void tick(TradingService service, double value, int minute) {
+        Price price = new Price(value, START.plusMinutes(minute));
+        service.recordPriceTick(price);
+        service.executeLiveTradingCycle(price);
+    }
+
+    @Test
+    void testParameterChangeRebuildsWithoutCountingTheTickTwice() {
+        TradingService service = service();
+        for (int i = 1; i <= 5; i++) {
+            tick(service, i, i);
+        }
+        assertEquals(List.of(1.0, 2.0, 3.0, 4.0, 5.0), initial.prices);
+
+        RecordingStrategy rebuilt = new RecordingStrategy();
+        when(strategyFactory.createStrategy(anyString(), any())).thenReturn(rebuilt);
+        when(configurationService.getParameters()).thenReturn(parameters(2));
+        tick(service, 6, 6);
+        tick(service, 7, 7);
+
+        // Warmed up on the five earlier ticks, then analyzed the new ones live
+        assertEquals(List.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0), rebuilt.prices);
+        assertEquals(List.of(1.0, 2.0, 3.0, 4.0, 5.0), initial.prices);
+        verify(strategyFactory, times(1)).createStrategy(anyString(), any());
+    }
+
+    @Test
+    void testStrategySwitchReplaysRecentPrices() {
+        TradingService service = service();
+        for (int i = 1; i <= 3; i++) {
+            tick(service, i, i);
+        }
+
+        RecordingStrategy macd = new RecordingStrategy();
+        when(strategyFactory.createStrategy(eq("macd"), any())).thenReturn(macd);
+        service.updateStrategy("macd");
+        assertEquals("MACD", service.getStrategyName());
+        assertEquals(List.of(1.0, 2.0, 3.0), macd.prices);
+
+        tick(service, 4, 4);
+        assertEquals(List.of(1.0, 2.0, 3.0, 4.0), macd.prices);
+        assertEquals(List.of(1.0, 2.0, 3.0), initial.prices);
+    }
+
+    @Test
+    void testSwapBetweenRecordAndLiveCycleSeesTheTickOnce() {
+        TradingService service = service();
+        for (int i = 1; i <= 3; i++) {
+            tick(service, i, i);
+        }
+
+        // The scheduler records the tick, then an HTTP request swaps the strategy before the live cycle runs
+        Price price = new Price(4, START.plusMinutes(4));
+        service.recordPriceTick(price);
+        RecordingStrategy macd = new RecordingStrategy();
+        when(strategyFactory.createStrategy(eq("macd"), any())).thenReturn(macd);
+        service.updateStrategy("macd");
+        service.executeLiveTradingCycle(price);
+
+        assertEquals(List.of(1.0, 2.0, 3.0, 4.0), macd.prices);
+        tick(service, 5, 5);
+        assertEquals(List.of(1.0, 2.0, 3.0, 4.0, 5.0), macd.prices);
+    }
+
+    @Test
+    void testTickNotTradedIsStillReplayed() {
+        TradingService service = service();
+        tick(service, 1, 1);
+        service.stop();
+        // Stopped: the live cycle skips these ticks, they reach the history with the next one
+        service.recordPriceTick(new Price(2, START.plusMinutes(2)));
+        service.recordPriceTick(new Price(3, START.plusMinutes(3)));
+
+        RecordingStrategy macd = new RecordingStrategy();
+        when(strategyFactory.createStrategy(eq("macd"), any())).thenReturn(macd);
+        service.updateStrategy("macd");
+        assertEquals(List.of(1.0, 2.0), macd.prices);
+    }
+
+    @Test
+    void testWarmUpUsesOnlyTheRecentUnbrokenTickRun() {
+        LocalDateTime now = LocalDateTime.now();
+        PriceProvider priceProvider = mock(PriceProvider.class);
+        // A restart gap of an hour splits the recorded ticks: only the run leading up to now is used, capped
+        when(priceProvider.getRecentTicks()).thenReturn(List.of(
+                new Price(1, now.minusMinutes(65)),
+                new Price(2, now.minusMinutes(64)),
+                new Price(3, now.minusMinutes(4)),
+                new Price(4, now.minusMinutes(3)),
+                new Price(5, now.minusMinutes(2)),
+                new Price(6, now.minusMinutes(1))));
+
+        TradingService service = service(priceProvider, 3);
+        assertEquals(List.of(4.0, 5.0, 6.0), initial.prices);
+        verify(priceProvider, never()).getHistoricalPrices(anyInt());
+
+        // The warm-up ticks are replayed into a rebuilt strategy too
+        RecordingStrategy macd = new RecordingStrategy();
+        when(strategyFactory.createStrategy(eq("macd"), any())).thenReturn(macd);
+        service.updateStrategy("macd");
+        assertEquals(List.of(4.0, 5.0, 6.0), macd.prices);
+    }
+
+    @Test
+    void testWarmUpSkipsStaleTicks() {
+        PriceProvider priceProvider = mock(PriceProvider.class);
+        LocalDateTime stale = LocalDateTime.now().minusMinutes(30);
+        when(priceProvider.getRecentTicks()).thenReturn(List.of(new Price(1, stale), new Price(2, stale.plusMinutes(1))));
+
+        service(priceProvider, 200);
+        assertTrue(initial.prices.isEmpty());
+    }
+}
@@ -0,0 +1,39 @@
+package com.lisacbot.domain.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the indicator values the composite strategy exposes for the tick stream.
+ */
+class CompositeStrategyTest {
+
+    @Test
+    void testIndicatorsArePrefixedWithTheStrategyName() {
+        SimpleMovingAverageStrategy sma = new SimpleMovingAverageStrategy(3);
+        MacdStrategy macd = new MacdStrategy(3, 6, 3);
+        CompositeStrategy composite = new CompositeStrategy(List.of(
+                new CompositeStrategy.WeightedStrategy(sma, 50, "SMA"),
+                new CompositeStrategy.WeightedStrategy(macd, 50, "MACD")
+        ), 0.5, -0.5);
+
+        // Nothing to show before the underlying indicators are ready
+        assertEquals(Map.of(), composite.getIndicators());
+
+        for (int i = 0; i < 30; i++) {
+            composite.analyze(100 + i % 5);
+        }
+        Map<String, Double> indicators = composite.getIndicators();
+
+        assertEquals(List.of("SMA.sma"), indicators.keySet().stream().filter(name -> name.startsWith("SMA.")).toList());
+        assertEquals(sma.getIndicators().get("sma"), indicators.get("SMA.sma"));
+        macd.getIndicators().forEach((name, value) -> assertEquals(value, indicators.get("MACD." + name), name));
+        assertEquals(1 + macd.getIndicators().size(), indicators.size());
+        // Strategies appear in the order they were configured
+        assertEquals("SMA.sma", indicators.keySet().iterator().next());
+    }
+}
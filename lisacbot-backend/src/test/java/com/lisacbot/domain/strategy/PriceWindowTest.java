@@ -0,0 +1,32 @@
+package com.lisacbot.domain.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the ordering and eviction of the strategy price window.
+ */
+class PriceWindowTest {
+
+    @Test
+    void testKeepsMostRecentPricesOldestFirst() {
+        PriceWindow window = new PriceWindow(3);
+        assertEquals(0, window.size());
+
+        window.add(1);
+        window.add(2);
+        assertEquals(2, window.size());
+        assertEquals(1, window.get(0));
+        assertEquals(2, window.get(1));
+
+        window.add(3);
+        window.add(4);
+        window.add(5);
+        assertEquals(3, window.size());
+        assertEquals(3, window.get(0));
+        assertEquals(4, window.get(1));
+        assertEquals(5, window.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> window.get(3));
+    }
+}
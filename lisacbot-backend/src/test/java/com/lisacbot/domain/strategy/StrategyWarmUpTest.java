@@ -0,0 +1,69 @@
+package com.lisacbot.domain.strategy;
+
+import com.lisacbot.domain.model.Signal;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the bulk warm-up path leaves strategies in the same state as analyzing each price.
+ */
+class StrategyWarmUpTest {
+
+    private static double[] prices() {
+        double[] prices = new double[120];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 100 + 10 * Math.sin(i / 7.0) + i * 0.1;
+        }
+        return prices;
+    }
+
+    private static void assertSameIndicators(TradingStrategy analyzed, TradingStrategy warmedUp) {
+        for (double price : prices()) {
+            analyzed.analyze(price);
+        }
+        warmedUp.warmUp(prices());
+
+        assertFalse(analyzed.getIndicators().isEmpty());
+        assertEquals(analyzed.getIndicators(), warmedUp.getIndicators());
+        // Both continue identically from there
+        assertEquals(analyzed.analyze(95), warmedUp.analyze(95));
+    }
+
+    @Test
+    void testSmaWarmUpMatchesAnalyze() {
+        assertSameIndicators(new SimpleMovingAverageStrategy(5), new SimpleMovingAverageStrategy(5));
+    }
+
+    @Test
+    void testEmaRsiWarmUpMatchesAnalyze() {
+        assertSameIndicators(new EmaRsiStrategy(20, 14, 30, 70), new EmaRsiStrategy(20, 14, 30, 70));
+    }
+
+    @Test
+    void testMacdWarmUpMatchesAnalyze() {
+        assertSameIndicators(new MacdStrategy(12, 26, 9), new MacdStrategy(12, 26, 9));
+    }
+
+    @Test
+    void testMacdHoldsUntilSlowAndSignalPeriodsAreFilled() {
+        // Swings hard enough to cross on almost every price
+        double[] prices = new double[40];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = i % 2 == 0 ? 100 : 110;
+        }
+
+        MacdStrategy cold = new MacdStrategy(3, 6, 3);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(Signal.HOLD, cold.analyze(prices[i]), "Signal from price " + (i + 1));
+        }
+        assertNotEquals(Signal.HOLD, cold.analyze(prices[8]));
+
+        // Prices fed through the warm-up count too
+        MacdStrategy warmedUp = new MacdStrategy(3, 6, 3);
+        warmedUp.warmUp(Arrays.copyOf(prices, 8));
+        assertNotEquals(Signal.HOLD, warmedUp.analyze(prices[8]));
+    }
+}
@@ -0,0 +1,107 @@
+package com.lisacbot.infrastructure.config;
+
+import com.lisacbot.domain.model.BotStatus;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Price;
+import com.lisacbot.domain.model.PriceTick;
+import com.lisacbot.domain.port.PriceProvider;
+import com.lisacbot.domain.service.BotManager;
+import com.lisacbot.domain.service.TickStreamPublisher;
+import com.lisacbot.domain.service.TradingService;
+import com.lisacbot.infrastructure.config.BotScheduler.NextSlot;
+import com.lisacbot.infrastructure.config.BotScheduler.OverrunPolicy;
+import com.lisacbot.infrastructure.config.BotScheduler.Slot;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks how the scheduler plans the next tick after a cycle, for each overrun policy, and idle ticks.
+ */
+class BotSchedulerTest {
+
+    private static final Instant ANCHOR = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Duration PERIOD = Duration.ofSeconds(10);
+    private static final Slot SLOT = new Slot(ANCHOR.plus(PERIOD), 1);
+
+    private static NextSlot plan(OverrunPolicy policy, long finishedAfterSlotSeconds) {
+        return BotScheduler.planNextSlot(policy, SLOT, PERIOD, SLOT.time().plusSeconds(finishedAfterSlotSeconds));
+    }
+
+    @Test
+    void testCycleWithinIntervalKeepsTheGrid() {
+        for (OverrunPolicy policy : new OverrunPolicy[]{OverrunPolicy.SKIP, OverrunPolicy.COALESCE, OverrunPolicy.DELAY}) {
+            NextSlot next = plan(policy, 3);
+            assertEquals(new Slot(ANCHOR.plusSeconds(20), 2), next.slot());
+            assertEquals(0, next.missedTicks());
+            assertEquals(0, BotScheduler.driftMs(ANCHOR, next.slot(), PERIOD));
+        }
+    }
+
+    @Test
+    void testSkipWaitsForTheNextGridSlot() {
+        // Due at +10s, finished at +25s: the ticks at +10s and +20s are missed
+        NextSlot next = plan(OverrunPolicy.SKIP, 25);
+        assertEquals(2, next.missedTicks());
+        assertEquals(15_000, next.overrunMs());
+        assertEquals(new Slot(ANCHOR.plusSeconds(40), 4), next.slot());
+        assertEquals(0, BotScheduler.driftMs(ANCHOR, next.slot(), PERIOD));
+    }
+
+    @Test
+    void testCoalesceRunsTheLatestMissedSlotRightAway() {
+        NextSlot next = plan(OverrunPolicy.COALESCE, 25);
+        assertEquals(2, next.missedTicks());
+        // Already due when planned, so it runs immediately, still on the grid
+        assertEquals(new Slot(ANCHOR.plusSeconds(30), 3), next.slot());
+        assertEquals(0, BotScheduler.driftMs(ANCHOR, next.slot(), PERIOD));
+    }
+
+    @Test
+    void testDelayShiftsTheGrid() {
+        NextSlot next = plan(OverrunPolicy.DELAY, 25);
+        assertEquals(2, next.missedTicks());
+        assertEquals(new Slot(ANCHOR.plusSeconds(45), 2), next.slot());
+        // Planned 25 s after where the grid would have run it
+        assertEquals(25_000, BotScheduler.driftMs(ANCHOR, next.slot(), PERIOD));
+
+        // The shift carries over to the following ticks
+        NextSlot following = BotScheduler.planNextSlot(OverrunPolicy.DELAY, next.slot(), PERIOD,
+                next.slot().time().plusSeconds(1));
+        assertEquals(25_000, BotScheduler.driftMs(ANCHOR, following.slot(), PERIOD));
+    }
+
+    @Test
+    void testIdleTicksStillReachTickStreamSubscribers() {
+        TradingService tradingService = mock(TradingService.class);
+        PriceProvider priceProvider = mock(PriceProvider.class);
+        TickStreamPublisher tickStreamPublisher = mock(TickStreamPublisher.class);
+        Price price = new Price(100.0, LocalDateTime.of(2024, 1, 1, 12, 0));
+        PriceTick tick = new PriceTick(price.timestamp(),
+                new BotStatus(false, 1000.0, 0.0, 100.0, 1000.0, MarketCycle.MARKUP, "SMA"), Map.of());
+        when(priceProvider.getCurrentPrice()).thenReturn(price);
+        when(tradingService.getPriceTick()).thenReturn(tick);
+        BotScheduler scheduler = new BotScheduler(tradingService, mock(BotManager.class), priceProvider,
+                new SchedulerMetrics(), tickStreamPublisher);
+
+        // No bot running and nobody listening: the price is not even fetched
+        ReflectionTestUtils.invokeMethod(scheduler, "executeTradingCycle");
+        verifyNoInteractions(priceProvider);
+        verify(tickStreamPublisher, never()).publish(any());
+
+        when(tickStreamPublisher.hasSubscribers()).thenReturn(true);
+        ReflectionTestUtils.invokeMethod(scheduler, "executeTradingCycle");
+        verify(tradingService).recordIdlePrice(price);
+        verify(tradingService, never()).recordPriceTick(any());
+        verify(tradingService, never()).executeLiveTradingCycle(any());
+        verify(tickStreamPublisher).publish(tick);
+    }
+}
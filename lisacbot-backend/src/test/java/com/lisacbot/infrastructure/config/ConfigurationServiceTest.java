@@ -0,0 +1,108 @@
+package com.lisacbot.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks versioning of the strategy parameters and that readers never see a half-applied update.
+ */
+class ConfigurationServiceTest {
+
+    private static ConfigurationService service() {
+        ConfigurationService service = new ConfigurationService();
+        ReflectionTestUtils.setField(service, "defaultSmaPeriod", 20);
+        ReflectionTestUtils.setField(service, "defaultEmaPeriod", 20);
+        ReflectionTestUtils.setField(service, "defaultRsiPeriod", 14);
+        ReflectionTestUtils.setField(service, "defaultRsiOversold", 30);
+        ReflectionTestUtils.setField(service, "defaultRsiOverbought", 70);
+        ReflectionTestUtils.setField(service, "defaultMacdFastPeriod", 12);
+        ReflectionTestUtils.setField(service, "defaultMacdSlowPeriod", 26);
+        ReflectionTestUtils.setField(service, "defaultMacdSignalPeriod", 9);
+        ReflectionTestUtils.setField(service, "defaultCompositeBuyThreshold", 0.5);
+        ReflectionTestUtils.setField(service, "defaultCompositeSellThreshold", -0.5);
+        service.initialize();
+        return service;
+    }
+
+    // Every field derived from n, so a snapshot mixing two updates is detectable
+    private static StrategyParameters update(ConfigurationService service, int n) {
+        return service.updateConfiguration(n, n, n, n, n + 1, n, n + 2, n, n / 10.0, -n / 10.0);
+    }
+
+    private static void assertConsistent(StrategyParameters p) {
+        int n = p.smaPeriod();
+        assertEquals(List.of(n, n, n, n + 1, n, n + 2, n),
+                List.of(p.emaPeriod(), p.rsiPeriod(), p.rsiOversold(), p.rsiOverbought(), p.macdFastPeriod(),
+                        p.macdSlowPeriod(), p.macdSignalPeriod()));
+        assertEquals(n / 10.0, p.compositeBuyThreshold());
+        assertEquals(-n / 10.0, p.compositeSellThreshold());
+    }
+
+    @Test
+    void testUpdateBumpsTheVersion() {
+        ConfigurationService service = service();
+        StrategyParameters initial = service.getParameters();
+        assertEquals(1, initial.version());
+
+        StrategyParameters updated = update(service, 5);
+        assertEquals(2, updated.version());
+        assertSame(updated, service.getParameters());
+        assertEquals(5, service.getSmaPeriod());
+        // The previous snapshot is untouched
+        assertEquals(20, initial.smaPeriod());
+    }
+
+    @Test
+    void testConcurrentReadersSeeWholeSnapshots() throws Exception {
+        ConfigurationService service = service();
+        update(service, 1);
+        int writers = 4;
+        int updatesPerWriter = 2_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    long lastVersion = 0;
+                    while (writing.get()) {
+                        StrategyParameters snapshot = service.getParameters();
+                        assertConsistent(snapshot);
+                        assertTrue(snapshot.version() >= lastVersion, "Version went backwards");
+                        lastVersion = snapshot.version();
+                    }
+                }));
+            }
+            List<Future<?>> writerTasks = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int base = w * updatesPerWriter;
+                writerTasks.add(executor.submit(() -> {
+                    for (int i = 1; i <= updatesPerWriter; i++) {
+                        assertConsistent(update(service, base + i));
+                    }
+                }));
+            }
+            for (Future<?> task : writerTasks) {
+                task.get();
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // No update was lost: every one got its own version
+        assertEquals(2 + writers * updatesPerWriter, service.getParameters().version());
+    }
+}
@@ -0,0 +1,171 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the bundled migrations and the trade partition maintenance against an embedded PostgreSQL.
+ */
+class SchemaMigrationIT {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'trades_y'uuuu'm'MM");
+
+    private static EmbeddedPostgres postgres;
+    private static int databases;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    private static DataSource freshDatabase() {
+        String name = "lisacbot_" + ++databases;
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        return postgres.getDatabase("postgres", name);
+    }
+
+    private static TradePartitionMaintainer maintainer(DataSource dataSource, int monthsAhead, int retentionMonths) {
+        TradePartitionMaintainer maintainer = new TradePartitionMaintainer(new JdbcTemplate(dataSource),
+                new DataSourceTransactionManager(dataSource), null);
+        ReflectionTestUtils.setField(maintainer, "monthsAhead", monthsAhead);
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", retentionMonths);
+        return maintainer;
+    }
+
+    private static List<String> partitions(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'trades' ORDER BY c.relname", String.class);
+    }
+
+    private static void insertTrade(JdbcTemplate jdbcTemplate, long id, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO trades (id, timestamp, type, price, quantity, balance_before, balance_after, " +
+                "strategy, market_cycle) VALUES (?, ?, 'BUY', 100, 1, 100, 0, 'SMA', 'MARKUP')", id, timestamp);
+    }
+
+    @Test
+    void testMigrationsAreAppliedOnce() {
+        DataSource dataSource = freshDatabase();
+        new SchemaMigrator(dataSource).migrate();
+        new SchemaMigrator(dataSource).migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(List.of(1, 2, 3, 4), jdbcTemplate.queryForList(
+                "SELECT version FROM schema_migrations ORDER BY version", Integer.class));
+        assertEquals(List.of("trades_default"), partitions(jdbcTemplate));
+    }
+
+    @Test
+    void testMigrationKeepsRowsOfAnExistingSchema() {
+        DataSource dataSource = freshDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // A database created by ddl-auto=update before migrations existed
+        jdbcTemplate.execute("CREATE TABLE trades (id BIGINT PRIMARY KEY, timestamp TIMESTAMP(6) NOT NULL, " +
+                "type VARCHAR(10) NOT NULL, price DOUBLE PRECISION NOT NULL, quantity DOUBLE PRECISION NOT NULL, " +
+                "balance_before DOUBLE PRECISION NOT NULL, balance_after DOUBLE PRECISION NOT NULL, " +
+                "profit_loss_percentage DOUBLE PRECISION, strategy VARCHAR(50) NOT NULL, " +
+                "market_cycle VARCHAR(20) NOT NULL, reason VARCHAR(100))");
+        insertTrade(jdbcTemplate, 1, LocalDateTime.of(2023, 5, 10, 12, 0));
+        insertTrade(jdbcTemplate, 2, LocalDateTime.of(2023, 6, 1, 0, 0));
+
+        new SchemaMigrator(dataSource).migrate();
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades_default", Integer.class));
+    }
+
+    @Test
+    void testMaintenanceMovesRowsIntoMonthlyPartitionsAndDetachesExpiredOnes() {
+        DataSource dataSource = freshDatabase();
+        new SchemaMigrator(dataSource).migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        insertTrade(jdbcTemplate, 1, LocalDateTime.of(2023, 5, 10, 12, 0));
+        insertTrade(jdbcTemplate, 2, LocalDateTime.of(2023, 5, 31, 23, 59));
+        insertTrade(jdbcTemplate, 3, LocalDateTime.of(2023, 6, 1, 0, 0));
+
+        maintainer(dataSource, 1, 0).maintainPartitions();
+        maintainer(dataSource, 1, 0).maintainPartitions();
+
+        YearMonth current = YearMonth.now();
+        assertEquals(List.of("trades_default", "trades_y2023m05", "trades_y2023m06",
+                current.format(PARTITION_NAME), current.plusMonths(1).format(PARTITION_NAME)).stream().sorted().toList(),
+                partitions(jdbcTemplate));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades_default", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades_y2023m05", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades", Integer.class));
+
+        maintainer(dataSource, 1, 12).maintainPartitions();
+
+        // Detached partitions leave the trades table but are kept as plain tables for archiving
+        List<String> attached = partitions(jdbcTemplate);
+        assertFalse(attached.contains("trades_y2023m05"));
+        assertFalse(attached.contains("trades_y2023m06"));
+        assertTrue(attached.contains(current.format(PARTITION_NAME)));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades_y2023m05", Integer.class));
+    }
+
+    @Test
+    void testTradeWrittenTwiceIsStoredOnce() {
+        DataSource dataSource = freshDatabase();
+        new SchemaMigrator(dataSource).migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TradeRepositoryAdapter adapter = new TradeRepositoryAdapter(null, jdbcTemplate, null, null);
+
+        long id = adapter.allocateIds(1)[0];
+        Trade trade = new Trade(id, LocalDateTime.of(2024, 5, 1, 12, 0), Signal.SELL, 65000, 0.01, 1000.0, 1650.0,
+                2.5, "SMA", MarketCycle.MARKUP, "Strategy signal");
+        adapter.insertAll(List.of(trade));
+        // A journal replay after a crash between the insert and the commit marker
+        adapter.insertAll(List.of(trade));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trades", Integer.class));
+        assertEquals(2.5, jdbcTemplate.queryForObject("SELECT profit_loss_percentage FROM trades WHERE id = ?",
+                Double.class, id));
+    }
+
+    @Test
+    void testEntitiesMatchTheMigratedSchema() {
+        DataSource dataSource = freshDatabase();
+        new SchemaMigrator(dataSource).migrate();
+
+        // Same settings as the application: Hibernate only validates the schema
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(TradeEntity.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "validate",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()
+        ));
+        assertDoesNotThrow(factory::afterPropertiesSet);
+        factory.destroy();
+    }
+}
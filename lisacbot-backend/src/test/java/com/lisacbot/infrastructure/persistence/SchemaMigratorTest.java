@@ -0,0 +1,59 @@
+package com.lisacbot.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks how migration scripts are discovered, parsed and ordered.
+ */
+class SchemaMigratorTest {
+
+    @Test
+    void testMigrationsAreOrderedByVersion() throws Exception {
+        List<SchemaMigrator.Migration> migrations = SchemaMigrator.load(new Resource[]{
+                script("V10__add_index.sql", "CREATE INDEX a ON t (x);"),
+                script("V2__partition_trades.sql", "SELECT 2;"),
+                script("V1__baseline.sql", "SELECT 1;")
+        });
+
+        assertEquals(List.of(1, 2, 10), migrations.stream().map(SchemaMigrator.Migration::version).toList());
+        assertEquals("partition trades", migrations.get(1).description());
+        assertNotEquals(migrations.get(0).checksum(), migrations.get(1).checksum());
+    }
+
+    @Test
+    void testInvalidScriptsAreRejected() {
+        assertThrows(IllegalStateException.class, () -> SchemaMigrator.load(new Resource[]{
+                script("V1__baseline.sql", "SELECT 1;"),
+                script("V1__other.sql", "SELECT 2;")
+        }));
+        assertThrows(IllegalStateException.class, () -> SchemaMigrator.load(new Resource[]{
+                script("baseline.sql", "SELECT 1;")
+        }));
+    }
+
+    @Test
+    void testBundledMigrationsLoad() throws Exception {
+        List<SchemaMigrator.Migration> migrations = SchemaMigrator.load(
+                new PathMatchingResourcePatternResolver().getResources(SchemaMigrator.LOCATION));
+
+        assertFalse(migrations.isEmpty());
+        assertEquals(1, migrations.get(0).version());
+    }
+
+    private static Resource script(String name, String sql) {
+        return new ByteArrayResource(sql.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks trade journal recovery: commit markers, torn tails and field round-trips.
+ */
+class TradeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecoverReturnsOnlyUncommittedTrades() throws IOException {
+        Path file = directory.resolve("trades.journal");
+        try (TradeJournal journal = new TradeJournal(file)) {
+            journal.appendTrade(1, trade(Signal.BUY, null, MarketCycle.MARKUP));
+            journal.appendTrade(2, trade(Signal.SELL, 4.2, null));
+            journal.appendCommit(1);
+            journal.appendTrade(3, trade(Signal.BUY, null, MarketCycle.DECLINE));
+        }
+
+        try (TradeJournal journal = new TradeJournal(file)) {
+            List<TradeJournal.Entry> pending = journal.recover();
+            assertEquals(List.of(2L, 3L), pending.stream().map(TradeJournal.Entry::sequence).toList());
+
+            Trade sell = pending.get(0).trade();
+            Trade original = trade(Signal.SELL, 4.2, null);
+            assertEquals(original.getTimestamp(), sell.getTimestamp());
+            assertEquals(Signal.SELL, sell.getType());
+            assertEquals(original.getPrice(), sell.getPrice());
+            assertEquals(4.2, sell.getProfitLossPercentage());
+            assertNull(sell.getMarketCycle());
+            assertEquals("Strategy signal", sell.getReason());
+            assertEquals(MarketCycle.DECLINE, pending.get(1).trade().getMarketCycle());
+        }
+    }
+
+    @Test
+    void testRecoverTruncatesTornTail() throws IOException {
+        Path file = directory.resolve("trades.journal");
+        long validSize;
+        try (TradeJournal journal = new TradeJournal(file)) {
+            journal.appendTrade(1, trade(Signal.BUY, null, MarketCycle.MARKUP));
+            validSize = journal.size();
+            journal.appendTrade(2, trade(Signal.SELL, 1.0, MarketCycle.MARKUP));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(validSize + 10); // Crash in the middle of the second frame
+        }
+
+        try (TradeJournal journal = new TradeJournal(file)) {
+            assertEquals(1, journal.recover().size());
+            assertEquals(validSize, journal.size());
+
+            journal.appendTrade(2, trade(Signal.SELL, 1.0, MarketCycle.MARKUP));
+        }
+        try (TradeJournal journal = new TradeJournal(file)) {
+            assertEquals(2, journal.recover().size());
+        }
+    }
+
+    @Test
+    void testRejournaledTradeReplacesTheEarlierEntry() throws IOException {
+        Path file = directory.resolve("trades.journal");
+        Trade withoutId = trade(Signal.BUY, null, MarketCycle.MARKUP);
+        try (TradeJournal journal = new TradeJournal(file)) {
+            journal.appendTrade(1, withoutId);
+            journal.appendTrade(2, trade(Signal.SELL, 1.0, MarketCycle.MARKUP));
+            journal.appendTrade(1, new Trade(77L, withoutId.getTimestamp(), Signal.BUY, withoutId.getPrice(),
+                    withoutId.getQuantity(), withoutId.getBalanceBefore(), withoutId.getBalanceAfter(), null,
+                    withoutId.getStrategy(), withoutId.getMarketCycle(), withoutId.getReason()));
+        }
+
+        try (TradeJournal journal = new TradeJournal(file)) {
+            List<TradeJournal.Entry> pending = journal.recover();
+            assertEquals(List.of(1L, 2L), pending.stream().map(TradeJournal.Entry::sequence).toList());
+            assertEquals(77L, pending.get(0).trade().getId());
+            assertNull(pending.get(1).trade().getId());
+        }
+    }
+
+    private static Trade trade(Signal type, Double profitLoss, MarketCycle cycle) {
+        return new Trade(null, LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456789), type, 65000.5, 0.015,
+                1000.0, 25.0, profitLoss, "SMA", cycle, "Strategy signal");
+    }
+}
@@ -0,0 +1,103 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.StrategyTradeStats;
+import jakarta.persistence.SequenceGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the pooled trade ID sequence, its alignment with existing IDs, and the mapping of aggregate rows.
+ */
+class TradeRepositoryAdapterTest {
+
+    private static TradeRepositoryAdapter adapter(JdbcTemplate jdbcTemplate) {
+        return new TradeRepositoryAdapter(null, jdbcTemplate, null, null);
+    }
+
+    private static JdbcTemplate database(long maxId, long lastValue) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM trades", Long.class)).thenReturn(maxId);
+        when(jdbcTemplate.queryForObject("SELECT last_value FROM trades_seq", Long.class)).thenReturn(lastValue);
+        return jdbcTemplate;
+    }
+
+    @Test
+    void testSequenceIsMovedPastExistingIds() {
+        JdbcTemplate jdbcTemplate = database(1234, 1);
+        adapter(jdbcTemplate).alignIdSequence();
+
+        // A whole allocation block past the highest ID, so pooled IDs already handed out cannot collide
+        verify(jdbcTemplate).queryForObject("SELECT setval('trades_seq', ?)", Long.class,
+                1234L + TradeEntity.ID_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void testSequenceAheadOfExistingIdsIsLeftAlone() {
+        JdbcTemplate jdbcTemplate = database(1234, 5000);
+        adapter(jdbcTemplate).alignIdSequence();
+
+        verify(jdbcTemplate, never()).queryForObject(eq("SELECT setval('trades_seq', ?)"), eq(Long.class), anyLong());
+    }
+
+    @Test
+    void testAlignmentFailureDoesNotPreventStartup() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(any(String.class), eq(Long.class))).thenThrow(new IllegalStateException("down"));
+
+        assertDoesNotThrow(() -> adapter(jdbcTemplate).alignIdSequence());
+    }
+
+    @Test
+    void testAllocationSizeMatchesSequenceIncrement() throws IOException, NoSuchFieldException {
+        SequenceGenerator generator = TradeEntity.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        assertEquals(TradeEntity.ID_ALLOCATION_SIZE, generator.allocationSize());
+
+        // Hibernate's pooled optimizer requires the database increment to equal the allocation size
+        String baseline = new ClassPathResource("db/migration/V1__baseline.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(baseline.contains("CREATE SEQUENCE IF NOT EXISTS " + generator.sequenceName()
+                + " START WITH 1 INCREMENT BY " + TradeEntity.ID_ALLOCATION_SIZE + ";"));
+    }
+
+    @Test
+    void testIdsAreAllocatedInPooledBlocks() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject("SELECT nextval('trades_seq')", Long.class)).thenReturn(101L, 301L);
+        TradeRepositoryAdapter adapter = adapter(jdbcTemplate);
+
+        // A block ends at the sequence value, like Hibernate's pooled optimizer
+        long[] first = adapter.allocateIds(TradeEntity.ID_ALLOCATION_SIZE - 1);
+        assertEquals(52, first[0]);
+        assertEquals(100, first[first.length - 1]);
+        assertArrayEquals(new long[]{101, 252, 253}, adapter.allocateIds(3));
+        verify(jdbcTemplate, times(2)).queryForObject("SELECT nextval('trades_seq')", Long.class);
+    }
+
+    @Test
+    void testAggregateRowsAreMappedPerStrategy() {
+        JpaTradeRepository jpaRepository = mock(JpaTradeRepository.class);
+        // COUNT and SUM come back as Long, COALESCE over doubles as Double
+        when(jpaRepository.aggregateByStrategy()).thenReturn(List.<Object[]>of(
+                new Object[]{"SMA", 3L, 1L, 1L, 1L, 0L, 10.0, 10.0, 10.0, 510.0},
+                new Object[]{"MACD", 4L, 2L, 2L, 1L, 1L, -3.0, 2.0, -5.0, 397.0}
+        ));
+
+        List<StrategyTradeStats> stats = new TradeRepositoryAdapter(jpaRepository, null, null, null).aggregateByStrategy();
+
+        assertEquals(List.of(
+                new StrategyTradeStats("SMA", 3, 1, 1, 1, 0, 10.0, 10.0, 10.0, 510.0),
+                new StrategyTradeStats("MACD", 4, 2, 2, 1, 1, -3.0, 2.0, -5.0, 397.0)
+        ), stats);
+    }
+}
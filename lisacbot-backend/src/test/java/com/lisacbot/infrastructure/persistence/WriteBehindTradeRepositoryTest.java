@@ -0,0 +1,161 @@
+package com.lisacbot.infrastructure.persistence;
+
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.Trade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that journaled trades always reach the writer queue and the database, once, under their journaled ID.
+ */
+class WriteBehindTradeRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Database stand-in that records the trades written to it, ignoring IDs already stored like the real insert.
+     */
+    private static class RecordingAdapter extends TradeRepositoryAdapter {
+        final List<Trade> written = new CopyOnWriteArrayList<>();
+        final AtomicLong lastId = new AtomicLong();
+        volatile boolean sequenceDown;
+
+        RecordingAdapter() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        synchronized long[] allocateIds(int count) {
+            if (sequenceDown) {
+                throw new IllegalStateException("database down");
+            }
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = lastId.incrementAndGet();
+            }
+            return ids;
+        }
+
+        @Override
+        void insertAll(List<Trade> trades) {
+            for (Trade trade : trades) {
+                if (written.stream().noneMatch(stored -> stored.getId().equals(trade.getId()))) {
+                    written.add(trade);
+                }
+            }
+        }
+    }
+
+    private final RecordingAdapter database = new RecordingAdapter();
+    private WriteBehindTradeRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+        if (repository != null) {
+            repository.stop();
+        }
+    }
+
+    private WriteBehindTradeRepository start(int queueCapacity) {
+        WriteBehindTradeRepository repository = new WriteBehindTradeRepository(database);
+        ReflectionTestUtils.setField(repository, "journalDirectory", directory.toString());
+        ReflectionTestUtils.setField(repository, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(repository, "batchSize", 10);
+        ReflectionTestUtils.setField(repository, "retryInitialMillis", 10L);
+        ReflectionTestUtils.setField(repository, "retryMaxMillis", 100L);
+        repository.start();
+        return repository;
+    }
+
+    private static Trade trade(int index) {
+        return new Trade(null, LocalDateTime.of(2024, 5, 1, 12, 0).plusMinutes(index), Signal.BUY, 65000 + index,
+                0.01, 1000.0, 350.0, null, "SMA", MarketCycle.MARKUP, "Strategy signal");
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (database.written.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, database.written.size());
+    }
+
+    @Test
+    void testInterruptedSaveStillQueuesEveryJournaledTrade() throws InterruptedException {
+        repository = start(100);
+
+        Thread.currentThread().interrupt();
+        List<Trade> saved = repository.saveAll(List.of(trade(1), trade(2), trade(3)));
+
+        // The interrupt is preserved for the caller, not swallowed
+        assertTrue(Thread.interrupted());
+        assertEquals(List.of(1L, 2L, 3L), saved.stream().map(Trade::getId).toList());
+        awaitWritten(3);
+    }
+
+    @Test
+    void testReplayedTradesKeepTheirJournaledId() throws InterruptedException, IOException {
+        // Crash after the database commit, before the commit marker: the trade is still pending in the journal
+        Trade stored = new Trade(41L, trade(1).getTimestamp(), Signal.BUY, 65001, 0.01, 1000.0, 350.0, null,
+                "SMA", MarketCycle.MARKUP, "Strategy signal");
+        database.written.add(stored);
+        try (TradeJournal journal = new TradeJournal(directory.resolve("trades.journal"))) {
+            journal.appendTrade(1, stored);
+        }
+
+        repository = start(100);
+        repository.save(trade(2));
+        awaitWritten(2);
+        assertEquals(List.of(41L, 1L), database.written.stream().map(Trade::getId).toList());
+    }
+
+    @Test
+    void testTradeSavedWhileTheSequenceIsDownGetsItsIdJournaledBeforeTheInsert()
+            throws InterruptedException, IOException {
+        repository = start(100);
+        database.sequenceDown = true;
+        assertNull(repository.save(trade(1)).getId());
+
+        database.sequenceDown = false;
+        awaitWritten(1);
+        assertEquals(1L, database.written.get(0).getId());
+
+        // The ID went to the journal first, so a replay would reuse it
+        repository.stop();
+        repository = null;
+        database.written.clear();
+        try (TradeJournal journal = new TradeJournal(directory.resolve("trades.journal"))) {
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+
+    @Test
+    void testFullQueueBlocksUntilTheWriterCatchesUp() throws InterruptedException, IOException {
+        repository = start(2);
+        for (int i = 0; i < 50; i++) {
+            repository.save(trade(i));
+        }
+        awaitWritten(50);
+        repository.stop();
+
+        // Everything written, so nothing is replayed on the next startup
+        try (TradeJournal journal = new TradeJournal(directory.resolve("trades.journal"))) {
+            assertTrue(journal.recover().isEmpty());
+        }
+        repository = null;
+    }
+}
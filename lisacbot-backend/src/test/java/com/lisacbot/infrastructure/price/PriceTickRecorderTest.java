@@ -0,0 +1,132 @@
+package com.lisacbot.infrastructure.price;
+
+import com.lisacbot.domain.model.Price;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks segment roll-over, compaction into bars and recovery of the live price recorder.
+ */
+class PriceTickRecorderTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @TempDir
+    Path directory;
+
+    private PriceTickRecorder recorder(CsvPriceAdapter history, boolean enabled) {
+        return new PriceTickRecorder(history, enabled, directory.toString(), 10, 50, 2);
+    }
+
+    private static long epochSeconds(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private long barCount() throws IOException {
+        Path bars = directory.resolve("bars.bin");
+        return Files.exists(bars) ? Files.size(bars) / (Long.BYTES + 4 * Double.BYTES) : 0;
+    }
+
+    @Test
+    void testHourRollCompactsSegmentIntoBar() throws IOException {
+        CsvPriceAdapter history = new CsvPriceAdapter();
+        PriceTickRecorder recorder = recorder(history, true);
+        recorder.start();
+        recorder.record(new Price(100, HOUR.plusMinutes(1)));
+        recorder.record(new Price(120, HOUR.plusMinutes(20)));
+        recorder.record(new Price(90, HOUR.plusMinutes(40)));
+        recorder.record(new Price(110, HOUR.plusMinutes(59)));
+        recorder.record(new Price(111, HOUR.plusMinutes(61)));
+        recorder.stop();
+
+        // The first hour was compacted but its segment is retained, the second is still an open segment
+        assertEquals(1, barCount());
+        assertTrue(Files.exists(directory.resolve("ticks-" + epochSeconds(HOUR) + ".seg")));
+        assertTrue(Files.exists(directory.resolve("ticks-" + epochSeconds(HOUR.plusHours(1)) + ".seg")));
+
+        ByteBuffer bar = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("bars.bin")));
+        assertEquals(epochSeconds(HOUR), bar.getLong());
+        assertEquals(100, bar.getDouble());
+        assertEquals(120, bar.getDouble());
+        assertEquals(90, bar.getDouble());
+        assertEquals(110, bar.getDouble());
+
+        // One in-memory bar per hour, holding the latest close
+        assertEquals(List.of(new Price(110, HOUR), new Price(111, HOUR.plusHours(1))), history.getAllPrices());
+    }
+
+    @Test
+    void testRecoveryReplaysBarsAndCompactsLeftoverSegments() throws IOException {
+        PriceTickRecorder first = recorder(new CsvPriceAdapter(), true);
+        first.start();
+        first.record(new Price(100, HOUR.plusMinutes(5)));
+        first.record(new Price(200, HOUR.plusMinutes(65)));
+        first.stop();
+
+        // Crash mid-write: a torn record at the end of the leftover segment is ignored
+        Path segment = directory.resolve("ticks-" + epochSeconds(HOUR.plusHours(1)) + ".seg");
+        Files.write(segment, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        CsvPriceAdapter history = new CsvPriceAdapter();
+        PriceTickRecorder second = recorder(history, true);
+        second.start();
+        second.stop();
+
+        assertEquals(List.of(new Price(100, HOUR), new Price(200, HOUR.plusHours(1))), history.getAllPrices());
+        assertEquals(2, barCount());
+        // Both hours are past retention: the segments are dropped and no tick is recovered
+        assertFalse(Files.exists(segment));
+        assertEquals(List.of(), second.getRecoveredTicks());
+    }
+
+    @Test
+    void testRecoveryKeepsTicksOfRetainedSegments() throws IOException {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        PriceTickRecorder first = recorder(new CsvPriceAdapter(), true);
+        first.start();
+        first.record(new Price(100, now.minusHours(5)));
+        first.record(new Price(101, now.minusMinutes(61)));
+        first.record(new Price(102, now.minusMinutes(1)));
+        first.stop();
+
+        PriceTickRecorder second = recorder(new CsvPriceAdapter(), true);
+        second.start();
+        second.stop();
+
+        // The tick five hours ago is past the two hours of retention
+        assertEquals(List.of(new Price(101, now.minusMinutes(61)), new Price(102, now.minusMinutes(1))),
+                second.getRecoveredTicks());
+        assertFalse(Files.exists(directory.resolve("ticks-" + epochSeconds(now.minusHours(5).truncatedTo(ChronoUnit.HOURS)) + ".seg")));
+    }
+
+    @Test
+    void testDisabledRecorderStillMergesTicksInMemory() throws IOException {
+        CsvPriceAdapter history = new CsvPriceAdapter();
+        PriceTickRecorder recorder = recorder(history, false);
+        recorder.start();
+        long version = history.getVersion();
+
+        recorder.record(new Price(100, HOUR.plusMinutes(1)));
+        recorder.record(new Price(101, HOUR.plusMinutes(2)));
+        recorder.stop();
+
+        assertEquals(List.of(new Price(101, HOUR)), history.getAllPrices());
+        // Appending the bar changes the version, updating the open bar does not
+        assertEquals(version + 1, history.getVersion());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.lisacbot.infrastructure.rest;
+
+import com.lisacbot.domain.service.AuthenticationService;
+import com.lisacbot.infrastructure.security.LoginRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the login responses: rate limited, hashing queue full, bad credentials and success.
+ */
+class AuthControllerTest {
+
+    private final AuthenticationService authenticationService = mock(AuthenticationService.class);
+    private final LoginRateLimiter loginRateLimiter = mock(LoginRateLimiter.class);
+    private final AuthController controller = new AuthController();
+
+    AuthControllerTest() {
+        ReflectionTestUtils.setField(controller, "authenticationService", authenticationService);
+        ReflectionTestUtils.setField(controller, "loginRateLimiter", loginRateLimiter);
+    }
+
+    private ResponseEntity<?> login() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        return controller.login(Map.of("username", "admin", "password", "secret"), request).join();
+    }
+
+    @Test
+    void testRateLimitedLoginGets429WithoutHashing() {
+        when(loginRateLimiter.tryAcquire("10.0.0.1", "admin")).thenReturn(12L);
+
+        ResponseEntity<?> response = login();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("12", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void testFullHashingQueueGets503() {
+        when(authenticationService.authenticateAndGenerateTokenAsync(anyString(), anyString()))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        ResponseEntity<?> response = login();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testBadCredentialsAndSuccess() {
+        when(authenticationService.authenticateAndGenerateTokenAsync("admin", "secret"))
+                .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Bad credentials")))
+                .thenReturn(CompletableFuture.completedFuture("jwt"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, login().getStatusCode());
+        ResponseEntity<?> response = login();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("token", "jwt", "username", "admin"), response.getBody());
+        verify(loginRateLimiter, times(2)).tryAcquire("10.0.0.1", "admin");
+    }
+}
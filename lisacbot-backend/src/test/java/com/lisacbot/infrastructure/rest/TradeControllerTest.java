@@ -0,0 +1,197 @@
+package com.lisacbot.infrastructure.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lisacbot.domain.model.MarketCycle;
+import com.lisacbot.domain.model.Signal;
+import com.lisacbot.domain.model.StrategyTradeStats;
+import com.lisacbot.domain.model.Trade;
+import com.lisacbot.domain.model.TradeCursor;
+import com.lisacbot.domain.model.TradePage;
+import com.lisacbot.domain.port.TradeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks keyset paging and the streamed trade history endpoints.
+ */
+class TradeControllerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * In-memory trade history, optionally failing part-way through a stream.
+     */
+    private static class FakeTradeRepository implements TradeRepository {
+        final List<Trade> trades = new ArrayList<>();
+        int failAfter = Integer.MAX_VALUE;
+
+        FakeTradeRepository(int count) {
+            // Several trades share a timestamp, so paging has to break ties on the id
+            for (int i = 1; i <= count; i++) {
+                trades.add(new Trade((long) i, LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i / 2), Signal.BUY,
+                        100 + i, 0.01, 1000, 999, null, "SMA", MarketCycle.MARKUP, "Strategy signal"));
+            }
+            trades.sort(Comparator.comparing(Trade::getTimestamp).thenComparing(Trade::getId).reversed());
+        }
+
+        @Override
+        public List<Trade> findPage(TradeCursor after, int limit) {
+            return trades.stream()
+                    .filter(trade -> after == null || trade.getTimestamp().isBefore(after.timestamp())
+                            || (trade.getTimestamp().equals(after.timestamp()) && trade.getId() < after.id()))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public void forEachTrade(Consumer<Trade> action) {
+            for (int i = 0; i < trades.size(); i++) {
+                if (i == failAfter) {
+                    throw new IllegalStateException("Connection to the database lost");
+                }
+                action.accept(trades.get(i));
+            }
+        }
+
+        @Override
+        public Trade save(Trade trade) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Trade> saveAll(List<Trade> trades) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Trade> findAll() {
+            return trades;
+        }
+
+        @Override
+        public List<Trade> findByTimestampBetween(LocalDateTime start, LocalDateTime end) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachTradeAfter(long id, Consumer<Trade> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<StrategyTradeStats> aggregateByStrategy() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private TradeController controller(FakeTradeRepository repository) {
+        return new TradeController(repository, null, null, objectMapper);
+    }
+
+    private static String render(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testCursorWalksTheWholeHistoryOnce() {
+        FakeTradeRepository repository = new FakeTradeRepository(7);
+        TradeController controller = controller(repository);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TradePage page = (TradePage) controller.getTradePage(cursor, 3).getBody();
+            page.trades().forEach(trade -> ids.add(trade.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(repository.trades.stream().map(Trade::getId).toList(), ids);
+    }
+
+    @Test
+    void testInvalidPageRequestsAreRejected() {
+        TradeController controller = controller(new FakeTradeRepository(3));
+        assertEquals(400, controller.getTradePage(null, 0).getStatusCode().value());
+        assertEquals(400, controller.getTradePage(null, 501).getStatusCode().value());
+        assertEquals(400, controller.getTradePage("not-a-cursor", 10).getStatusCode().value());
+    }
+
+    @Test
+    void testAllTradesStreamAsOneJsonArray() throws IOException {
+        FakeTradeRepository repository = new FakeTradeRepository(4);
+        JsonNode trades = objectMapper.readTree(render(controller(repository).getAllTrades()));
+
+        assertTrue(trades.isArray());
+        assertEquals(4, trades.size());
+        assertEquals(repository.trades.get(0).getId(), trades.get(0).get("id").asLong());
+        assertEquals("[]", render(controller(new FakeTradeRepository(0)).getAllTrades()));
+    }
+
+    @Test
+    void testExportWritesOneTradePerLine() throws IOException {
+        FakeTradeRepository repository = new FakeTradeRepository(3);
+        String[] lines = render(controller(repository).exportTrades()).split("\n");
+
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(repository.trades.get(i).getId(), objectMapper.readTree(lines[i]).get("id").asLong());
+        }
+    }
+
+    @Test
+    void testFailureMidStreamAbortsTheResponse() throws Exception {
+        FakeTradeRepository repository = new FakeTradeRepository(5000);
+        repository.failAfter = 4000; // Well past the response buffer, so the 200 status is already sent
+
+        GenericWebApplicationContext context = new GenericWebApplicationContext();
+        context.registerBean(DelegatingWebMvcConfiguration.class);
+        context.registerBean(TradeController.class, () -> controller(repository));
+        WebServer server = new TomcatServletWebServerFactory(0).getWebServer(servletContext -> {
+            context.setServletContext(servletContext);
+            var registration = servletContext.addServlet("dispatcher", new DispatcherServlet(context));
+            registration.addMapping("/");
+            registration.setAsyncSupported(true);
+        });
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            for (String path : List.of("/api/trades", "/api/trades/export")) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                        .build();
+                // The response is cut off rather than completed, so the client cannot take it for the full history
+                assertThrows(IOException.class, () -> client.send(request, HttpResponse.BodyHandlers.ofString()), path);
+            }
+        } finally {
+            server.stop();
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.lisacbot.infrastructure.security;
+
+import com.lisacbot.infrastructure.persistence.JpaUserRepository;
+import com.lisacbot.infrastructure.persistence.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the TTL, size bound and eviction of the user cache.
+ */
+class CustomUserDetailsServiceTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final JpaUserRepository userRepository = mock(JpaUserRepository.class);
+    private final AtomicLong now = new AtomicLong();
+
+    private CustomUserDetailsService service(int size) {
+        CustomUserDetailsService service = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "cacheSize", size);
+        ReflectionTestUtils.setField(service, "cacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(service, "nanoClock", (LongSupplier) now::get);
+        service.initialize();
+        return service;
+    }
+
+    private void givenUser(String username, String hash) {
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(new UserEntity(username, hash)));
+    }
+
+    @Test
+    void testUserIsReloadedOnlyAfterTheTtl() {
+        CustomUserDetailsService service = service(10);
+        givenUser("alice", "hash-1");
+        assertEquals("hash-1", service.loadUserByUsername("alice").getPassword());
+
+        givenUser("alice", "hash-2");
+        now.addAndGet(299 * SECOND);
+        assertEquals("hash-1", service.loadUserByUsername("alice").getPassword());
+        verify(userRepository, times(1)).findByUsername("alice");
+
+        now.addAndGet(SECOND);
+        assertEquals("hash-2", service.loadUserByUsername("alice").getPassword());
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void testEvictAndSizeBound() {
+        CustomUserDetailsService service = service(2);
+        givenUser("alice", "a");
+        givenUser("bob", "b");
+        givenUser("carol", "c");
+
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("bob");
+        service.loadUserByUsername("alice");
+        // Bob is the least recently used and makes room for Carol
+        service.loadUserByUsername("carol");
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("bob");
+        verify(userRepository, times(1)).findByUsername("alice");
+        verify(userRepository, times(2)).findByUsername("bob");
+
+        service.evict("carol");
+        service.loadUserByUsername("carol");
+        verify(userRepository, times(2)).findByUsername("carol");
+    }
+
+    @Test
+    void testEachCallGetsItsOwnUserDetails() {
+        CustomUserDetailsService service = service(10);
+        givenUser("alice", "hash");
+        UserDetails first = service.loadUserByUsername("alice");
+        ((CredentialsContainer) first).eraseCredentials();
+
+        assertNull(first.getPassword());
+        assertEquals("hash", service.loadUserByUsername("alice").getPassword());
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        CustomUserDetailsService service = service(10);
+        when(userRepository.findByUsername("mallory")).thenReturn(Optional.empty());
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("mallory"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("mallory"));
+        verify(userRepository, times(2)).findByUsername("mallory");
+    }
+}
@@ -0,0 +1,96 @@
+package com.lisacbot.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks which token versions the filter accepts once tokens are revoked, in both authentication modes.
+ */
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final User alice = new User("alice", "hash", List.of());
+
+    JwtAuthenticationFilterTest() {
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKeyForJwtTokenGenerationAndValidation123");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "cacheSize", 16);
+        tokenProvider.initialize();
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(alice);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtAuthenticationFilter filter(TokenVersionRegistry tokenVersions, boolean stateless) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenVersions", tokenVersions);
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+        return filter;
+    }
+
+    private String token(int version) {
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(alice, null, List.of()), version);
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/status");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        // The request always continues; only the authentication differs
+        assertNotNull(chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void testRevokedTokensAreRejectedAndNewOnesAccepted() throws Exception {
+        for (boolean stateless : new boolean[]{false, true}) {
+            TokenVersionRegistry tokenVersions = new TokenVersionRegistry();
+            JwtAuthenticationFilter filter = filter(tokenVersions, stateless);
+            String before = token(tokenVersions.current("alice"));
+            assertEquals("alice", authenticate(filter, before).getName());
+
+            String after = token(tokenVersions.revoke("alice"));
+            assertNull(authenticate(filter, before), "Revoked token accepted, stateless=" + stateless);
+            assertEquals("alice", authenticate(filter, after).getName());
+        }
+        // Only the database-backed mode loads the user
+        verify(userDetailsService, times(2)).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void testTokenNewerThanTheRegistryIsAccepted() throws Exception {
+        // Issued after a revocation this registry never saw (before a restart, or on another replica)
+        JwtAuthenticationFilter filter = filter(new TokenVersionRegistry(), false);
+        assertEquals("alice", authenticate(filter, token(2)).getName());
+    }
+
+    @Test
+    void testInvalidTokenIsNotAuthenticated() throws Exception {
+        JwtAuthenticationFilter filter = filter(new TokenVersionRegistry(), false);
+        assertNull(authenticate(filter, "not-a-jwt"));
+        verifyNoInteractions(userDetailsService);
+    }
+}
@@ -0,0 +1,61 @@
+package com.lisacbot.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks token verification, including the verified-claims cache.
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyForJwtTokenGenerationAndValidation123";
+
+    private static JwtTokenProvider provider(long expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expirationMs);
+        ReflectionTestUtils.setField(provider, "cacheSize", 2);
+        provider.initialize();
+        return provider;
+    }
+
+    @Test
+    void testValidTokenIsVerifiedAndCached() {
+        JwtTokenProvider provider = provider(60_000);
+        String token = provider.generateTokenFromUsername("admin");
+
+        assertEquals("admin", provider.getUsernameFromToken(token));
+        // Second lookup is served from the cache and returns the same claims
+        assertSame(provider.parseClaims(token).orElseThrow(), provider.parseClaims(token).orElseThrow());
+    }
+
+    @Test
+    void testTamperedAndExpiredTokensAreRejected() {
+        JwtTokenProvider provider = provider(60_000);
+        String token = provider.generateTokenFromUsername("admin");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertFalse(provider.validateToken(tampered));
+
+        JwtTokenProvider expiring = provider(-1_000);
+        assertFalse(expiring.validateToken(expiring.generateTokenFromUsername("admin")));
+    }
+
+    @Test
+    void testAuthoritiesAndVersionAreEmbedded() {
+        JwtTokenProvider provider = provider(60_000);
+        User user = new User("admin", "", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String token = provider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()), 3);
+
+        Claims claims = provider.parseClaims(token).orElseThrow();
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), JwtTokenProvider.getAuthorities(claims));
+        assertEquals(3, JwtTokenProvider.getTokenVersion(claims));
+    }
+}
@@ -0,0 +1,60 @@
+package com.lisacbot.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the per-IP and per-username login buckets and the bound on their number.
+ */
+class LoginRateLimiterTest {
+
+    private static LoginRateLimiter limiter(int capacity) {
+        LoginRateLimiter limiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(limiter, "capacity", capacity);
+        ReflectionTestUtils.setField(limiter, "refillPerMinute", 6.0);
+        ReflectionTestUtils.setField(limiter, "maxKeys", 100);
+        return limiter;
+    }
+
+    @Test
+    void testBurstBeyondCapacityIsLimitedPerIp() {
+        LoginRateLimiter limiter = limiter(2);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", "alice"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", "bob"));
+        // One token refills every 10 seconds
+        assertEquals(10, limiter.tryAcquire("10.0.0.1", "carol"));
+        // Another client is unaffected
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", "carol"));
+    }
+
+    @Test
+    void testAttacksOnOneAccountAreLimitedAcrossIps() {
+        LoginRateLimiter limiter = limiter(2);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", "admin"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", "admin"));
+        assertTrue(limiter.tryAcquire("10.0.0.3", "admin") > 0);
+        // The rejected attempt did not use up the new IP's bucket
+        assertEquals(0, limiter.tryAcquire("10.0.0.3", "alice"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.3", "bob"));
+    }
+
+    @Test
+    void testBucketCountNeverExceedsMaxKeys() {
+        LoginRateLimiter limiter = limiter(2);
+        ReflectionTestUtils.setField(limiter, "maxKeys", 4);
+        // Drain the attacker's IP bucket, then flood the map with other clients
+        limiter.tryAcquire("10.0.0.1", "admin");
+        limiter.tryAcquire("10.0.0.1", "admin");
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("10.0.0.1", "user" + i);
+            limiter.tryAcquire("10.1.0." + i, "user" + i);
+            assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(limiter, "buckets")).size() <= 4);
+        }
+        // Recently used, so it was not evicted: still limited
+        assertTrue(limiter.tryAcquire("10.0.0.1", "bob") > 0);
+    }
+}
@@ -1,7 +1,8 @@
 import { Component, OnInit, OnDestroy, ViewChild, ChangeDetectorRef } from '@angular/core';
 import { CommonModule } from '@angular/common';
-import { BotService } from '../services/bot.service';
+import { BotService, BotStatus } from '../services/bot.service';
 import { TradeEventService } from '../services/trade-event.service';
+import { StatusStreamService } from '../services/status-stream.service';
 import { Trade } from '../models/trade.model';
 import { Subscription } from 'rxjs';
 import { BaseChartDirective } from 'ng2-charts';
@@ -155,10 +156,16 @@ export class DashboardComponent implements OnInit, OnDestroy {
   newTradeMessage = '';
 
   private tradeEventSubscription?: Subscription;
+  private tradeResetSubscription?: Subscription;
+  private tickSubscription?: Subscription;
+
+  // Strategy indicator values from the tick stream
+  indicators: { name: string; value: number }[] = [];
 
   constructor(
     private botService: BotService,
     private tradeEventService: TradeEventService,
+    private statusStreamService: StatusStreamService,
     private cdr: ChangeDetectorRef
   ) {}
 
@@ -183,6 +190,16 @@ export class DashboardComponent implements OnInit, OnDestroy {
         console.error('Error receiving trade event:', err);
       }
     });
+    // Missed events could not be replayed after a reconnect: reload the history
+    this.tradeResetSubscription = this.tradeEventService.getResets().subscribe(() => this.loadTradeHistory());
+
+    // Live status pushed on every tick
+    this.statusStreamService.connect();
+    this.tickSubscription = this.statusStreamService.getTicks().subscribe((tick) => {
+      this.applyStatus(tick.status);
+      this.indicators = Object.entries(tick.indicators || {}).map(([name, value]) => ({ name, value }));
+      this.cdr.detectChanges();
+    });
   }
 
   ngOnDestroy() {
@@ -190,6 +207,13 @@ export class DashboardComponent implements OnInit, OnDestroy {
     if (this.tradeEventSubscription) {
       this.tradeEventSubscription.unsubscribe();
     }
+    if (this.tradeResetSubscription) {
+      this.tradeResetSubscription.unsubscribe();
+    }
+    if (this.tickSubscription) {
+      this.tickSubscription.unsubscribe();
+    }
+    this.statusStreamService.disconnect();
     // Disconnect from SSE
     this.tradeEventService.disconnect();
   }
@@ -227,18 +251,7 @@ export class DashboardComponent implements OnInit, OnDestroy {
   refreshData() {
     // Refresh bot status
     this.botService.getBotStatus().subscribe({
-      next: (status) => {
-        this.botStatus = {
-          running: status.running,
-          balance: status.balance,
-          holdings: status.holdings,
-          currentPrice: status.lastPrice,
-          totalValue: status.totalValue,
-          marketCycle: status.marketCycle || '',
-          strategyName: status.strategyName || '',
-          lastUpdate: new Date()
-        };
-      },
+      next: (status) => this.applyStatus(status),
       error: (err) => {
         console.error('Error fetching bot status:', err);
       }
@@ -248,6 +261,19 @@ export class DashboardComponent implements OnInit, OnDestroy {
     this.loadTradeHistory();
   }
 
+  applyStatus(status: BotStatus) {
+    this.botStatus = {
+      running: status.running,
+      balance: status.balance,
+      holdings: status.holdings,
+      currentPrice: status.lastPrice,
+      totalValue: status.totalValue,
+      marketCycle: status.marketCycle || '',
+      strategyName: status.strategyName || '',
+      lastUpdate: new Date()
+    };
+  }
+
   loadTradeHistory() {
     this.botService.getTradeHistory().subscribe({
       next: (trades) => {
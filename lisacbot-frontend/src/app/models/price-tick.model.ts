@@ -0,0 +1,7 @@
+import { BotStatus } from '../services/bot.service';
+
+export interface PriceTick {
+  timestamp: string;
+  status: BotStatus;
+  indicators: { [name: string]: number };
+}
@@ -6,7 +6,7 @@ export interface Trade {
   quantity: number;
   balanceBefore: number;
   balanceAfter: number;
-  profitLossPercentage: number | null;
+  profitLossPercentage?: number | null;
   strategy: string;
   marketCycle: string;
   reason: string;
@@ -64,12 +64,18 @@ export class AuthService {
   }
 
   /**
-   * Change user password.
+   * Change user password and switch to the new token (the previous ones are revoked).
    */
   changePassword(currentPassword: string, newPassword: string): Observable<any> {
-    return this.http.post(`${this.apiUrl}/change-password`, {
+    return this.http.post<{ token?: string }>(`${this.apiUrl}/change-password`, {
       currentPassword,
       newPassword
-    });
+    }).pipe(
+      tap(response => {
+        if (response.token) {
+          localStorage.setItem(this.TOKEN_KEY, response.token);
+        }
+      })
+    );
   }
 }
@@ -0,0 +1,67 @@
+import { Injectable, NgZone } from '@angular/core';
+import { Observable, Subject } from 'rxjs';
+import { PriceTick } from '../models/price-tick.model';
+import { AuthService } from './auth.service';
+
+@Injectable({
+  providedIn: 'root'
+})
+export class StatusStreamService {
+  // Pushed on every tick by the backend, replaces polling /api/status
+  private apiUrl = '/api/status/stream';
+  private eventSource: EventSource | null = null;
+  private tickSubject = new Subject<PriceTick>();
+
+  constructor(
+    private zone: NgZone,
+    private authService: AuthService
+  ) {}
+
+  /**
+   * Returns an observable of price/portfolio snapshots.
+   */
+  getTicks(): Observable<PriceTick> {
+    return this.tickSubject.asObservable();
+  }
+
+  /**
+   * Starts listening to the tick stream. The first snapshot arrives right after connecting.
+   */
+  connect(): void {
+    if (this.eventSource) {
+      return;
+    }
+
+    const token = this.authService.getToken();
+    const urlWithToken = token ? `${this.apiUrl}?token=${encodeURIComponent(token)}` : this.apiUrl;
+    this.eventSource = new EventSource(urlWithToken);
+
+    this.eventSource.addEventListener('tick', (event: MessageEvent) => {
+      this.zone.run(() => {
+        try {
+          this.tickSubject.next(JSON.parse(event.data));
+        } catch (error) {
+          console.error('Error parsing tick:', error);
+        }
+      });
+    });
+
+    this.eventSource.onerror = () => {
+      // Reconnect after 5 seconds; the server sends the current snapshot on reconnect
+      setTimeout(() => {
+        this.disconnect();
+        this.connect();
+      }, 5000);
+    };
+  }
+
+  /**
+   * Closes the tick stream.
+   */
+  disconnect(): void {
+    if (this.eventSource) {
+      this.eventSource.close();
+      this.eventSource = null;
+    }
+  }
+}
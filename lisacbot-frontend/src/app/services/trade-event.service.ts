@@ -13,6 +13,9 @@ export class TradeEventService {
   private apiUrl = '/api/trades/events';
   private eventSource: EventSource | null = null;
   private tradeSubject = new Subject<Trade>();
+  private resetSubject = new Subject<void>();
+  // Id of the last event received, sent on reconnect so the server replays only the missed events
+  private lastEventId: string | null = null;
 
   constructor(
     private zone: NgZone,
@@ -26,6 +29,13 @@ export class TradeEventService {
     return this.tradeSubject.asObservable();
   }
 
+  /**
+   * Emits when the server can no longer replay the missed events and the trade history must be reloaded.
+   */
+  getResets(): Observable<void> {
+    return this.resetSubject.asObservable();
+  }
+
   /**
    * Starts listening to SSE events from the backend.
    */
@@ -36,14 +46,29 @@ export class TradeEventService {
     }
 
     // Get JWT token and add as query parameter (EventSource can't send custom headers)
+    // A new EventSource does not send Last-Event-ID itself, so the last id goes in the query string
     const token = this.authService.getToken();
-    const urlWithToken = token ? `${this.apiUrl}?token=${encodeURIComponent(token)}` : this.apiUrl;
+    const params = new URLSearchParams();
+    if (token) {
+      params.set('token', token);
+    }
+    if (this.lastEventId) {
+      params.set('lastEventId', this.lastEventId);
+    }
+    const query = params.toString();
+    const urlWithToken = query ? `${this.apiUrl}?${query}` : this.apiUrl;
 
     console.log('🔌 Connecting to trade events SSE...');
     this.eventSource = new EventSource(urlWithToken);
 
+    // Sent on a fresh connection: the current event id, to resume from even if no trade comes before a disconnect
+    this.eventSource.addEventListener('connected', (event: MessageEvent) => {
+      this.lastEventId = event.lastEventId || this.lastEventId;
+    });
+
     this.eventSource.addEventListener('trade', (event: MessageEvent) => {
       this.zone.run(() => {
+        this.lastEventId = event.lastEventId || this.lastEventId;
         try {
           const trade: Trade = JSON.parse(event.data);
           console.log('📨 New trade event received:', trade);
@@ -54,6 +79,14 @@ export class TradeEventService {
       });
     });
 
+    this.eventSource.addEventListener('reset', (event: MessageEvent) => {
+      this.zone.run(() => {
+        this.lastEventId = event.lastEventId || this.lastEventId;
+        console.log('🔁 Missed trade events are no longer available, reloading history');
+        this.resetSubject.next();
+      });
+    });
+
     this.eventSource.onerror = (error) => {
       console.error('❌ SSE connection error:', error);
       // Auto-reconnect after 5 seconds